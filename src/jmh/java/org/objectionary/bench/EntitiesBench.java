@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.objectionary.Symbols;
+import org.objectionary.Tokenizer;
+import org.objectionary.entities.Flyweights;
+import org.objectionary.parsing.Entities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading of entities by {@link Entities#one()}.
+ * <p>
+ * The input is a sequence of values of every kind of entity, so the
+ * tokenizer is measured as well; compare with {@link TokenizerBench}. Run
+ * with {@code -prof gc} to see the bytes allocated per sequence.
+ * @since 0.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD")
+public class EntitiesBench {
+
+    /**
+     * The number of values: small, medium and huge.
+     */
+    @Param({"100", "10000", "1000000"})
+    public int values;
+
+    /**
+     * The values separated by spaces.
+     */
+    private String input;
+
+    /**
+     * The canonical instances of entities.
+     */
+    private Flyweights flyweights;
+
+    /**
+     * Prepares the values.
+     */
+    @Setup
+    public void setup() {
+        this.input = String.join(" ", Programs.values(this.values));
+        this.flyweights = new Flyweights(new Symbols());
+    }
+
+    /**
+     * Reads all values.
+     * @param hole The black hole.
+     */
+    @Benchmark
+    public void one(final Blackhole hole) {
+        final Tokenizer tokenizer = new Tokenizer(this.input);
+        final Entities entities = new Entities(tokenizer, this.flyweights);
+        while (tokenizer.hasNext()) {
+            hole.consume(entities.one());
+            tokenizer.next();
+        }
+    }
+}
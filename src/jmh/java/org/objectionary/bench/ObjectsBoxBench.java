@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Symbols;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Storage of {@link ObjectsBox} against the plain map it used to be.
+ * <p>
+ * Run with {@code -prof gc}: since every invocation stores
+ * {@link #OBJECTS} objects, {@code gc.alloc.rate.norm} is the number of
+ * bytes the storage spends per object. Names and bindings are prepared
+ * in advance and shared, so only the storage itself is measured.
+ * @since 0.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD")
+public class ObjectsBoxBench {
+
+    /**
+     * The number of objects in the box.
+     */
+    private static final int OBJECTS = 100_000;
+
+    /**
+     * The storage to measure: "box" or "map".
+     */
+    @Param({"box", "map"})
+    public String storage;
+
+    /**
+     * The symbols of the box.
+     */
+    private Symbols symbols;
+
+    /**
+     * Identifiers of the names of objects.
+     */
+    private int[] ids;
+
+    /**
+     * Names of objects.
+     */
+    private String[] names;
+
+    /**
+     * Bindings shared by all objects.
+     */
+    private Map<String, Entity> bindings;
+
+    /**
+     * The filled box.
+     */
+    private ObjectsBox box;
+
+    /**
+     * The filled map.
+     */
+    private Map<String, Map<String, Entity>> map;
+
+    /**
+     * Prepares names and bindings.
+     */
+    @Setup
+    public void setup() {
+        this.symbols = new Symbols();
+        this.ids = new int[ObjectsBoxBench.OBJECTS];
+        this.names = new String[ObjectsBoxBench.OBJECTS];
+        for (int idx = 0; idx < ObjectsBoxBench.OBJECTS; idx += 1) {
+            this.names[idx] = String.format("ν%d", idx);
+            this.ids[idx] = this.symbols.intern(this.names[idx]);
+        }
+        this.bindings = new LinkedHashMap<>();
+        this.bindings.put("Δ", new Data(42));
+        this.box = this.fillBox();
+        this.map = this.fillMap();
+    }
+
+    /**
+     * Fills the storage with all objects.
+     * @return The storage.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ObjectsBoxBench.OBJECTS)
+    public Object fill() {
+        final Object result;
+        if ("box".equals(this.storage)) {
+            result = this.fillBox();
+        } else {
+            result = this.fillMap();
+        }
+        return result;
+    }
+
+    /**
+     * Looks up all objects of the storage.
+     * @param hole The black hole.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ObjectsBoxBench.OBJECTS)
+    public void lookup(final Blackhole hole) {
+        if ("box".equals(this.storage)) {
+            for (int idx = 0; idx < ObjectsBoxBench.OBJECTS; idx += 1) {
+                hole.consume(this.box.get(this.ids[idx]));
+            }
+        } else {
+            for (int idx = 0; idx < ObjectsBoxBench.OBJECTS; idx += 1) {
+                hole.consume(this.map.get(this.names[idx]));
+            }
+        }
+    }
+
+    /**
+     * Fills a new box.
+     * @return The box.
+     */
+    private ObjectsBox fillBox() {
+        final ObjectsBox result = new ObjectsBox(this.symbols);
+        for (int idx = 0; idx < ObjectsBoxBench.OBJECTS; idx += 1) {
+            result.put(this.ids[idx], this.bindings);
+        }
+        return result;
+    }
+
+    /**
+     * Fills a new map, the way the box was stored before.
+     * @return The map.
+     */
+    private Map<String, Map<String, Entity>> fillMap() {
+        final Map<String, Map<String, Entity>> result = new ConcurrentHashMap<>();
+        for (int idx = 0; idx < ObjectsBoxBench.OBJECTS; idx += 1) {
+            result.put(this.names[idx], this.bindings);
+        }
+        return result;
+    }
+}
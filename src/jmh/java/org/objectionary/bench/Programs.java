@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.bench;
+
+import java.io.IOException;
+import org.objectionary.Generator;
+
+/**
+ * Inputs of benchmarks.
+ * <p>
+ * Programs are generated with every kind of entity, so the benchmarks see
+ * all paths of the parser.
+ * @since 0.1.0
+ */
+final class Programs {
+
+    /**
+     * Values of entities, one of every kind.
+     */
+    private static final String[] SAMPLES = {
+        "ø", "𝜋.𝜋.x", "0x002A", "ν7(ξ)", "int-add", "ξ.y", "ν3(𝜋)", "0x0100",
+    };
+
+    /**
+     * The seed of generated programs.
+     */
+    private static final long SEED = 20_231_117L;
+
+    /**
+     * Ctor.
+     */
+    private Programs() {
+    }
+
+    /**
+     * Builds a flat program by the {@link Generator}, the same one for the
+     * same number of objects.
+     * @param objects The number of objects.
+     * @return The program.
+     */
+    static String program(final int objects) {
+        final StringBuilder program = new StringBuilder(objects * 96);
+        try {
+            new Generator(Programs.SEED, objects)
+                .withDepth(2)
+                .withChain(8)
+                .withDuplication(0.05)
+                .writeTo(program);
+        } catch (final IOException ex) {
+            throw new IllegalStateException("Failed to write to a string builder", ex);
+        }
+        return program.toString();
+    }
+
+    /**
+     * Builds values of entities separated by spaces.
+     * @param count The number of values.
+     * @return The values.
+     */
+    static String[] values(final int count) {
+        final String[] values = new String[count];
+        for (int idx = 0; idx < count; idx += 1) {
+            values[idx] = Programs.SAMPLES[idx % Programs.SAMPLES.length];
+        }
+        return values;
+    }
+}
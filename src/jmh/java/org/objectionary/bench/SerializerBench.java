@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.objectionary.Fingerprint;
+import org.objectionary.ObjectsBox;
+import org.objectionary.parsing.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Printing of boxes by {@link ObjectsBox#toString()} and hashing of their
+ * canonical text by {@link ObjectsBox#fingerprint()}.
+ * <p>
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the number of
+ * bytes allocated per printed box, the resulting string included.
+ * @since 0.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD")
+public class SerializerBench {
+
+    /**
+     * The number of objects in the box: small, medium and huge.
+     */
+    @Param({"100", "10000", "1000000"})
+    public int objects;
+
+    /**
+     * The box.
+     */
+    private ObjectsBox box;
+
+    /**
+     * Prepares the box.
+     */
+    @Setup
+    public void setup() {
+        this.box = new Parser(Programs.program(this.objects)).parse();
+    }
+
+    /**
+     * Prints the box.
+     * @return The text.
+     */
+    @Benchmark
+    public String text() {
+        return this.box.toString();
+    }
+
+    /**
+     * Computes the fingerprint of the box.
+     * @return The fingerprint.
+     */
+    @Benchmark
+    public Fingerprint fingerprint() {
+        return this.box.fingerprint();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Snapshot;
+import org.objectionary.parsing.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading of boxes from snapshots by {@link Snapshot} against parsing of
+ * their text by {@link Parser}, and writing of snapshots by
+ * {@link ObjectsBox#writeBinary(java.io.OutputStream)}.
+ * <p>
+ * Both loaders run in one thread, so the scores compare the formats rather
+ * than the number of processors. Run with {@code -prof gc} to see the
+ * bytes allocated per loaded box.
+ * @since 0.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD")
+public class SnapshotBench {
+
+    /**
+     * The number of objects in the box: small, medium and huge.
+     */
+    @Param({"100", "10000", "1000000"})
+    public int objects;
+
+    /**
+     * The program.
+     */
+    private String program;
+
+    /**
+     * The box.
+     */
+    private ObjectsBox box;
+
+    /**
+     * The snapshot of the box.
+     */
+    private byte[] snapshot;
+
+    /**
+     * Prepares the program, the box and its snapshot.
+     * @throws IOException If fails to write the snapshot.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.program = Programs.program(this.objects);
+        this.box = new Parser(this.program, 1).parse();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.box.writeBinary(output);
+        this.snapshot = output.toByteArray();
+    }
+
+    /**
+     * Parses the text of the box.
+     * @return The box.
+     */
+    @Benchmark
+    public ObjectsBox parse() {
+        return new Parser(this.program, 1).parse();
+    }
+
+    /**
+     * Reads the snapshot of the box.
+     * @return The box.
+     * @throws IOException If fails to read.
+     */
+    @Benchmark
+    public ObjectsBox read() throws IOException {
+        return new Snapshot(new ByteArrayInputStream(this.snapshot)).box();
+    }
+
+    /**
+     * Writes the snapshot of the box.
+     * @return The snapshot.
+     * @throws IOException If fails to write.
+     */
+    @Benchmark
+    public byte[] write() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(this.snapshot.length);
+        this.box.writeBinary(output);
+        return output.toByteArray();
+    }
+}
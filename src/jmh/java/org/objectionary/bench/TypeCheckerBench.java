@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.objectionary.parsing.TypeChecker;
+import org.objectionary.tokens.Kind;
+import org.objectionary.tokens.StringToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Classification of values by {@link TypeChecker} and by {@link Kind}.
+ * <p>
+ * Every value is checked in the order {@code Entities} did it, until
+ * the first matching kind, or classified once by its first characters.
+ * Run with {@code -prof gc} to see the bytes allocated per pass over all
+ * values.
+ * @since 0.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD")
+public class TypeCheckerBench {
+
+    /**
+     * The number of values: small, medium and huge.
+     */
+    @Param({"100", "10000", "1000000"})
+    public int count;
+
+    /**
+     * The values.
+     */
+    private String[] values;
+
+    /**
+     * Prepares the values.
+     */
+    @Setup
+    public void setup() {
+        this.values = Programs.values(this.count);
+    }
+
+    /**
+     * Classifies all values.
+     * @param hole The black hole.
+     */
+    @Benchmark
+    public void classify(final Blackhole hole) {
+        for (final String value : this.values) {
+            final TypeChecker type = new TypeChecker(value);
+            final int kind;
+            if (type.isEmpty()) {
+                kind = 0;
+            } else if (type.isLocator()) {
+                kind = 1;
+            } else if (type.isData()) {
+                kind = 2;
+            } else if (type.isLambda()) {
+                kind = 3;
+            } else if (type.isObject()) {
+                kind = 4;
+            } else {
+                kind = -1;
+            }
+            hole.consume(kind);
+        }
+    }
+
+    /**
+     * Classifies all values by a single dispatch on their first characters.
+     * @param hole The black hole.
+     */
+    @Benchmark
+    public void dispatch(final Blackhole hole) {
+        for (final String value : this.values) {
+            hole.consume(new StringToken(value, 0, value.length()).kind());
+        }
+    }
+}
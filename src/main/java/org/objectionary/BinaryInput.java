@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * This class is representing the buffered input of bytes and varints.
+ * @since 0.1.0
+ */
+final class BinaryInput {
+
+    /**
+     * The channel to read from.
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * The input buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor.
+     * @param channel The channel to read from.
+     * @param size The size of the buffer.
+     */
+    BinaryInput(final ReadableByteChannel channel, final int size) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.wrap(new byte[size], 0, 0);
+    }
+
+    /**
+     * Reads one byte.
+     * @return The byte.
+     * @throws IOException If fails to read.
+     */
+    byte next() throws IOException {
+        this.fill();
+        return this.buffer.get();
+    }
+
+    /**
+     * Reads raw bytes.
+     * @param bytes The array to read into.
+     * @param length The number of bytes to read.
+     * @throws IOException If fails to read.
+     */
+    void next(final byte[] bytes, final int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            this.fill();
+            final int chunk = Math.min(this.buffer.remaining(), length - offset);
+            this.buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    /**
+     * Reads a non-negative {@code int} written as varint.
+     * @return The number.
+     * @throws IOException If fails to read or the number is too big.
+     */
+    int count() throws IOException {
+        final long number = this.varint();
+        if (number < 0 || number > Integer.MAX_VALUE) {
+            throw new IOException(String.format("The number %d is out of range", number));
+        }
+        return (int) number;
+    }
+
+    /**
+     * Reads an unsigned number in seven-bit groups, lowest first.
+     * @return The number.
+     * @throws IOException If fails to read.
+     */
+    long varint() throws IOException {
+        long number = 0;
+        int shift = 0;
+        byte current = (byte) 0x80;
+        while ((current & 0x80) != 0) {
+            if (shift > 63) {
+                throw new IOException("The varint is too long");
+            }
+            current = this.next();
+            number |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        }
+        return number;
+    }
+
+    /**
+     * Makes sure there is at least one byte in the buffer.
+     * @throws IOException If fails to read or the input is over.
+     */
+    private void fill() throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            this.buffer.clear();
+            int read = 0;
+            while (read == 0) {
+                read = this.channel.read(this.buffer);
+            }
+            this.buffer.flip();
+            if (read < 0) {
+                throw new EOFException("The input is truncated");
+            }
+        }
+    }
+}
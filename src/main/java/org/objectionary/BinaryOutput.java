@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * This class is representing the buffered output of bytes and varints.
+ * @since 0.1.0
+ */
+final class BinaryOutput {
+
+    /**
+     * The channel to write to.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * The output buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor.
+     * @param channel The channel to write to.
+     * @param size The size of the buffer.
+     */
+    BinaryOutput(final WritableByteChannel channel, final int size) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(size);
+    }
+
+    /**
+     * Writes one byte.
+     * @param value The byte.
+     * @throws IOException If fails to write.
+     */
+    void put(final byte value) throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            this.flush();
+        }
+        this.buffer.put(value);
+    }
+
+    /**
+     * Writes raw bytes.
+     * @param bytes The bytes.
+     * @throws IOException If fails to write.
+     */
+    void put(final byte... bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!this.buffer.hasRemaining()) {
+                this.flush();
+            }
+            final int chunk = Math.min(this.buffer.remaining(), bytes.length - offset);
+            this.buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    /**
+     * Writes an unsigned number in seven-bit groups, lowest first.
+     * @param number The number.
+     * @throws IOException If fails to write.
+     */
+    void varint(final long number) throws IOException {
+        if (this.buffer.remaining() < 10) {
+            this.flush();
+        }
+        long rest = number;
+        while ((rest & ~0x7FL) != 0) {
+            this.buffer.put((byte) ((rest & 0x7F) | 0x80));
+            rest >>>= 7;
+        }
+        this.buffer.put((byte) rest);
+    }
+
+    /**
+     * Writes the buffer to the channel.
+     * @throws IOException If fails to write.
+     */
+    void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.objectionary.atoms.Atoms;
+
+/**
+ * This class represents the cache of boxes on disk, keyed by the content
+ * of the text they were made of.
+ * <p>
+ * Every box is kept in its own file in the format of {@link Snapshot},
+ * named by the {@link Fingerprint} of the text. A file is written to a
+ * temporary file in the same directory first and then renamed atomically,
+ * so readers never see a partial box. The time of the last modification
+ * of a file is moved forward on every hit, and when the files take more
+ * than the limit, the least recently used ones are deleted. The cache may
+ * be shared by several threads and several processes at once: eviction
+ * is done under an exclusive lock of a file in the directory, and a box
+ * deleted by another process is just a miss. So is a broken file or a file
+ * of another version of the format. It is not deleted on the spot, since
+ * another writer may have replaced it by a good one meanwhile: it is
+ * replaced by the next save with the same key or evicted as the least
+ * recently used one. Temporary files left by dead writers are deleted on
+ * eviction.
+ * @since 0.1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class BoxCache {
+
+    /**
+     * The extension of files with boxes.
+     */
+    private static final String EXTENSION = ".box";
+
+    /**
+     * The prefix of names of temporary files.
+     */
+    private static final String PREFIX = "box";
+
+    /**
+     * The extension of temporary files.
+     */
+    private static final String TEMPORARY = ".tmp";
+
+    /**
+     * The age in milliseconds after which a temporary file is left by a dead
+     * writer.
+     */
+    private static final long ORPHAN = TimeUnit.HOURS.toMillis(1L);
+
+    /**
+     * The name of the lock file.
+     */
+    private static final String LOCK = "eviction.lock";
+
+    /**
+     * The directory.
+     */
+    private final Path directory;
+
+    /**
+     * The maximal number of bytes taken by boxes.
+     */
+    private final long limit;
+
+    /**
+     * Constructor.
+     * @param directory The directory, it is created if it is absent.
+     * @param limit The maximal number of bytes taken by boxes.
+     */
+    public BoxCache(final Path directory, final long limit) {
+        this.directory = directory;
+        this.limit = BoxCache.positive(limit);
+    }
+
+    /**
+     * Computes the key of a text.
+     * @param text The text.
+     * @return The fingerprint of the text.
+     * @checkstyle NonStaticMethodCheck (5 lines)
+     */
+    public Fingerprint key(final CharSequence text) {
+        return new Murmur().append(text).digest();
+    }
+
+    /**
+     * Loads a box.
+     * @param key The key.
+     * @param atoms The atoms to resolve lambdas of the box to.
+     * @return The box or {@code null} if there is none in the cache or the
+     *  file of the box is broken.
+     * @throws IOException If fails to open the file.
+     */
+    public ObjectsBox load(final Fingerprint key, final Atoms atoms) throws IOException {
+        final Path file = this.file(key);
+        Optional<ObjectsBox> box;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            box = BoxCache.read(channel, atoms);
+        } catch (final NoSuchFileException ex) {
+            box = Optional.empty();
+        }
+        if (box.isPresent()) {
+            BoxCache.touch(file);
+        }
+        return box.orElse(null);
+    }
+
+    /**
+     * Saves a box, replacing the one with the same key.
+     * @param key The key.
+     * @param box The box.
+     * @throws IOException If fails to write.
+     */
+    public void save(final Fingerprint key, final ObjectsBox box) throws IOException {
+        Files.createDirectories(this.directory);
+        final Path temp = Files.createTempFile(
+            this.directory, BoxCache.PREFIX, BoxCache.TEMPORARY
+        );
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                box.writeBinary(channel);
+                channel.force(true);
+            }
+            Files.move(
+                temp, this.file(key),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING
+            );
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        this.evict();
+    }
+
+    /**
+     * Moves the time of the last modification of a file forward.
+     * <p>
+     * The file may be evicted by another process right after it is read,
+     * then there is nothing to touch.
+     * @param file The file.
+     * @throws IOException If fails to touch the file.
+     */
+    static void touch(final Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (final NoSuchFileException ex) {
+            return;
+        }
+    }
+
+    /**
+     * Deletes the least recently used boxes while they take more than the limit.
+     * <p>
+     * If another thread or process is evicting at the moment, nothing is done.
+     * The lock is released when the channel of the lock file is closed.
+     * @throws IOException If fails to list or delete files.
+     */
+    private void evict() throws IOException {
+        try (FileChannel channel = FileChannel.open(
+            this.directory.resolve(BoxCache.LOCK),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE
+        )) {
+            if (BoxCache.locked(channel)) {
+                this.sweep();
+                final List<Entry> entries = this.entries();
+                long total = 0;
+                for (final Entry entry : entries) {
+                    total += entry.size();
+                }
+                entries.sort(Comparator.comparingLong(Entry::time));
+                for (int idx = 0; idx < entries.size() && total > this.limit; idx += 1) {
+                    Files.deleteIfExists(entries.get(idx).path());
+                    total -= entries.get(idx).size();
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes temporary files left by writers which died before renaming them.
+     * <p>
+     * They are not counted against the limit, so they would stay forever.
+     * Files younger than {@link #ORPHAN} may still be written and are kept.
+     * @throws IOException If fails to list or delete files.
+     */
+    private void sweep() throws IOException {
+        final long oldest = System.currentTimeMillis() - BoxCache.ORPHAN;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+            this.directory, String.format("%s*%s", BoxCache.PREFIX, BoxCache.TEMPORARY)
+        )) {
+            for (final Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < oldest) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (final NoSuchFileException ex) {
+                    continue;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists files with boxes.
+     * @return The files, with sizes and times.
+     * @throws IOException If fails to list.
+     */
+    private List<Entry> entries() throws IOException {
+        final List<Entry> entries = new ArrayList<>(0);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+            this.directory, String.format("*%s", BoxCache.EXTENSION)
+        )) {
+            for (final Path file : files) {
+                try {
+                    entries.add(
+                        new Entry(
+                            file, Files.size(file), Files.getLastModifiedTime(file).toMillis()
+                        )
+                    );
+                } catch (final NoSuchFileException ex) {
+                    continue;
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads a box from a file.
+     * @param channel The channel of the file.
+     * @param atoms The atoms to resolve lambdas of the box to.
+     * @return The box or nothing if the file is broken or of another version.
+     */
+    private static Optional<ObjectsBox> read(final FileChannel channel, final Atoms atoms) {
+        Optional<ObjectsBox> box;
+        try {
+            box = Optional.of(new Snapshot(channel).box(atoms));
+        } catch (final IOException | IllegalArgumentException ex) {
+            box = Optional.empty();
+        }
+        return box;
+    }
+
+    /**
+     * Gets the file of a box.
+     * @param key The key.
+     * @return The path.
+     */
+    private Path file(final Fingerprint key) {
+        return this.directory.resolve(String.format("%s%s", key, BoxCache.EXTENSION));
+    }
+
+    /**
+     * Tries to lock a file exclusively.
+     * @param channel The channel of the file.
+     * @return True if the file is locked, false if someone else holds the lock.
+     * @throws IOException If fails to lock.
+     */
+    private static boolean locked(final FileChannel channel) throws IOException {
+        boolean locked;
+        try {
+            locked = channel.tryLock() != null;
+        } catch (final OverlappingFileLockException ex) {
+            locked = false;
+        }
+        return locked;
+    }
+
+    /**
+     * Checks the limit of the cache.
+     * @param limit The limit.
+     * @return The same limit.
+     */
+    private static long positive(final long limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException(
+                String.format("The limit of the cache must be positive, but was %d", limit)
+            );
+        }
+        return limit;
+    }
+
+    /**
+     * A file with a box.
+     * @since 0.1.0
+     */
+    private static final class Entry {
+
+        /**
+         * The path.
+         */
+        private final Path file;
+
+        /**
+         * The size in bytes.
+         */
+        private final long bytes;
+
+        /**
+         * The time of the last use, in milliseconds.
+         */
+        private final long used;
+
+        /**
+         * Constructor.
+         * @param file The path.
+         * @param bytes The size in bytes.
+         * @param used The time of the last use, in milliseconds.
+         */
+        Entry(final Path file, final long bytes, final long used) {
+            this.file = file;
+            this.bytes = bytes;
+            this.used = used;
+        }
+
+        /**
+         * Gets the path.
+         * @return The path.
+         */
+        Path path() {
+            return this.file;
+        }
+
+        /**
+         * Gets the size.
+         * @return The size in bytes.
+         */
+        long size() {
+            return this.bytes;
+        }
+
+        /**
+         * Gets the time of the last use.
+         * @return The time in milliseconds.
+         */
+        long time() {
+            return this.used;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+/**
+ * This class represents the 128-bit fingerprint of the content of a box.
+ * <p>
+ * Boxes with the same canonical text have the same fingerprint, see
+ * {@link ObjectsBox#fingerprint()}.
+ * @since 0.1.0
+ */
+public final class Fingerprint {
+
+    /**
+     * The high 64 bits.
+     */
+    private final long upper;
+
+    /**
+     * The low 64 bits.
+     */
+    private final long lower;
+
+    /**
+     * Constructor.
+     * @param high The high 64 bits.
+     * @param low The low 64 bits.
+     */
+    public Fingerprint(final long high, final long low) {
+        this.upper = high;
+        this.lower = low;
+    }
+
+    /**
+     * Returns the high 64 bits.
+     * @return The bits.
+     */
+    public long high() {
+        return this.upper;
+    }
+
+    /**
+     * Returns the low 64 bits.
+     * @return The bits.
+     */
+    public long low() {
+        return this.lower;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Fingerprint
+            && this.upper == ((Fingerprint) other).upper
+            && this.lower == ((Fingerprint) other).lower;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.upper) * 31 + Long.hashCode(this.lower);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", this.upper, this.lower);
+    }
+}
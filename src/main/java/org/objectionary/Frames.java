@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the frames of objects being evaluated.
+ * <p>
+ * A frame is an object of the box together with the frame of its parent,
+ * which is where {@code 𝜋} leads from the object. Frames are numbered in
+ * the order they are opened and kept in plain arrays, so walking up the
+ * parents does not allocate. The same object with the same parent is
+ * always the same frame, so anything computed for a frame can be reused.
+ * The class is not thread-safe.
+ * @since 0.1.0
+ */
+public final class Frames {
+
+    /**
+     * The parent of the outermost frame.
+     */
+    public static final int ROOT = -1;
+
+    /**
+     * Identifiers of the names of objects by frames.
+     */
+    private int[] objects;
+
+    /**
+     * Parents by frames.
+     */
+    private int[] parents;
+
+    /**
+     * Objects and parents of frames packed into keys, by slots.
+     */
+    private long[] keys;
+
+    /**
+     * Frames plus one by slots, zero if the slot is free.
+     */
+    private int[] slots;
+
+    /**
+     * The number of frames.
+     */
+    private int total;
+
+    /**
+     * Constructor.
+     */
+    public Frames() {
+        this.objects = new int[64];
+        this.parents = new int[64];
+        this.keys = new long[128];
+        this.slots = new int[128];
+    }
+
+    /**
+     * Opens the frame of an object with a parent.
+     * @param object The identifier of the name of the object.
+     * @param parent The frame of the parent or {@link #ROOT}.
+     * @return The new frame or the one already opened for them.
+     */
+    public int open(final int object, final int parent) {
+        if (parent < Frames.ROOT || parent >= this.total) {
+            throw new IllegalArgumentException(
+                String.format("There is no parent frame %d", parent)
+            );
+        }
+        final long key = (long) object << 32 | parent & 0xFFFF_FFFFL;
+        int slot = this.slot(key);
+        if (this.slots[slot] == 0) {
+            if (this.total == this.objects.length) {
+                this.grow();
+                slot = this.slot(key);
+            }
+            this.objects[this.total] = object;
+            this.parents[this.total] = parent;
+            this.total += 1;
+            this.keys[slot] = key;
+            this.slots[slot] = this.total;
+        }
+        return this.slots[slot] - 1;
+    }
+
+    /**
+     * Gets the object of a frame.
+     * @param frame The frame.
+     * @return The identifier of the name of the object.
+     */
+    public int object(final int frame) {
+        return this.objects[frame];
+    }
+
+    /**
+     * Gets the parent of a frame.
+     * @param frame The frame.
+     * @return The frame of the parent or {@link #ROOT}.
+     */
+    public int parent(final int frame) {
+        return this.parents[frame];
+    }
+
+    /**
+     * Gets the number of frames.
+     * @return The number of opened frames.
+     */
+    public int count() {
+        return this.total;
+    }
+
+    /**
+     * Finds the slot of a key.
+     * @param key The object and the parent packed into a key.
+     * @return The slot with the key or the free slot for it.
+     */
+    private int slot(final long key) {
+        final int mask = this.slots.length - 1;
+        final long mixed = key * 0x9E37_79B9_7F4A_7C15L;
+        int slot = (int) (mixed >>> 32) & mask;
+        while (this.slots[slot] != 0 && this.keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the arrays of frames and rebuilds the slots.
+     */
+    private void grow() {
+        this.objects = Arrays.copyOf(this.objects, this.total * 2);
+        this.parents = Arrays.copyOf(this.parents, this.total * 2);
+        this.keys = new long[this.keys.length * 2];
+        this.slots = new int[this.slots.length * 2];
+        for (int frame = 0; frame < this.total; frame += 1) {
+            final long key = (long) this.objects[frame] << 32 | this.parents[frame] & 0xFFFF_FFFFL;
+            final int slot = this.slot(key);
+            this.keys[slot] = key;
+            this.slots[slot] = frame + 1;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * This class represents the generator of synthetic flat programs.
+ * <p>
+ * Programs are written in the form {@link ObjectsBox#toString()} prints,
+ * so parsing a generated program and printing the box gives the same text.
+ * They are streamed to the output one object at a time, so a program of
+ * any size takes constant memory, and the same seed always gives the same
+ * program. The knobs are: the depth of applications like
+ * {@code νK( a0 ↦ … )}, the fan-out, which is the maximal number of
+ * bindings of an object or an application, the length of chains of
+ * {@code 𝜑} references, the weights of data, locators, lambdas and
+ * references among bindings, and the rate of objects duplicating the
+ * bindings of the previous one, all but the {@code 𝜑} of its chain. The
+ * generator is immutable, every knob gives a new one.
+ * @since 0.1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class Generator {
+
+    /**
+     * Names of atoms for lambdas.
+     */
+    private static final String[] ATOMS = {
+        "int-add", "int-sub", "int-times", "int-less", "bool-not",
+    };
+
+    /**
+     * Prefixes of locators.
+     */
+    private static final String[] LOCATORS = {"𝜋.", "ξ.", "𝜋.𝜋."};
+
+    /**
+     * The seed of randomness.
+     */
+    private final long seed;
+
+    /**
+     * The number of objects.
+     */
+    private final int objects;
+
+    /**
+     * The maximal depth of applications.
+     */
+    private final int depth;
+
+    /**
+     * The maximal number of bindings of an object or an application.
+     */
+    private final int fanout;
+
+    /**
+     * The length of chains of {@code 𝜑} references.
+     */
+    private final int chain;
+
+    /**
+     * Weights of data, locators, lambdas and references among bindings.
+     */
+    private final int[] weights;
+
+    /**
+     * The probability of an object to duplicate the previous one.
+     */
+    private final double duplication;
+
+    /**
+     * Constructor.
+     * <p>
+     * By default applications are one level deep, objects have up to four
+     * bindings of all kinds with equal weights, there are no chains and no
+     * duplicates.
+     * @param seed The seed of randomness.
+     * @param objects The number of objects.
+     */
+    public Generator(final long seed, final int objects) {
+        this(seed, objects, new int[] {1, 4, 1}, new int[] {1, 1, 1, 1}, 0.0);
+    }
+
+    /**
+     * Constructor.
+     * @param seed The seed of randomness.
+     * @param objects The number of objects.
+     * @param shape The depth, the fan-out and the length of chains.
+     * @param weights Weights of data, locators, lambdas and references.
+     * @param duplication The probability of an object to duplicate the previous one.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private Generator(
+        final long seed, final int objects, final int[] shape, final int[] weights,
+        final double duplication
+    ) {
+        this.seed = seed;
+        this.objects = Generator.positive("number of objects", objects);
+        this.depth = shape[0];
+        this.fanout = Generator.positive("fan-out", shape[1]);
+        this.chain = Generator.positive("length of chains", shape[2]);
+        this.weights = Generator.checked(weights);
+        this.duplication = duplication;
+    }
+
+    /**
+     * Sets the maximal depth of applications.
+     * @param max The depth, zero for no applications.
+     * @return The new generator.
+     */
+    public Generator withDepth(final int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException(
+                String.format("Depth must not be negative, but was %d", max)
+            );
+        }
+        return new Generator(
+            this.seed, this.objects, new int[] {max, this.fanout, this.chain},
+            this.weights, this.duplication
+        );
+    }
+
+    /**
+     * Sets the maximal number of bindings of an object or an application.
+     * @param max The number.
+     * @return The new generator.
+     */
+    public Generator withFanout(final int max) {
+        return new Generator(
+            this.seed, this.objects, new int[] {this.depth, max, this.chain},
+            this.weights, this.duplication
+        );
+    }
+
+    /**
+     * Sets the length of chains of {@code 𝜑} references: every object but
+     * the last one of a chain refers to the next object by {@code 𝜑}.
+     * @param length The length, one for no chains.
+     * @return The new generator.
+     */
+    public Generator withChain(final int length) {
+        return new Generator(
+            this.seed, this.objects, new int[] {this.depth, this.fanout, length},
+            this.weights, this.duplication
+        );
+    }
+
+    /**
+     * Sets weights of kinds of bindings.
+     * @param data The weight of data.
+     * @param locators The weight of locators.
+     * @param lambdas The weight of lambdas.
+     * @param references The weight of references and applications.
+     * @return The new generator.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    public Generator withWeights(
+        final int data, final int locators, final int lambdas, final int references
+    ) {
+        return new Generator(
+            this.seed, this.objects, new int[] {this.depth, this.fanout, this.chain},
+            new int[] {data, locators, lambdas, references}, this.duplication
+        );
+    }
+
+    /**
+     * Sets the rate of duplicates.
+     * @param rate The probability of an object to have the same bindings as
+     *  the previous one, from zero to one.
+     * @return The new generator.
+     */
+    public Generator withDuplication(final double rate) {
+        if (rate < 0.0 || rate > 1.0) {
+            throw new IllegalArgumentException(
+                String.format("Duplication must be from 0 to 1, but was %f", rate)
+            );
+        }
+        return new Generator(
+            this.seed, this.objects, new int[] {this.depth, this.fanout, this.chain},
+            this.weights, rate
+        );
+    }
+
+    /**
+     * Writes the program, one object per line.
+     * @param output The output to write to.
+     * @throws IOException If fails to write.
+     */
+    public void writeTo(final Appendable output) throws IOException {
+        final SplittableRandom random = new SplittableRandom(this.seed);
+        final StringBuilder bindings = new StringBuilder(64);
+        String previous = "";
+        for (int index = 0; index < this.objects; index += 1) {
+            if (index > 0) {
+                output.append('\n');
+            }
+            output.append(Symbols.object(index)).append("(𝜋) ↦ ⟦ ");
+            if (index % this.chain < this.chain - 1 && index + 1 < this.objects) {
+                output.append("𝜑 ↦ ").append(Symbols.object(index + 1)).append("(ξ), ");
+            }
+            if (previous.isEmpty() || random.nextDouble() >= this.duplication) {
+                bindings.setLength(0);
+                this.bindings(random, bindings);
+                previous = bindings.toString();
+            }
+            output.append(previous).append(" ⟧");
+        }
+    }
+
+    /**
+     * Writes the program, one object per line, through a buffer.
+     * @param output The writer to write to.
+     * @throws IOException If fails to write.
+     */
+    public void writeTo(final Writer output) throws IOException {
+        final BufferedWriter buffered = new BufferedWriter(output, 1 << 13);
+        this.writeTo((Appendable) buffered);
+        buffered.flush();
+    }
+
+    /**
+     * Writes the bindings of an object, but the {@code 𝜑} of its chain.
+     * @param random The randomness.
+     * @param output The output.
+     */
+    private void bindings(final SplittableRandom random, final StringBuilder output) {
+        final int count = 1 + random.nextInt(this.fanout);
+        for (int attr = 0; attr < count; attr += 1) {
+            if (attr > 0) {
+                output.append(", ");
+            }
+            output.append('a').append(attr).append(" ↦ ");
+            this.entity(random, this.depth, output);
+        }
+    }
+
+    /**
+     * Writes a random entity.
+     * @param random The randomness.
+     * @param level The depth of applications still allowed.
+     * @param output The output.
+     */
+    private void entity(
+        final SplittableRandom random, final int level, final StringBuilder output
+    ) {
+        int pick = random.nextInt(
+            this.weights[0] + this.weights[1] + this.weights[2] + this.weights[3]
+        );
+        int kind = 0;
+        while (pick >= this.weights[kind]) {
+            pick -= this.weights[kind];
+            kind += 1;
+        }
+        switch (kind) {
+            case 0:
+                Generator.data(random.nextInt(1 << 16), output);
+                break;
+            case 1:
+                output.append(Generator.LOCATORS[random.nextInt(Generator.LOCATORS.length)])
+                    .append('a').append(random.nextInt(this.fanout));
+                break;
+            case 2:
+                output.append(Generator.ATOMS[random.nextInt(Generator.ATOMS.length)]);
+                break;
+            default:
+                output.append(Symbols.object(random.nextInt(this.objects)));
+                if (level > 0 && random.nextBoolean()) {
+                    this.application(random, level, output);
+                } else if (random.nextBoolean()) {
+                    output.append("(ξ)");
+                } else {
+                    output.append("(𝜋)");
+                }
+                break;
+        }
+    }
+
+    /**
+     * Writes the bindings of an application.
+     * @param random The randomness.
+     * @param level The depth of applications still allowed.
+     * @param output The output.
+     */
+    private void application(
+        final SplittableRandom random, final int level, final StringBuilder output
+    ) {
+        output.append("( ");
+        final int count = 1 + random.nextInt(this.fanout);
+        for (int attr = 0; attr < count; attr += 1) {
+            if (attr > 0) {
+                output.append(", ");
+            }
+            output.append('a').append(attr).append(" ↦ ");
+            this.entity(random, level - 1, output);
+        }
+        output.append(" )");
+    }
+
+    /**
+     * Writes data the way {@link org.objectionary.entities.Data} prints it.
+     * @param value The value.
+     * @param output The output.
+     */
+    private static void data(final int value, final StringBuilder output) {
+        final String hex = Integer.toHexString(value).toUpperCase(Locale.ROOT);
+        output.append("0x");
+        for (int pad = hex.length(); pad < 4; pad += 1) {
+            output.append('0');
+        }
+        output.append(hex);
+    }
+
+    /**
+     * Checks that a knob is positive.
+     * @param knob The name of the knob.
+     * @param value The value.
+     * @return The value.
+     */
+    private static int positive(final String knob, final int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(
+                String.format("The %s must be positive, but was %d", knob, value)
+            );
+        }
+        return value;
+    }
+
+    /**
+     * Checks weights of kinds of bindings.
+     * @param weights The weights.
+     * @return The weights.
+     */
+    private static int[] checked(final int... weights) {
+        int total = 0;
+        for (final int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException(
+                    String.format("Weights must not be negative, but was %d", weight)
+                );
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        return weights;
+    }
+}
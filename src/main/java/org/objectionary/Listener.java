@@ -0,0 +1,50 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.Map;
+import org.objectionary.entities.Entity;
+
+/**
+ * This interface represents a listener of changes of objects of an
+ * {@link ObjectsBox}.
+ * <p>
+ * It is called in the thread which changes the box, right after the change.
+ * Changes of one object made by several threads at once may be reported in
+ * another order than they were made, so a listener which keeps state per
+ * object should read the object from the box rather than trust the order.
+ * @since 0.1.0
+ */
+public interface Listener {
+
+    /**
+     * Handles a change of an object.
+     * @param id The identifier of the name of the object.
+     * @param before The bindings before the change or {@code null} if the
+     *  object was added.
+     * @param after The bindings after the change or {@code null} if the
+     *  object was removed.
+     */
+    void changed(int id, Map<String, Entity> before, Map<String, Entity> after);
+}
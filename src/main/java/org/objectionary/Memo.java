@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import org.objectionary.entities.Locator;
+
+/**
+ * This class represents the memo of resolved locators.
+ * <p>
+ * It is an open addressing hash table keyed by a frame and a locator, so
+ * looking a result up does not allocate. Results are targets of
+ * {@link Resolver}, which are never negative, so negative values are free
+ * to mark states of locators being resolved.
+ * @since 0.1.0
+ */
+final class Memo {
+
+    /**
+     * The result which is not known.
+     */
+    static final long UNKNOWN = Long.MIN_VALUE;
+
+    /**
+     * Frames by slots.
+     */
+    private int[] frames;
+
+    /**
+     * Locators by slots, {@code null} if the slot is free.
+     */
+    private Locator[] locators;
+
+    /**
+     * Results by slots.
+     */
+    private long[] results;
+
+    /**
+     * The number of results.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    Memo() {
+        this.frames = new int[256];
+        this.locators = new Locator[256];
+        this.results = new long[256];
+    }
+
+    /**
+     * Gets a result.
+     * @param frame The frame.
+     * @param locator The locator.
+     * @return The result or {@link #UNKNOWN} if it is not known.
+     */
+    long get(final int frame, final Locator locator) {
+        final int mask = this.locators.length - 1;
+        int slot = Memo.hash(frame, locator) & mask;
+        long result = Memo.UNKNOWN;
+        while (this.locators[slot] != null) {
+            if (this.frames[slot] == frame && this.locators[slot].equals(locator)) {
+                result = this.results[slot];
+                break;
+            }
+            slot = slot + 1 & mask;
+        }
+        return result;
+    }
+
+    /**
+     * Puts a result.
+     * @param frame The frame.
+     * @param locator The locator.
+     * @param result The result.
+     */
+    void put(final int frame, final Locator locator, final long result) {
+        if (this.size * 2 >= this.locators.length) {
+            this.grow();
+        }
+        final int mask = this.locators.length - 1;
+        int slot = Memo.hash(frame, locator) & mask;
+        while (this.locators[slot] != null
+            && !(this.frames[slot] == frame && this.locators[slot].equals(locator))) {
+            slot = slot + 1 & mask;
+        }
+        if (this.locators[slot] == null) {
+            this.size += 1;
+        }
+        this.frames[slot] = frame;
+        this.locators[slot] = locator;
+        this.results[slot] = result;
+    }
+
+    /**
+     * Doubles the table.
+     */
+    private void grow() {
+        final int[] before = this.frames;
+        final Locator[] keys = this.locators;
+        final long[] values = this.results;
+        this.frames = new int[before.length * 2];
+        this.locators = new Locator[keys.length * 2];
+        this.results = new long[values.length * 2];
+        this.size = 0;
+        for (int slot = 0; slot < keys.length; slot += 1) {
+            if (keys[slot] != null) {
+                this.put(before[slot], keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Mixes a frame and a locator into a hash.
+     * @param frame The frame.
+     * @param locator The locator.
+     * @return The hash.
+     */
+    private static int hash(final int frame, final Locator locator) {
+        final int mixed = frame * 0x9E3779B9 ^ locator.hashCode();
+        return mixed ^ mixed >>> 16;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+/**
+ * This class computes the 128-bit MurmurHash3 of appended characters.
+ * <p>
+ * Characters are hashed as they come, as UTF-16LE bytes, so the text is
+ * never held in memory. The result is the same as {@code MurmurHash3_x64_128}
+ * of the whole text with the seed zero.
+ * @since 0.1.0
+ */
+final class Murmur implements Appendable {
+
+    /**
+     * The first mixing constant.
+     */
+    private static final long FIRST = 0x87c37b91114253d5L;
+
+    /**
+     * The second mixing constant.
+     */
+    private static final long SECOND = 0x4cf5ad432745937fL;
+
+    /**
+     * The number of characters in a block.
+     */
+    private static final int CHARS = 8;
+
+    /**
+     * The characters of the current block.
+     */
+    private final char[] pending;
+
+    /**
+     * The first half of the state.
+     */
+    private long left;
+
+    /**
+     * The second half of the state.
+     */
+    private long right;
+
+    /**
+     * The number of characters in the current block.
+     */
+    private int filled;
+
+    /**
+     * The number of hashed characters.
+     */
+    private long total;
+
+    /**
+     * Constructor.
+     */
+    Murmur() {
+        this.pending = new char[Murmur.CHARS];
+    }
+
+    @Override
+    public Murmur append(final CharSequence text) {
+        return this.append(text, 0, text.length());
+    }
+
+    @Override
+    public Murmur append(final CharSequence text, final int start, final int end) {
+        for (int idx = start; idx < end; idx += 1) {
+            this.append(text.charAt(idx));
+        }
+        return this;
+    }
+
+    @Override
+    public Murmur append(final char chr) {
+        this.pending[this.filled] = chr;
+        this.filled += 1;
+        this.total += 1;
+        if (this.filled == Murmur.CHARS) {
+            this.block(this.pack(0, 4), this.pack(4, 4));
+            this.filled = 0;
+        }
+        return this;
+    }
+
+    /**
+     * Finishes hashing.
+     * @return The fingerprint of all appended characters.
+     */
+    Fingerprint digest() {
+        long high = this.left;
+        long low = this.right;
+        if (this.filled > 4) {
+            low ^= Long.rotateLeft(this.pack(4, this.filled - 4) * Murmur.SECOND, 33)
+                * Murmur.FIRST;
+        }
+        if (this.filled > 0) {
+            high ^= Long.rotateLeft(this.pack(0, Math.min(this.filled, 4)) * Murmur.FIRST, 31)
+                * Murmur.SECOND;
+        }
+        final long bytes = this.total * 2;
+        high ^= bytes;
+        low ^= bytes;
+        high += low;
+        low += high;
+        high = Murmur.mix(high);
+        low = Murmur.mix(low);
+        high += low;
+        low += high;
+        return new Fingerprint(high, low);
+    }
+
+    /**
+     * Hashes a whole block.
+     * @param first The first eight bytes of the block.
+     * @param second The second eight bytes of the block.
+     */
+    private void block(final long first, final long second) {
+        this.left ^= Long.rotateLeft(first * Murmur.FIRST, 31) * Murmur.SECOND;
+        this.left = Long.rotateLeft(this.left, 27) + this.right;
+        this.left = this.left * 5 + 0x52dce729;
+        this.right ^= Long.rotateLeft(second * Murmur.SECOND, 33) * Murmur.FIRST;
+        this.right = Long.rotateLeft(this.right, 31) + this.left;
+        this.right = this.right * 5 + 0x38495ab5;
+    }
+
+    /**
+     * Packs pending characters into a little-endian number.
+     * @param from The first character.
+     * @param count The number of characters, at most four.
+     * @return The number.
+     */
+    private long pack(final int from, final int count) {
+        long result = 0;
+        for (int idx = count - 1; idx >= 0; idx -= 1) {
+            result = result << 16 | this.pending[from + idx];
+        }
+        return result;
+    }
+
+    /**
+     * Mixes the bits of a half of the state at the end.
+     * @param value The half.
+     * @return The mixed half.
+     */
+    private static long mix(final long value) {
+        long result = value ^ value >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        return result ^ result >>> 33;
+    }
+}
@@ -23,29 +23,120 @@
  */
 package org.objectionary;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.objectionary.atoms.Atoms;
 import org.objectionary.entities.Entity;
+import org.objectionary.entities.Flyweights;
 
 /**
  * This class represents the objects box.
+ * <p>
+ * Objects named {@code νN} are stored in slot {@code N} of a sparse paged
+ * table, so they are found without hashing and walked in the order of
+ * their indexes. Objects with other names are kept in a hash map and come
+ * after them. The box is safe to fill from several threads at once: reads
+ * take no locks, pages of the table are installed by compare-and-set, fresh
+ * names are taken from an atomic counter, objects can be updated by
+ * {@link #putIfAbsent(int, Map)} and {@link #replace(int, Map, Map)}, and
+ * iteration is weakly consistent, so it never fails while the box changes
+ * but may or may not see the changes made meanwhile. Names
+ * are interned in the {@link Symbols} of the box, so objects can also be
+ * stored and looked up by the identifiers of their names, and entities
+ * put into the box may be shared through its {@link Flyweights}. Every
+ * change of an object is reported to the {@link Listener}s of the box.
  * @since 0.1.0
  */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.GodClass"})
 public final class ObjectsBox {
 
     /**
-     * The box of objects.
+     * The size of the buffer of the text output.
      */
-    private final Map<String, Map<String, Entity>> box;
+    private static final int BUFFER = 1 << 13;
+
+    /**
+     * Objects named {@code νN} by {@code N}.
+     */
+    private final Pages<Map<String, Entity>> indexed;
+
+    /**
+     * The number of objects named {@code νN}.
+     */
+    private final AtomicInteger count;
+
+    /**
+     * The index {@code N} after the highest object named {@code νN}.
+     */
+    private final AtomicInteger next;
+
+    /**
+     * Objects with other names.
+     */
+    private final Map<String, Map<String, Entity>> named;
+
+    /**
+     * The names of objects and attributes.
+     */
+    private final Symbols table;
+
+    /**
+     * The canonical instances of entities.
+     */
+    private final Flyweights pool;
+
+    /**
+     * The listeners of changes.
+     */
+    private final List<Listener> listeners;
+
+    /**
+     * The reverse index of references or {@code null} if it is not built.
+     */
+    private volatile Referrers reverse;
 
     /**
      * Constructor.
      */
     public ObjectsBox() {
-        this.box = new HashMap<>();
+        this(new Symbols());
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The names of objects and attributes.
+     */
+    public ObjectsBox(final Symbols symbols) {
+        this(symbols, Atoms.STANDARD);
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The names of objects and attributes.
+     * @param atoms The atoms to resolve lambdas of the box to.
+     */
+    public ObjectsBox(final Symbols symbols, final Atoms atoms) {
+        this.indexed = new Pages<>();
+        this.count = new AtomicInteger();
+        this.next = new AtomicInteger();
+        this.named = new ConcurrentHashMap<>();
+        this.table = symbols;
+        this.pool = new Flyweights(symbols, atoms);
+        this.listeners = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -54,7 +145,88 @@ public final class ObjectsBox {
      * @param bindings The bindings of the object.
      */
     public void put(final String name, final Map<String, Entity> bindings) {
-        this.box.put(name, bindings);
+        this.put(this.table.intern(name), bindings);
+    }
+
+    /**
+     * Puts an object into the box.
+     * @param id The identifier of the name of the object.
+     * @param bindings The bindings of the object.
+     */
+    public void put(final int id, final Map<String, Entity> bindings) {
+        final int index = this.table.index(id);
+        final String name = this.table.name(id);
+        final Map<String, Entity> before;
+        if (index == Symbols.ABSENT) {
+            before = this.named.put(name, bindings);
+        } else {
+            before = this.put(index, name, bindings);
+        }
+        this.report(id, before, bindings);
+    }
+
+    /**
+     * Puts an object into the box unless there is one with the same name.
+     * <p>
+     * It is atomic: when several threads put objects with the same name at
+     * once, exactly one of them succeeds.
+     * @param id The identifier of the name of the object.
+     * @param bindings The bindings of the object.
+     * @return The bindings of the present object or {@code null} if the
+     *  object was put.
+     */
+    public Map<String, Entity> putIfAbsent(final int id, final Map<String, Entity> bindings) {
+        final int index = this.table.index(id);
+        final String name = this.table.name(id);
+        ObjectsBox.check(name, bindings);
+        final Map<String, Entity> present;
+        if (index == Symbols.ABSENT) {
+            present = this.named.putIfAbsent(name, bindings);
+        } else {
+            present = this.indexed.putIfAbsent(index, bindings);
+            if (present == null) {
+                this.added(index);
+            }
+        }
+        if (present == null) {
+            this.report(id, null, bindings);
+        }
+        return present;
+    }
+
+    /**
+     * Replaces the bindings of an object if they are still the expected ones.
+     * <p>
+     * It is atomic, so workers may update objects with a read, change and
+     * retry loop instead of a lock. Bindings of objects named {@code νN}
+     * are compared by identity, bindings of other objects by equality.
+     * @param id The identifier of the name of the object.
+     * @param expected The expected bindings, as got from the box, or
+     *  {@code null} if there must be no object.
+     * @param bindings The new bindings.
+     * @return True if the bindings were replaced.
+     */
+    public boolean replace(
+        final int id, final Map<String, Entity> expected, final Map<String, Entity> bindings
+    ) {
+        final int index = this.table.index(id);
+        final String name = this.table.name(id);
+        ObjectsBox.check(name, bindings);
+        final boolean done;
+        if (index == Symbols.ABSENT && expected == null) {
+            done = this.named.putIfAbsent(name, bindings) == null;
+        } else if (index == Symbols.ABSENT) {
+            done = this.named.replace(name, expected, bindings);
+        } else {
+            done = this.indexed.replace(index, expected, bindings);
+            if (done && expected == null) {
+                this.added(index);
+            }
+        }
+        if (done) {
+            this.report(id, expected, bindings);
+        }
+        return done;
     }
 
     /**
@@ -63,15 +235,214 @@ public final class ObjectsBox {
      * @return The object.
      */
     public Map<String, Entity> get(final String name) {
-        return this.box.get(name);
+        final int index = Symbols.index(name);
+        final Map<String, Entity> result;
+        if (index == Symbols.ABSENT) {
+            result = this.named.get(name);
+        } else {
+            result = this.indexed.get(index);
+        }
+        return result;
+    }
+
+    /**
+     * Gets an object by the identifier of its name.
+     * @param id The identifier of the name of the object.
+     * @return The object.
+     */
+    public Map<String, Entity> get(final int id) {
+        final int index = this.table.index(id);
+        final Map<String, Entity> result;
+        if (index == Symbols.ABSENT) {
+            result = this.named.get(this.table.name(id));
+        } else {
+            result = this.indexed.get(index);
+        }
+        return result;
+    }
+
+    /**
+     * Removes an object by the identifier of its name.
+     * @param id The identifier of the name of the object.
+     * @return The bindings of the removed object or {@code null} if there was none.
+     */
+    public Map<String, Entity> remove(final int id) {
+        final int index = this.table.index(id);
+        final Map<String, Entity> result;
+        if (index == Symbols.ABSENT) {
+            result = this.named.remove(this.table.name(id));
+        } else {
+            result = this.indexed.remove(index);
+            if (result != null) {
+                this.count.decrementAndGet();
+            }
+        }
+        if (result != null) {
+            this.report(id, result, null);
+        }
+        return result;
+    }
+
+    /**
+     * Adds a listener of changes of objects.
+     * @param listener The listener.
+     */
+    public void listen(final Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Gets the reverse index of references between objects.
+     * <p>
+     * The index is built by the first call, which takes time proportional
+     * to the box, and kept consistent on every change after that. The box
+     * must not be changed while it is built.
+     * @return The index.
+     */
+    public Referrers referrers() {
+        Referrers result = this.reverse;
+        if (result == null) {
+            synchronized (this.listeners) {
+                result = this.reverse;
+                if (result == null) {
+                    result = new Referrers(this);
+                    for (final Map.Entry<String, Map<String, Entity>> object
+                        : this.content().entrySet()) {
+                        result.add(this.table.intern(object.getKey()), object.getValue());
+                    }
+                    this.listen(result);
+                    this.reverse = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the bound of indexes of objects named {@code νN}.
+     * @return The index {@code N} higher than the indexes of all objects of
+     *  the box and all names allocated by {@link #fresh()}.
+     */
+    public int bound() {
+        return this.next.get();
+    }
+
+    /**
+     * Allocates the name {@code νN} of a new object, higher than the names of
+     * all objects of the box and all names allocated before.
+     * <p>
+     * It is safe to call from several threads at once.
+     * @return The identifier of the name.
+     */
+    public int fresh() {
+        return this.table.intern(Symbols.object(this.next.getAndIncrement()));
+    }
+
+    /**
+     * Gets the names of objects and attributes of the box.
+     * @return The symbols.
+     */
+    public Symbols symbols() {
+        return this.table;
+    }
+
+    /**
+     * Gets the canonical instances of entities shared by the box.
+     * @return The flyweights.
+     */
+    public Flyweights flyweights() {
+        return this.pool;
     }
 
     /**
      * Gets the box of objects.
+     * <p>
+     * The map is a live view of the box: objects named {@code νN} come first
+     * in the order of their indexes. Objects put into the view or removed
+     * from it, also by its iterators, are put into the box or removed from
+     * it. Its iterators are weakly consistent and never throw
+     * {@link java.util.ConcurrentModificationException}.
      * @return The box of objects.
      */
     public Map<String, Map<String, Entity>> content() {
-        return this.box;
+        return new Content(this);
+    }
+
+    /**
+     * Writes the box in the compact binary format, which is read back by {@link Snapshot}.
+     * @param output The stream to write to.
+     * @throws IOException If fails to write.
+     */
+    public void writeBinary(final OutputStream output) throws IOException {
+        this.writeBinary(Channels.newChannel(output));
+    }
+
+    /**
+     * Writes the box in the compact binary format, which is read back by {@link Snapshot}.
+     * @param output The channel to write to.
+     * @throws IOException If fails to write.
+     */
+    public void writeBinary(final WritableByteChannel output) throws IOException {
+        new SnapshotWriter(output).write(this);
+    }
+
+    /**
+     * Writes the box in the text form, one object per line.
+     * <p>
+     * Objects are streamed to the output as they are walked, so the box may
+     * be much bigger than a single string could hold.
+     * @param output The output to write to.
+     * @throws IOException If fails to write.
+     */
+    public void writeTo(final Appendable output) throws IOException {
+        if (this.indexed.get(0) == null) {
+            throw new IllegalArgumentException("The box does not contain the object ν0.");
+        }
+        new TextWriter(output).write(this);
+    }
+
+    /**
+     * Writes the box in the text form, one object per line, through a buffer.
+     * @param output The writer to write to.
+     * @throws IOException If fails to write.
+     */
+    public void writeTo(final Writer output) throws IOException {
+        final BufferedWriter buffered = new BufferedWriter(output, ObjectsBox.BUFFER);
+        this.writeTo((Appendable) buffered);
+        buffered.flush();
+    }
+
+    /**
+     * Writes the box in the canonical text form, one object per line.
+     * <p>
+     * The text depends only on the content of the box, not on the order in
+     * which objects and bindings were put: objects named {@code νN} come in
+     * the order of their indexes, then other objects sorted by name, and
+     * bindings are sorted by attribute after {@code Δ}, {@code 𝜑} and
+     * {@code λ}.
+     * @param output The output to write to.
+     * @throws IOException If fails to write.
+     */
+    public void writeCanonical(final Appendable output) throws IOException {
+        new TextWriter(output, true).write(this);
+    }
+
+    /**
+     * Computes the fingerprint of the content of the box.
+     * <p>
+     * This is the 128-bit MurmurHash3 of the canonical text, which is
+     * hashed as it is written and never held in memory, so boxes with the
+     * same content have the same fingerprint.
+     * @return The fingerprint.
+     */
+    public Fingerprint fingerprint() {
+        final Murmur murmur = new Murmur();
+        try {
+            this.writeCanonical(murmur);
+        } catch (final IOException ex) {
+            throw new IllegalStateException("Failed to write to a hash", ex);
+        }
+        return murmur.digest();
     }
 
     /**
@@ -80,53 +451,250 @@ public final class ObjectsBox {
      */
     @Override
     public String toString() {
-        if (!this.box.containsKey("ν0")) {
-            throw new IllegalArgumentException("The box does not contain the object ν0.");
+        final StringBuilder result = new StringBuilder();
+        try {
+            this.writeTo(result);
+        } catch (final IOException ex) {
+            throw new IllegalStateException("Failed to write to a string builder", ex);
         }
-        final List<String> results = new ArrayList<>(this.box.size());
-        results.add(ObjectsBox.serialize("ν0", this.box.get("ν0")));
-        for (final Map.Entry<String, Map<String, Entity>> entry : this.box.entrySet()) {
-            if (entry.getKey().equals("ν0")) {
-                continue;
-            }
-            results.add(
-                ObjectsBox.serialize(entry.getKey(), entry.getValue())
-            );
+        return result.toString();
+    }
+
+    /**
+     * Puts an object named {@code νN} into the box.
+     * @param index The index {@code N} of the object.
+     * @param name The name of the object.
+     * @param bindings The bindings of the object.
+     * @return The previous bindings or {@code null} if there were none.
+     */
+    private Map<String, Entity> put(
+        final int index, final String name, final Map<String, Entity> bindings
+    ) {
+        ObjectsBox.check(name, bindings);
+        final Map<String, Entity> before = this.indexed.put(index, bindings);
+        if (before == null) {
+            this.added(index);
+        }
+        return before;
+    }
+
+    /**
+     * Counts a new object named {@code νN}.
+     * @param index The index {@code N} of the object.
+     */
+    private void added(final int index) {
+        this.count.incrementAndGet();
+        if (index >= this.next.get()) {
+            this.next.accumulateAndGet(index + 1, Math::max);
         }
-        return String.join("\n", results);
     }
 
     /**
-     * Converts an object to a string.
+     * Checks that bindings are present.
      * @param name The name of the object.
      * @param bindings The bindings of the object.
-     * @return The string representation of the object.
      */
-    private static String serialize(
-        final String name, final Map<String, Entity> bindings
+    private static void check(final String name, final Map<String, Entity> bindings) {
+        if (bindings == null) {
+            throw new IllegalArgumentException(
+                String.format("The bindings of the object %s must not be null", name)
+            );
+        }
+    }
+
+    /**
+     * Reports a change of an object to the listeners.
+     * @param id The identifier of the name of the object.
+     * @param before The bindings before the change.
+     * @param after The bindings after the change.
+     */
+    private void report(
+        final int id, final Map<String, Entity> before, final Map<String, Entity> after
     ) {
-        final List<String> dataizations = Arrays.asList("Δ", "𝜑", "λ");
-        final List<String> result = new ArrayList<>(bindings.size());
-        for (final String binding : dataizations) {
-            if (bindings.containsKey(binding)) {
-                result.add(
-                    String.format("%s ↦ %s", binding, bindings.get(binding))
-                );
+        if (!this.listeners.isEmpty()) {
+            for (final Listener listener : this.listeners) {
+                listener.changed(id, before, after);
+            }
+        }
+    }
+
+    /**
+     * The live map view of the box.
+     * @since 0.1.0
+     */
+    private static final class Content extends AbstractMap<String, Map<String, Entity>> {
+
+        /**
+         * The box.
+         */
+        private final ObjectsBox box;
+
+        /**
+         * Constructor.
+         * @param box The box.
+         */
+        Content(final ObjectsBox box) {
+            super();
+            this.box = box;
+        }
+
+        @Override
+        public Set<Entry<String, Map<String, Entity>>> entrySet() {
+            return new AbstractSet<Entry<String, Map<String, Entity>>>() {
+                @Override
+                public Iterator<Entry<String, Map<String, Entity>>> iterator() {
+                    return new Walk(Content.this.box);
+                }
+
+                @Override
+                public int size() {
+                    return Content.this.size();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.box.count.get() + this.box.named.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return this.get(key) != null;
+        }
+
+        @Override
+        public Map<String, Entity> get(final Object key) {
+            Map<String, Entity> result = null;
+            if (key instanceof String) {
+                result = this.box.get((String) key);
             }
+            return result;
+        }
+
+        @Override
+        public Map<String, Entity> put(final String key, final Map<String, Entity> value) {
+            final Map<String, Entity> previous = this.get(key);
+            this.box.put(key, value);
+            return previous;
         }
-        for (final Map.Entry<String, Entity> binding : bindings.entrySet()) {
-            if (dataizations.contains(binding.getKey())) {
-                continue;
+
+        @Override
+        public Map<String, Entity> remove(final Object key) {
+            Map<String, Entity> result = null;
+            if (key instanceof String) {
+                final int id = this.box.table.find((String) key);
+                if (id != Symbols.ABSENT) {
+                    result = this.box.remove(id);
+                }
             }
-            result.add(
-                String.format("%s ↦ %s", binding.getKey(), binding.getValue())
-            );
+            return result;
         }
-        return String.format(
-            "%s(𝜋) ↦ ⟦ %s ⟧",
-            name,
-            String.join(", ", result)
-        );
     }
 
+    /**
+     * The iterator over objects of the box in the order of indexes.
+     * @since 0.1.0
+     */
+    private static final class Walk implements Iterator<Map.Entry<String, Map<String, Entity>>> {
+
+        /**
+         * The box.
+         */
+        private final ObjectsBox box;
+
+        /**
+         * Objects named {@code νN} by {@code N}.
+         */
+        private final Pages<Map<String, Entity>> pages;
+
+        /**
+         * The iterator over objects with other names.
+         */
+        private final Iterator<Map.Entry<String, Map<String, Entity>>> others;
+
+        /**
+         * The index of the next object named {@code νN}.
+         */
+        private int index;
+
+        /**
+         * The bindings of the next object named {@code νN}.
+         */
+        private Map<String, Entity> found;
+
+        /**
+         * Whether the next object named {@code νN} is found.
+         */
+        private boolean ready;
+
+        /**
+         * The name of the object returned last.
+         */
+        private String last;
+
+        /**
+         * Whether the object returned last is not removed yet.
+         */
+        private boolean removable;
+
+        /**
+         * Constructor.
+         * @param box The box.
+         */
+        Walk(final ObjectsBox box) {
+            this.box = box;
+            this.pages = box.indexed;
+            this.others = box.named.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.advance() || this.others.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Map<String, Entity>> next() {
+            final Map.Entry<String, Map<String, Entity>> entry;
+            if (this.advance()) {
+                entry = new AbstractMap.SimpleImmutableEntry<>(
+                    Symbols.object(this.index), this.found
+                );
+                this.index = this.pages.skip(this.index);
+                this.ready = false;
+            } else if (this.others.hasNext()) {
+                entry = this.others.next();
+            } else {
+                throw new NoSuchElementException("There are no more objects in the box");
+            }
+            this.last = entry.getKey();
+            this.removable = true;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!this.removable) {
+                throw new IllegalStateException("There is no object to remove");
+            }
+            this.box.remove(this.box.table.find(this.last));
+            this.removable = false;
+        }
+
+        /**
+         * Moves to the next object named {@code νN} if the current one is empty.
+         * @return True if there is such an object.
+         */
+        private boolean advance() {
+            while (!this.ready && this.index < this.pages.bound()) {
+                this.found = this.pages.get(this.index);
+                if (this.found == null) {
+                    this.index = this.pages.skip(this.index);
+                } else {
+                    this.ready = true;
+                }
+            }
+            return this.ready;
+        }
+    }
 }
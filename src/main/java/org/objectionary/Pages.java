@@ -0,0 +1,248 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class represents the sparse table of values indexed by {@code int}.
+ * <p>
+ * Values live in fixed-size pages which are allocated on the first write
+ * into their range, so gaps between indexes cost only an empty directory
+ * slot. Pages are grouped into chunks of a fixed directory, which covers
+ * all non-negative indexes below {@link #LIMIT} and never grows. The last
+ * page of {@code int} is left out, so bounds of indexes always fit into
+ * {@code int}. Reads are lock-free, writes
+ * are single atomic operations on slots, and pages and chunks are
+ * installed by compare-and-set, so no operation ever takes a lock.
+ * @param <T> The type of values.
+ * @since 0.1.0
+ */
+public final class Pages<T> {
+
+    /**
+     * The bound of indexes of values.
+     */
+    public static final int LIMIT = Integer.MAX_VALUE - Pages.SIZE + 1;
+
+    /**
+     * The number of bits of an index within a page.
+     */
+    private static final int BITS = 10;
+
+    /**
+     * The number of values in a page.
+     */
+    private static final int SIZE = 1 << Pages.BITS;
+
+    /**
+     * The number of bits of the number of a page within a chunk.
+     */
+    private static final int CHUNK = 10;
+
+    /**
+     * The number of chunks which cover all non-negative indexes.
+     */
+    private static final int CHUNKS = 1 << Integer.SIZE - 1 - Pages.BITS - Pages.CHUNK;
+
+    /**
+     * Chunks of pages.
+     */
+    private final AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<T>>> directory;
+
+    /**
+     * The number after the highest allocated page.
+     */
+    private final AtomicInteger limit;
+
+    /**
+     * Constructor.
+     */
+    public Pages() {
+        this.directory = new AtomicReferenceArray<>(Pages.CHUNKS);
+        this.limit = new AtomicInteger();
+    }
+
+    /**
+     * Gets the value by index.
+     * @param index The index.
+     * @return The value or {@code null} if there is none.
+     */
+    public T get(final int index) {
+        final AtomicReferenceArray<T> page = this.existing(index);
+        T value = null;
+        if (page != null) {
+            value = page.get(index & Pages.SIZE - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Puts the value by index.
+     * @param index The index.
+     * @param value The value, {@code null} removes the previous one.
+     * @return The previous value or {@code null} if there was none.
+     */
+    public T put(final int index, final T value) {
+        return this.page(index).getAndSet(index & Pages.SIZE - 1, value);
+    }
+
+    /**
+     * Puts the value by index if there is none.
+     * @param index The index.
+     * @param value The value.
+     * @return The present value or {@code null} if the value was put.
+     */
+    public T putIfAbsent(final int index, final T value) {
+        final AtomicReferenceArray<T> page = this.page(index);
+        final int slot = index & Pages.SIZE - 1;
+        boolean done = page.compareAndSet(slot, null, value);
+        T present = null;
+        while (!done) {
+            present = page.get(slot);
+            done = present != null || page.compareAndSet(slot, null, value);
+        }
+        return present;
+    }
+
+    /**
+     * Replaces the value by index if it is the expected one.
+     * <p>
+     * Values are compared by identity.
+     * @param index The index.
+     * @param expected The expected value, {@code null} if there must be none.
+     * @param value The new value, {@code null} removes the expected one.
+     * @return True if the value was replaced.
+     */
+    public boolean replace(final int index, final T expected, final T value) {
+        final AtomicReferenceArray<T> page;
+        if (expected == null) {
+            page = this.page(index);
+        } else {
+            page = this.existing(index);
+        }
+        return page != null && page.compareAndSet(index & Pages.SIZE - 1, expected, value);
+    }
+
+    /**
+     * Removes the value at the index.
+     * @param index The index.
+     * @return The removed value or {@code null} if there was none.
+     */
+    public T remove(final int index) {
+        final AtomicReferenceArray<T> page = this.existing(index);
+        T value = null;
+        if (page != null) {
+            value = page.getAndSet(index & Pages.SIZE - 1, null);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the upper bound of indexes which may have values.
+     * @return The bound.
+     */
+    public int bound() {
+        return this.limit.get() << Pages.BITS;
+    }
+
+    /**
+     * Returns the first index after the given one which may have a value.
+     * <p>
+     * Indexes of missing pages and chunks are skipped at once.
+     * @param index The index.
+     * @return The next index to look at.
+     */
+    public int skip(final int index) {
+        final int last = this.limit.get();
+        int number = (index + 1) >>> Pages.BITS;
+        boolean found = false;
+        while (number < last && !found) {
+            final AtomicReferenceArray<AtomicReferenceArray<T>> chunk =
+                this.directory.get(number >>> Pages.CHUNK);
+            if (chunk == null) {
+                number = (number >>> Pages.CHUNK) + 1 << Pages.CHUNK;
+            } else if (chunk.get(number & (1 << Pages.CHUNK) - 1) == null) {
+                number += 1;
+            } else {
+                found = true;
+            }
+        }
+        return Math.max(index + 1, Math.min(number, last) << Pages.BITS);
+    }
+
+    /**
+     * Gets the page of an index if it is allocated.
+     * @param index The index.
+     * @return The page or {@code null}.
+     */
+    private AtomicReferenceArray<T> existing(final int index) {
+        AtomicReferenceArray<T> page = null;
+        if (index >= 0) {
+            final int number = index >>> Pages.BITS;
+            final AtomicReferenceArray<AtomicReferenceArray<T>> chunk =
+                this.directory.get(number >>> Pages.CHUNK);
+            if (chunk != null) {
+                page = chunk.get(number & (1 << Pages.CHUNK) - 1);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Gets the page of an index, allocating it if needed.
+     * <p>
+     * The bound is raised before the page is returned, so a value written
+     * into the page is seen by walks started after the write.
+     * @param index The index.
+     * @return The page.
+     */
+    private AtomicReferenceArray<T> page(final int index) {
+        if (index < 0 || index >= Pages.LIMIT) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Index must be from 0 to %d, but was %d", Pages.LIMIT - 1, index
+                )
+            );
+        }
+        final int number = index >>> Pages.BITS;
+        final int top = number >>> Pages.CHUNK;
+        AtomicReferenceArray<AtomicReferenceArray<T>> chunk = this.directory.get(top);
+        if (chunk == null) {
+            this.directory.compareAndSet(top, null, new AtomicReferenceArray<>(1 << Pages.CHUNK));
+            chunk = this.directory.get(top);
+        }
+        final int slot = number & (1 << Pages.CHUNK) - 1;
+        AtomicReferenceArray<T> page = chunk.get(slot);
+        if (page == null) {
+            chunk.compareAndSet(slot, null, new AtomicReferenceArray<>(Pages.SIZE));
+            page = chunk.get(slot);
+        }
+        if (number >= this.limit.get()) {
+            this.limit.accumulateAndGet(number + 1, Math::max);
+        }
+        return page;
+    }
+}
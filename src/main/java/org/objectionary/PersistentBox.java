@@ -0,0 +1,741 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.objectionary.atoms.Atoms;
+import org.objectionary.entities.Entity;
+
+/**
+ * This class represents the immutable box of objects.
+ * <p>
+ * Objects are kept in a hash array mapped trie keyed by the identifiers of
+ * their names, five bits of the identifier per level. Identifiers are
+ * distinct numbers, so there are no collisions. {@link #with(String, Map)}
+ * and {@link #without(String)} copy only the path from the root to the
+ * changed object and share everything else with the previous version, so
+ * every version between passes costs time and memory proportional to the
+ * number of changes. For the same reason {@link #diff(PersistentBox, Listener)}
+ * skips shared parts and takes time proportional to the difference.
+ * <p>
+ * Bindings are copied into unmodifiable maps when they are put, and
+ * changes are detected by the identity of these maps.
+ * @since 0.1.0
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.CompareObjectsWithEquals"})
+public final class PersistentBox {
+
+    /**
+     * The number of bits of the identifier per level of the trie.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * The mask of bits of the identifier on one level.
+     */
+    private static final int MASK = (1 << PersistentBox.BITS) - 1;
+
+    /**
+     * The names of objects and attributes.
+     */
+    private final Symbols table;
+
+    /**
+     * The atoms to resolve lambdas to.
+     */
+    private final Atoms atoms;
+
+    /**
+     * The root of the trie.
+     */
+    private final Node root;
+
+    /**
+     * Constructor of the empty box.
+     */
+    public PersistentBox() {
+        this(new Symbols(), Atoms.STANDARD, Node.EMPTY);
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * Takes time proportional to the size of the box, later versions share
+     * the structure of this one.
+     * @param box The box to copy objects of.
+     */
+    public PersistentBox(final ObjectsBox box) {
+        this(box.symbols(), box.flyweights().atoms(), PersistentBox.copy(box));
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The names of objects and attributes.
+     * @param atoms The atoms to resolve lambdas to.
+     * @param root The root of the trie.
+     */
+    private PersistentBox(final Symbols symbols, final Atoms atoms, final Node root) {
+        this.table = symbols;
+        this.atoms = atoms;
+        this.root = root;
+    }
+
+    /**
+     * Makes the box with an object put or replaced.
+     * @param name The name of the object.
+     * @param bindings The bindings of the object.
+     * @return The new box.
+     */
+    public PersistentBox with(final String name, final Map<String, Entity> bindings) {
+        return this.with(this.table.intern(name), bindings);
+    }
+
+    /**
+     * Makes the box with an object put or replaced.
+     * @param id The identifier of the name of the object.
+     * @param bindings The bindings of the object.
+     * @return The new box.
+     */
+    public PersistentBox with(final int id, final Map<String, Entity> bindings) {
+        if (bindings == null) {
+            throw new IllegalArgumentException(
+                String.format("The bindings of the object %s must not be null", this.table.name(id))
+            );
+        }
+        final Leaf leaf = new Leaf(id, Collections.unmodifiableMap(new LinkedHashMap<>(bindings)));
+        return new PersistentBox(this.table, this.atoms, this.root.put(leaf, 0));
+    }
+
+    /**
+     * Makes the box without an object.
+     * @param name The name of the object.
+     * @return The new box or this one if there is no such object.
+     */
+    public PersistentBox without(final String name) {
+        final int id = this.table.find(name);
+        PersistentBox result = this;
+        if (id != Symbols.ABSENT) {
+            result = this.without(id);
+        }
+        return result;
+    }
+
+    /**
+     * Makes the box without an object.
+     * @param id The identifier of the name of the object.
+     * @return The new box or this one if there is no such object.
+     */
+    public PersistentBox without(final int id) {
+        final Node removed = this.root.remove(id, 0);
+        PersistentBox result = this;
+        if (removed != this.root) {
+            result = new PersistentBox(this.table, this.atoms, removed);
+        }
+        return result;
+    }
+
+    /**
+     * Gets an object.
+     * @param name The name of the object.
+     * @return The unmodifiable bindings or {@code null} if there is no such object.
+     */
+    public Map<String, Entity> get(final String name) {
+        final int id = this.table.find(name);
+        Map<String, Entity> result = null;
+        if (id != Symbols.ABSENT) {
+            result = this.get(id);
+        }
+        return result;
+    }
+
+    /**
+     * Gets an object.
+     * @param id The identifier of the name of the object.
+     * @return The unmodifiable bindings or {@code null} if there is no such object.
+     */
+    public Map<String, Entity> get(final int id) {
+        final Leaf leaf = this.root.find(id, 0);
+        Map<String, Entity> result = null;
+        if (leaf != null) {
+            result = leaf.bindings;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of objects.
+     * @return The number of objects.
+     */
+    public int size() {
+        return this.root.count;
+    }
+
+    /**
+     * Gets the names of objects and attributes.
+     * @return The symbols, shared by all versions of the box.
+     */
+    public Symbols symbols() {
+        return this.table;
+    }
+
+    /**
+     * Gets the unmodifiable map view of the box.
+     * <p>
+     * Objects come in the order of the trie, not in the order of indexes.
+     * @return The objects by names.
+     */
+    public Map<String, Map<String, Entity>> content() {
+        return new Content(this);
+    }
+
+    /**
+     * Reports the differences from the previous version of the box.
+     * <p>
+     * Every object which was added, removed or replaced since the previous
+     * version is reported once, parts shared by the versions are skipped.
+     * @param before The previous version.
+     * @param listener The listener of differences.
+     */
+    public void diff(final PersistentBox before, final Listener listener) {
+        PersistentBox.diff(before.root, this.root, 0, listener);
+    }
+
+    /**
+     * Makes a mutable box with the same objects.
+     * @return The box, which shares symbols with this one.
+     */
+    public ObjectsBox toBox() {
+        final ObjectsBox box = new ObjectsBox(this.table, this.atoms);
+        final Walk walk = new Walk(this.root);
+        while (walk.hasNext()) {
+            final Leaf leaf = walk.next();
+            box.put(leaf.id, new LinkedHashMap<>(leaf.bindings));
+        }
+        return box;
+    }
+
+    @Override
+    public String toString() {
+        return this.toBox().toString();
+    }
+
+    /**
+     * Copies objects of a box into a trie.
+     * @param box The box.
+     * @return The root of the trie.
+     */
+    private static Node copy(final ObjectsBox box) {
+        Node node = Node.EMPTY;
+        for (final Map.Entry<String, Map<String, Entity>> entry : box.content().entrySet()) {
+            node = node.put(
+                new Leaf(
+                    box.symbols().intern(entry.getKey()),
+                    Collections.unmodifiableMap(new LinkedHashMap<>(entry.getValue()))
+                ),
+                0
+            );
+        }
+        return node;
+    }
+
+    /**
+     * Reports the differences between two slots of tries.
+     * @param before The slot of the previous trie, a node, a leaf or {@code null}.
+     * @param after The slot of the next trie, a node, a leaf or {@code null}.
+     * @param shift The number of bits of identifiers used above the slots.
+     * @param listener The listener.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private static void diff(
+        final Object before, final Object after, final int shift, final Listener listener
+    ) {
+        if (before == after) {
+            return;
+        }
+        if (before instanceof Leaf && after instanceof Leaf) {
+            PersistentBox.leaves((Leaf) before, (Leaf) after, listener);
+        } else if (before == null || after == null) {
+            PersistentBox.sides(before, after, listener);
+        } else {
+            final Node left = Node.wrap(before, shift);
+            final Node right = Node.wrap(after, shift);
+            final int bitmap = left.bitmap | right.bitmap;
+            for (int bit = 0; bit <= PersistentBox.MASK; bit += 1) {
+                if ((bitmap & 1 << bit) != 0) {
+                    PersistentBox.diff(
+                        left.slot(bit), right.slot(bit), shift + PersistentBox.BITS, listener
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the differences between two leaves.
+     * @param before The previous leaf.
+     * @param after The next leaf.
+     * @param listener The listener.
+     */
+    private static void leaves(final Leaf before, final Leaf after, final Listener listener) {
+        if (before.id == after.id) {
+            if (before.bindings != after.bindings) {
+                listener.changed(before.id, before.bindings, after.bindings);
+            }
+        } else {
+            listener.changed(before.id, before.bindings, null);
+            listener.changed(after.id, null, after.bindings);
+        }
+    }
+
+    /**
+     * Reports all objects of a slot which is absent in the other trie.
+     * @param before The slot of the previous trie or {@code null}.
+     * @param after The slot of the next trie or {@code null}.
+     * @param listener The listener.
+     */
+    private static void sides(final Object before, final Object after, final Listener listener) {
+        final Walk removed = new Walk(Node.wrap(before, 0));
+        while (removed.hasNext()) {
+            final Leaf leaf = removed.next();
+            listener.changed(leaf.id, leaf.bindings, null);
+        }
+        final Walk added = new Walk(Node.wrap(after, 0));
+        while (added.hasNext()) {
+            final Leaf leaf = added.next();
+            listener.changed(leaf.id, null, leaf.bindings);
+        }
+    }
+
+    /**
+     * An object in the trie.
+     * @since 0.1.0
+     */
+    private static final class Leaf {
+
+        /**
+         * The identifier of the name.
+         */
+        private final int id;
+
+        /**
+         * The unmodifiable bindings.
+         */
+        private final Map<String, Entity> bindings;
+
+        /**
+         * Constructor.
+         * @param id The identifier of the name.
+         * @param bindings The unmodifiable bindings.
+         */
+        Leaf(final int id, final Map<String, Entity> bindings) {
+            this.id = id;
+            this.bindings = bindings;
+        }
+    }
+
+    /**
+     * A node of the trie.
+     * <p>
+     * Slots are present only for set bits of the bitmap, in their order,
+     * every slot is a {@link Leaf} or a node of the next level.
+     * @since 0.1.0
+     */
+    private static final class Node {
+
+        /**
+         * The empty node.
+         */
+        private static final Node EMPTY = new Node(0, new Object[0], 0);
+
+        /**
+         * The bitmap of present slots.
+         */
+        private final int bitmap;
+
+        /**
+         * The present slots.
+         */
+        private final Object[] slots;
+
+        /**
+         * The number of leaves under the node.
+         */
+        private final int count;
+
+        /**
+         * Constructor.
+         * @param bitmap The bitmap of present slots.
+         * @param slots The present slots.
+         * @param count The number of leaves under the node.
+         */
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Node(final int bitmap, final Object[] slots, final int count) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+            this.count = count;
+        }
+
+        /**
+         * Gets a slot by its bit.
+         * @param bit The number of the bit.
+         * @return The slot or {@code null} if it is absent.
+         */
+        Object slot(final int bit) {
+            Object slot = null;
+            if ((this.bitmap & 1 << bit) != 0) {
+                slot = this.slots[Integer.bitCount(this.bitmap & (1 << bit) - 1)];
+            }
+            return slot;
+        }
+
+        /**
+         * Finds a leaf.
+         * @param id The identifier.
+         * @param shift The number of bits of the identifier used above the node.
+         * @return The leaf or {@code null} if there is none.
+         */
+        Leaf find(final int id, final int shift) {
+            final Object slot = this.slot(id >>> shift & PersistentBox.MASK);
+            Leaf leaf = null;
+            if (slot instanceof Node) {
+                leaf = ((Node) slot).find(id, shift + PersistentBox.BITS);
+            } else if (slot instanceof Leaf && ((Leaf) slot).id == id) {
+                leaf = (Leaf) slot;
+            }
+            return leaf;
+        }
+
+        /**
+         * Makes the node with a leaf put or replaced.
+         * @param leaf The leaf.
+         * @param shift The number of bits of identifiers used above the node.
+         * @return The new node.
+         */
+        Node put(final Leaf leaf, final int shift) {
+            final int bit = leaf.id >>> shift & PersistentBox.MASK;
+            final Object slot = this.slot(bit);
+            final Node result;
+            if (slot == null) {
+                result = this.inserted(bit, leaf);
+            } else if (slot instanceof Node) {
+                final Node child = ((Node) slot).put(leaf, shift + PersistentBox.BITS);
+                result = this.replaced(bit, child, child.count - ((Node) slot).count);
+            } else if (((Leaf) slot).id == leaf.id) {
+                result = this.replaced(bit, leaf, 0);
+            } else {
+                result = this.replaced(
+                    bit, Node.pair((Leaf) slot, leaf, shift + PersistentBox.BITS), 1
+                );
+            }
+            return result;
+        }
+
+        /**
+         * Makes the node without a leaf.
+         * <p>
+         * A node of the next level which is left with a single leaf is
+         * replaced by that leaf.
+         * @param id The identifier of the leaf.
+         * @param shift The number of bits of identifiers used above the node.
+         * @return The new node or this one if there is no such leaf.
+         */
+        Node remove(final int id, final int shift) {
+            final int bit = id >>> shift & PersistentBox.MASK;
+            final Object slot = this.slot(bit);
+            Node result = this;
+            if (slot instanceof Leaf && ((Leaf) slot).id == id) {
+                result = this.deleted(bit);
+            } else if (slot instanceof Node) {
+                final Node child = ((Node) slot).remove(id, shift + PersistentBox.BITS);
+                if (child.count == 1 && child.slots[0] instanceof Leaf) {
+                    result = this.replaced(bit, child.slots[0], -1);
+                } else if (child != slot) {
+                    result = this.replaced(bit, child, -1);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Wraps a slot into a node of its level.
+         * @param slot The slot, a node, a leaf or {@code null}.
+         * @param shift The number of bits of identifiers used above the slot.
+         * @return The node.
+         */
+        static Node wrap(final Object slot, final int shift) {
+            final Node result;
+            if (slot instanceof Node) {
+                result = (Node) slot;
+            } else if (slot instanceof Leaf) {
+                result = Node.EMPTY.inserted(((Leaf) slot).id >>> shift & PersistentBox.MASK, slot);
+            } else {
+                result = Node.EMPTY;
+            }
+            return result;
+        }
+
+        /**
+         * Makes the node with two leaves which collided on the level above.
+         * @param first The first leaf.
+         * @param second The second leaf.
+         * @param shift The number of bits of identifiers used above the node.
+         * @return The node.
+         */
+        private static Node pair(final Leaf first, final Leaf second, final int shift) {
+            final int one = first.id >>> shift & PersistentBox.MASK;
+            final int two = second.id >>> shift & PersistentBox.MASK;
+            final Node result;
+            if (one == two) {
+                result = new Node(
+                    1 << one,
+                    new Object[] {Node.pair(first, second, shift + PersistentBox.BITS)},
+                    2
+                );
+            } else {
+                result = Node.EMPTY.inserted(one, first).inserted(two, second);
+            }
+            return result;
+        }
+
+        /**
+         * Makes the node with a new slot.
+         * @param bit The number of the bit of the slot.
+         * @param slot The slot.
+         * @return The new node.
+         */
+        private Node inserted(final int bit, final Object slot) {
+            final int pos = Integer.bitCount(this.bitmap & (1 << bit) - 1);
+            final Object[] copy = new Object[this.slots.length + 1];
+            System.arraycopy(this.slots, 0, copy, 0, pos);
+            copy[pos] = slot;
+            System.arraycopy(this.slots, pos, copy, pos + 1, this.slots.length - pos);
+            return new Node(this.bitmap | 1 << bit, copy, this.count + 1);
+        }
+
+        /**
+         * Makes the node with a slot replaced.
+         * @param bit The number of the bit of the slot.
+         * @param slot The new slot.
+         * @param delta The change of the number of leaves.
+         * @return The new node.
+         */
+        private Node replaced(final int bit, final Object slot, final int delta) {
+            final Object[] copy = this.slots.clone();
+            copy[Integer.bitCount(this.bitmap & (1 << bit) - 1)] = slot;
+            return new Node(this.bitmap, copy, this.count + delta);
+        }
+
+        /**
+         * Makes the node without a slot.
+         * @param bit The number of the bit of the slot.
+         * @return The new node.
+         */
+        private Node deleted(final int bit) {
+            final int pos = Integer.bitCount(this.bitmap & (1 << bit) - 1);
+            final Object[] copy = new Object[this.slots.length - 1];
+            System.arraycopy(this.slots, 0, copy, 0, pos);
+            System.arraycopy(this.slots, pos + 1, copy, pos, copy.length - pos);
+            return new Node(this.bitmap & ~(1 << bit), copy, this.count - 1);
+        }
+    }
+
+    /**
+     * The iterator over leaves of a trie, depth first.
+     * @since 0.1.0
+     */
+    private static final class Walk implements Iterator<Leaf> {
+
+        /**
+         * Nodes on the path from the root, the deepest is the last.
+         */
+        private final Node[] path;
+
+        /**
+         * Positions of the next slots in the nodes on the path.
+         */
+        private final int[] positions;
+
+        /**
+         * The number of nodes on the path.
+         */
+        private int depth;
+
+        /**
+         * Constructor.
+         * @param root The root of the trie.
+         */
+        Walk(final Node root) {
+            this.path = Walk.start(root);
+            this.positions = new int[this.path.length];
+            this.depth = 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.depth > 0
+                && this.positions[this.depth - 1] == this.path[this.depth - 1].slots.length) {
+                this.depth -= 1;
+            }
+            return this.depth > 0;
+        }
+
+        @Override
+        public Leaf next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("There are no more objects in the box");
+            }
+            Object slot = this.step();
+            while (slot instanceof Node) {
+                this.path[this.depth] = (Node) slot;
+                this.positions[this.depth] = 0;
+                this.depth += 1;
+                slot = this.step();
+            }
+            return (Leaf) slot;
+        }
+
+        /**
+         * Takes the next slot of the deepest node on the path.
+         * @return The slot.
+         */
+        private Object step() {
+            final int top = this.depth - 1;
+            final Object slot = this.path[top].slots[this.positions[top]];
+            this.positions[top] += 1;
+            return slot;
+        }
+
+        /**
+         * Makes the path with the root only.
+         * @param root The root.
+         * @return The path, long enough for the deepest trie.
+         */
+        private static Node[] start(final Node root) {
+            final Node[] path = new Node[Integer.SIZE / PersistentBox.BITS + 2];
+            path[0] = root;
+            return path;
+        }
+    }
+
+    /**
+     * The unmodifiable map view of a box.
+     * @since 0.1.0
+     */
+    private static final class Content extends AbstractMap<String, Map<String, Entity>> {
+
+        /**
+         * The box.
+         */
+        private final PersistentBox box;
+
+        /**
+         * Constructor.
+         * @param box The box.
+         */
+        Content(final PersistentBox box) {
+            super();
+            this.box = box;
+        }
+
+        @Override
+        public Set<Entry<String, Map<String, Entity>>> entrySet() {
+            return new AbstractSet<Entry<String, Map<String, Entity>>>() {
+                @Override
+                public Iterator<Entry<String, Map<String, Entity>>> iterator() {
+                    return new Entries(Content.this.box);
+                }
+
+                @Override
+                public int size() {
+                    return Content.this.box.size();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.box.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof String && this.box.get((String) key) != null;
+        }
+
+        @Override
+        public Map<String, Entity> get(final Object key) {
+            Map<String, Entity> result = null;
+            if (key instanceof String) {
+                result = this.box.get((String) key);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The iterator over objects of a box by names.
+     * @since 0.1.0
+     */
+    private static final class Entries implements Iterator<Map.Entry<String, Map<String, Entity>>> {
+
+        /**
+         * The box.
+         */
+        private final PersistentBox box;
+
+        /**
+         * The iterator over leaves.
+         */
+        private final Walk walk;
+
+        /**
+         * Constructor.
+         * @param box The box.
+         */
+        Entries(final PersistentBox box) {
+            this.box = box;
+            this.walk = new Walk(box.root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.walk.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Map<String, Entity>> next() {
+            final Leaf leaf = this.walk.next();
+            return new AbstractMap.SimpleImmutableEntry<>(
+                this.box.table.name(leaf.id), leaf.bindings
+            );
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.Objects;
+
+/**
+ * This class represents a reference to an object from a binding of
+ * another object.
+ * @since 0.1.0
+ */
+public final class Reference {
+
+    /**
+     * The identifier of the name of the referring object.
+     */
+    private final int object;
+
+    /**
+     * The attribute of the binding.
+     */
+    private final String attribute;
+
+    /**
+     * Constructor.
+     * @param object The identifier of the name of the referring object.
+     * @param attribute The attribute of the binding.
+     */
+    public Reference(final int object, final String attribute) {
+        this.object = object;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Returns the identifier of the name of the referring object.
+     * @return The identifier.
+     */
+    public int getObject() {
+        return this.object;
+    }
+
+    /**
+     * Returns the attribute of the binding.
+     * @return The attribute.
+     */
+    public String getAttribute() {
+        return this.attribute;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Reference
+            && this.object == ((Reference) other).object
+            && this.attribute.equals(((Reference) other).attribute);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.object, this.attribute);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d.%s", this.object, this.attribute);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class represents the reverse index of references between objects
+ * of an {@link ObjectsBox}.
+ * <p>
+ * For every object it keeps the bindings which refer to it through
+ * references like {@code νK(ξ)} and applications like {@code νK( … )},
+ * nested applications included. It is built by {@link ObjectsBox#referrers()}
+ * and kept consistent by the changes the box reports, so a query costs
+ * time proportional to its result. Locators are not indexed, since they
+ * lead to objects only through the parents known at dataization. The index
+ * is safe to update from several threads, even when they change one object
+ * by {@link ObjectsBox#replace(int, Map, Map)} and report the changes in
+ * another order than they were made: changes of one object are applied one
+ * at a time under a lock striped by the object, and every change indexes
+ * the bindings the object has in the box at that moment rather than the
+ * bindings reported, so the last change applied leaves the latest bindings.
+ * @since 0.1.0
+ */
+public final class Referrers implements Listener {
+
+    /**
+     * The number of locks objects are spread over.
+     */
+    private static final int STRIPES = 64;
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The names of objects.
+     */
+    private final Symbols table;
+
+    /**
+     * The locks of changes of objects, by identifiers of their names.
+     */
+    private final Object[] stripes;
+
+    /**
+     * References to objects by the identifiers of their names.
+     */
+    private final Map<Integer, Set<Reference>> index;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    Referrers(final ObjectsBox box) {
+        this.box = box;
+        this.table = box.symbols();
+        this.index = new ConcurrentHashMap<>();
+        this.stripes = Referrers.locks();
+    }
+
+    /**
+     * Finds the bindings referring to an object.
+     * @param id The identifier of the name of the object.
+     * @return The references, a live view.
+     */
+    public Collection<Reference> find(final int id) {
+        final Set<Reference> found = this.index.get(id);
+        final Collection<Reference> result;
+        if (found == null) {
+            result = Collections.emptySet();
+        } else {
+            result = Collections.unmodifiableSet(found);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the bindings referring to an object.
+     * @param name The name of the object.
+     * @return The references, a live view.
+     */
+    public Collection<Reference> find(final String name) {
+        final int id = this.table.find(name);
+        final Collection<Reference> result;
+        if (id == Symbols.ABSENT) {
+            result = Collections.emptySet();
+        } else {
+            result = this.find(id);
+        }
+        return result;
+    }
+
+    @Override
+    public void changed(
+        final int id, final Map<String, Entity> before, final Map<String, Entity> after
+    ) {
+        synchronized (this.stripes[id % Referrers.STRIPES]) {
+            if (before != null) {
+                for (final Map.Entry<String, Entity> binding : before.entrySet()) {
+                    this.unlink(new Reference(id, binding.getKey()), binding.getValue());
+                }
+            }
+            final Map<String, Entity> current = this.box.get(id);
+            if (current != null) {
+                this.add(id, current);
+            }
+        }
+    }
+
+    /**
+     * Indexes the bindings of an object.
+     * @param id The identifier of the name of the object.
+     * @param bindings The bindings.
+     */
+    void add(final int id, final Map<String, Entity> bindings) {
+        for (final Map.Entry<String, Entity> binding : bindings.entrySet()) {
+            final Reference reference = new Reference(id, binding.getKey());
+            for (final int target : this.targets(binding.getValue())) {
+                this.index.computeIfAbsent(
+                    target, key -> ConcurrentHashMap.newKeySet(4)
+                ).add(reference);
+            }
+        }
+    }
+
+    /**
+     * Removes a binding from the index.
+     * @param reference The binding.
+     * @param entity The entity of the binding.
+     */
+    private void unlink(final Reference reference, final Entity entity) {
+        for (final int target : this.targets(entity)) {
+            final Set<Reference> found = this.index.get(target);
+            if (found != null) {
+                found.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * Collects objects referred to from an entity, applications included.
+     * @param entity The entity.
+     * @return Identifiers of the names of the objects.
+     */
+    private List<Integer> targets(final Entity entity) {
+        final List<Integer> targets = new ArrayList<>(1);
+        final List<Entity> scans = new ArrayList<>(1);
+        scans.add(entity);
+        while (!scans.isEmpty()) {
+            final Entity next = scans.remove(scans.size() - 1);
+            if (next instanceof FlatObject) {
+                final FlatObject flat = (FlatObject) next;
+                targets.add(this.identifier(flat.getId(), flat.getName()));
+            } else if (next instanceof NestedObject) {
+                final NestedObject nested = (NestedObject) next;
+                targets.add(this.identifier(nested.getId(), nested.getName()));
+                scans.addAll(nested.getApplication().values());
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Returns the identifier of the name of a referred object.
+     * @param id The identifier known to the entity, maybe {@link Symbols#ABSENT}.
+     * @param name The name of the object.
+     * @return The identifier.
+     */
+    private int identifier(final int id, final String name) {
+        int result = id;
+        if (result == Symbols.ABSENT) {
+            result = this.table.intern(name);
+        }
+        return result;
+    }
+
+    /**
+     * Makes the locks of changes of objects.
+     * @return The locks.
+     */
+    private static Object[] locks() {
+        final Object[] locks = new Object[Referrers.STRIPES];
+        for (int idx = 0; idx < locks.length; idx += 1) {
+            locks[idx] = new Object();
+        }
+        return locks;
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.Locator;
+
+/**
+ * This class represents the resolver of the objects entities refer to.
+ * <p>
+ * An entity bound in a frame leads either to data or to the frame of an
+ * object. A locator goes up the parents of the frame and then follows the
+ * attributes of its path; an attribute missing in an object is looked up
+ * in its decoratee {@code 𝜑}, and an attribute bound to a locator is
+ * followed further. Locators met on the way are kept on an explicit stack,
+ * so long chains of decoratees do not grow the JVM stack. The target of
+ * every locator followed in a frame is memoized, so resolving does not
+ * allocate once the result is known, and a locator met again in the same
+ * frame while it is being followed is reported as a cycle.
+ * <p>
+ * Targets are packed into {@code long}: a frame as is, or data with the
+ * {@link #DATA} bit set and the value in the low half. The box must not be
+ * changed while the resolver is in use. The class is not thread-safe.
+ * @since 0.1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class Resolver {
+
+    /**
+     * The bit of targets that are data.
+     */
+    public static final long DATA = 1L << 32;
+
+    /**
+     * The memoized state of a locator being followed.
+     */
+    private static final long PENDING = -1L;
+
+    /**
+     * The name of the decoratee attribute.
+     */
+    private static final String PHI = "𝜑";
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The frames of objects.
+     */
+    private final Frames frames;
+
+    /**
+     * The memo of targets.
+     */
+    private final Memo memo;
+
+    /**
+     * Locators being followed.
+     */
+    private Locator[] locators;
+
+    /**
+     * The frames locators being followed are bound in.
+     */
+    private int[] owners;
+
+    /**
+     * The positions of the next attribute of locators being followed.
+     */
+    private int[] steps;
+
+    /**
+     * Where locators being followed are now.
+     */
+    private long[] targets;
+
+    /**
+     * The numbers of decoratees the next attribute of locators being
+     * followed is looked up in.
+     */
+    private int[] hops;
+
+    /**
+     * Whether a locator being followed is the value of an attribute of the
+     * locator below it, rather than its decoratee.
+     */
+    private boolean[] bound;
+
+    /**
+     * The number of locators being followed.
+     */
+    private int depth;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param frames The frames of objects.
+     */
+    public Resolver(final ObjectsBox box, final Frames frames) {
+        this.box = box;
+        this.frames = frames;
+        this.memo = new Memo();
+        this.locators = new Locator[16];
+        this.owners = new int[16];
+        this.steps = new int[16];
+        this.targets = new long[16];
+        this.hops = new int[16];
+        this.bound = new boolean[16];
+    }
+
+    /**
+     * Finds what an entity bound in a frame leads to.
+     * @param entity The entity.
+     * @param owner The frame the entity is bound in.
+     * @return The target.
+     */
+    public long target(final Entity entity, final int owner) {
+        final long result;
+        if (entity instanceof Locator) {
+            result = this.resolve(owner, (Locator) entity);
+        } else {
+            result = this.direct(entity, owner);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a locator in a frame.
+     * @param frame The frame the locator is bound in.
+     * @param locator The locator.
+     * @return The target.
+     */
+    public long resolve(final int frame, final Locator locator) {
+        this.forget();
+        long result = this.memo.get(frame, locator);
+        if (result == Memo.UNKNOWN) {
+            result = this.follow(locator, frame);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the bindings of the object of a frame.
+     * @param frame The frame.
+     * @return The bindings.
+     */
+    public Map<String, Entity> bindings(final int frame) {
+        final int object = this.frames.object(frame);
+        final Map<String, Entity> bindings = this.box.get(object);
+        if (bindings == null) {
+            throw new IllegalArgumentException(
+                String.format("There is no object %s", this.box.symbols().name(object))
+            );
+        }
+        return bindings;
+    }
+
+    /**
+     * Follows a locator which is not memoized.
+     * @param locator The locator.
+     * @param owner The frame the locator is bound in.
+     * @return The target.
+     */
+    private long follow(final Locator locator, final int owner) {
+        this.push(locator, owner, false);
+        long result = 0;
+        while (this.depth > 0) {
+            final int top = this.depth - 1;
+            if (this.steps[top] == this.locators[top].getLength()) {
+                result = this.targets[top];
+                this.memo.put(this.owners[top], this.locators[top], result);
+                this.depth -= 1;
+                this.deliver(result, this.bound[top]);
+            } else {
+                this.advance(top);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Looks the next attribute of a locator up.
+     * @param top The position of the locator on the stack.
+     */
+    private void advance(final int top) {
+        final long target = this.targets[top];
+        if ((target & Resolver.DATA) != 0 || target == Frames.ROOT) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "The locator %s goes through data or above the outermost object",
+                    this.locators[top]
+                )
+            );
+        }
+        final Map<String, Entity> bindings = this.bindings((int) target);
+        final String name = this.locators[top].getName(this.steps[top]);
+        Entity entity = bindings.get(name);
+        final boolean found = entity != null;
+        if (!found) {
+            entity = bindings.get(Resolver.PHI);
+            this.hop(top);
+        }
+        if (entity == null) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "There is no attribute %s of the locator %s", name, this.locators[top]
+                )
+            );
+        }
+        if (entity instanceof Locator) {
+            this.enter((Locator) entity, (int) target, found);
+        } else {
+            this.deliver(this.direct(entity, (int) target), found);
+        }
+    }
+
+    /**
+     * Counts a decoratee the next attribute of a locator is looked up in.
+     * <p>
+     * The decoratees are looked up in frames which are opened already, so
+     * if there are more of them than frames, some frame is met twice and
+     * the lookup never ends.
+     * @param top The position of the locator on the stack.
+     */
+    private void hop(final int top) {
+        this.hops[top] += 1;
+        if (this.hops[top] > this.frames.count()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "The locator %s looks the attribute %s up in a cycle of decoratees",
+                    this.locators[top], this.locators[top].getName(this.steps[top])
+                )
+            );
+        }
+    }
+
+    /**
+     * Follows a locator met on the way, unless its target is memoized.
+     * @param locator The locator.
+     * @param owner The frame the locator is bound in.
+     * @param attribute Whether the locator is the value of an attribute.
+     */
+    private void enter(final Locator locator, final int owner, final boolean attribute) {
+        final long known = this.memo.get(owner, locator);
+        if (known == Resolver.PENDING) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "The locator %s leads to itself in the object %s",
+                    locator, this.box.symbols().name(this.frames.object(owner))
+                )
+            );
+        }
+        if (known == Memo.UNKNOWN) {
+            this.push(locator, owner, attribute);
+        } else {
+            this.deliver(known, attribute);
+        }
+    }
+
+    /**
+     * Passes a target to the locator on the top of the stack.
+     * @param target The target.
+     * @param attribute Whether the target is the value of the attribute
+     *  looked up, rather than the decoratee to look it up in.
+     */
+    private void deliver(final long target, final boolean attribute) {
+        if (this.depth > 0) {
+            final int top = this.depth - 1;
+            this.targets[top] = target;
+            if (attribute) {
+                this.steps[top] += 1;
+                this.hops[top] = 0;
+            }
+        }
+    }
+
+    /**
+     * Starts following a locator.
+     * @param locator The locator.
+     * @param owner The frame the locator is bound in.
+     * @param attribute Whether the locator is the value of an attribute.
+     */
+    private void push(final Locator locator, final int owner, final boolean attribute) {
+        if (this.depth == this.locators.length) {
+            this.grow();
+        }
+        this.locators[this.depth] = locator;
+        this.owners[this.depth] = owner;
+        this.steps[this.depth] = 0;
+        this.targets[this.depth] = this.ancestor(owner, locator.getParents());
+        this.hops[this.depth] = 0;
+        this.bound[this.depth] = attribute;
+        this.depth += 1;
+        this.memo.put(owner, locator, Resolver.PENDING);
+    }
+
+    /**
+     * Doubles the stack of locators being followed.
+     */
+    private void grow() {
+        final int size = this.depth * 2;
+        this.locators = Arrays.copyOf(this.locators, size);
+        this.owners = Arrays.copyOf(this.owners, size);
+        this.steps = Arrays.copyOf(this.steps, size);
+        this.targets = Arrays.copyOf(this.targets, size);
+        this.hops = Arrays.copyOf(this.hops, size);
+        this.bound = Arrays.copyOf(this.bound, size);
+    }
+
+    /**
+     * Forgets locators left on the stack when following failed.
+     */
+    private void forget() {
+        while (this.depth > 0) {
+            this.depth -= 1;
+            this.memo.put(this.owners[this.depth], this.locators[this.depth], Memo.UNKNOWN);
+        }
+    }
+
+    /**
+     * Finds what an entity other than a locator leads to.
+     * @param entity The entity.
+     * @param owner The frame the entity is bound in.
+     * @return The target.
+     */
+    private long direct(final Entity entity, final int owner) {
+        final long result;
+        if (entity instanceof Data) {
+            result = Resolver.DATA | ((Data) entity).getValue() & 0xFFFF_FFFFL;
+        } else if (entity instanceof FlatObject) {
+            final FlatObject flat = (FlatObject) entity;
+            int object = flat.getId();
+            if (object == Symbols.ABSENT) {
+                object = this.box.symbols().intern(flat.getName());
+            }
+            int parent = Frames.ROOT;
+            if (flat.getParents() >= 0) {
+                parent = this.ancestor(owner, flat.getParents());
+            }
+            result = this.frames.open(object, parent);
+        } else {
+            throw new IllegalArgumentException(
+                String.format("The entity %s is neither data nor an object", entity)
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Goes up the parents of a frame.
+     * @param frame The frame.
+     * @param count The number of parents to go up.
+     * @return The frame of the parent or {@link Frames#ROOT} if it goes above
+     *  the outermost frame.
+     */
+    private int ancestor(final int frame, final int count) {
+        int result = frame;
+        for (int step = 0; step < count && result != Frames.ROOT; step += 1) {
+            result = this.frames.parent(result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.objectionary.atoms.Atoms;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Empty;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.Flyweights;
+import org.objectionary.entities.Lambda;
+import org.objectionary.entities.Locator;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class reads an {@link ObjectsBox} written by
+ * {@link ObjectsBox#writeBinary(java.nio.channels.WritableByteChannel)}.
+ * <p>
+ * The format is: the magic bytes {@code FLTY} and the version byte,
+ * the table of all strings as a count followed by UTF-8 strings with their
+ * lengths, and the objects as a count followed by a reference to the name
+ * and the bindings of every object. Bindings are a count followed by the
+ * index of the attribute name in the string table and a one-byte tag of the
+ * entity with its payload. References to objects are {@code 2N} for
+ * {@code νN} and {@code 2S + 1} for other names. All numbers are
+ * unsigned varints, data values are zigzag-encoded before that.
+ * @since 0.1.0
+ */
+public final class Snapshot {
+
+    /**
+     * The magic bytes.
+     */
+    static final byte[] MAGIC = {'F', 'L', 'T', 'Y'};
+
+    /**
+     * The version of the format.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * The tag of {@link Empty}.
+     */
+    static final byte EMPTY = 0;
+
+    /**
+     * The tag of {@link Data}.
+     */
+    static final byte DATA = 1;
+
+    /**
+     * The tag of {@link Locator}.
+     */
+    static final byte LOCATOR = 2;
+
+    /**
+     * The tag of {@link Lambda}.
+     */
+    static final byte LAMBDA = 3;
+
+    /**
+     * The tag of {@link FlatObject}.
+     */
+    static final byte FLAT = 4;
+
+    /**
+     * The tag of {@link NestedObject}.
+     */
+    static final byte NESTED = 5;
+
+    /**
+     * The size of input and output buffers.
+     */
+    static final int BUFFER = 1 << 16;
+
+    /**
+     * The largest number of items space is reserved for before they are read,
+     * so a broken count does not take all the memory.
+     */
+    private static final int PLAUSIBLE = 1 << 16;
+
+    /**
+     * The input.
+     */
+    private final BinaryInput input;
+
+    /**
+     * Constructor.
+     * @param input The stream to read from.
+     */
+    public Snapshot(final InputStream input) {
+        this(Channels.newChannel(input));
+    }
+
+    /**
+     * Constructor.
+     * @param channel The channel to read from.
+     */
+    public Snapshot(final ReadableByteChannel channel) {
+        this.input = new BinaryInput(channel, Snapshot.BUFFER);
+    }
+
+    /**
+     * Reads the box.
+     * @return The box.
+     * @throws IOException If fails to read or the format is wrong.
+     */
+    public ObjectsBox box() throws IOException {
+        return this.box(Atoms.STANDARD);
+    }
+
+    /**
+     * Reads the box.
+     * @param atoms The atoms to resolve lambdas of the box to.
+     * @return The box.
+     * @throws IOException If fails to read or the format is wrong.
+     */
+    public ObjectsBox box(final Atoms atoms) throws IOException {
+        for (final byte expected : Snapshot.MAGIC) {
+            if (this.input.next() != expected) {
+                throw new IOException("This is not a snapshot of objects box");
+            }
+        }
+        final byte version = this.input.next();
+        if (version != Snapshot.VERSION) {
+            throw new IOException(
+                String.format("Unsupported version %d of snapshot", version)
+            );
+        }
+        final ObjectsBox box = new ObjectsBox(new Symbols(), atoms);
+        final Names names = new Names(box.flyweights(), this.strings());
+        final int count = this.input.count();
+        for (int idx = 0; idx < count; idx += 1) {
+            final int id = names.reference(this.input.varint());
+            box.put(id, this.bindings(names));
+        }
+        return box;
+    }
+
+    /**
+     * Reads the string table.
+     * @return The strings.
+     * @throws IOException If fails to read.
+     */
+    private String[] strings() throws IOException {
+        final int count = this.input.count();
+        String[] strings = new String[Math.min(count, Snapshot.PLAUSIBLE)];
+        byte[] bytes = new byte[64];
+        for (int idx = 0; idx < count; idx += 1) {
+            final int length = this.input.count();
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            this.input.next(bytes, length);
+            if (idx == strings.length) {
+                strings = Arrays.copyOf(strings, Math.max(idx * 2, 1));
+            }
+            strings[idx] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return Arrays.copyOf(strings, count);
+    }
+
+    /**
+     * Reads bindings.
+     * @param names The names.
+     * @return The bindings in the written order.
+     * @throws IOException If fails to read.
+     */
+    private Map<String, Entity> bindings(final Names names) throws IOException {
+        final int count = this.input.count();
+        final Map<String, Entity> bindings = new LinkedHashMap<>(
+            Math.min(count, Snapshot.PLAUSIBLE) * 4 / 3 + 1
+        );
+        for (int idx = 0; idx < count; idx += 1) {
+            final String attribute = names.canonical(this.input.count());
+            bindings.put(attribute, this.entity(names));
+        }
+        return bindings;
+    }
+
+    /**
+     * Reads an entity by its tag.
+     * @param names The names.
+     * @return The entity.
+     * @throws IOException If fails to read.
+     */
+    private Entity entity(final Names names) throws IOException {
+        final byte tag = this.input.next();
+        final Entity entity;
+        switch (tag) {
+            case Snapshot.EMPTY:
+                entity = names.flyweights().empty();
+                break;
+            case Snapshot.DATA:
+                final long zigzag = this.input.varint();
+                entity = names.flyweights().data((int) (zigzag >>> 1) ^ -(int) (zigzag & 1));
+                break;
+            case Snapshot.LOCATOR:
+                entity = names.flyweights().locator(names.string(this.input.count()));
+                break;
+            case Snapshot.LAMBDA:
+                entity = names.flyweights().lambda(names.string(this.input.count()));
+                break;
+            case Snapshot.FLAT:
+                final int flat = names.reference(this.input.varint());
+                entity = names.flyweights().flat(flat, names.string(this.input.count()));
+                break;
+            case Snapshot.NESTED:
+                final int nested = names.reference(this.input.varint());
+                entity = new NestedObject(
+                    names.flyweights().symbols(), nested, this.bindings(names)
+                );
+                break;
+            default:
+                throw new IOException(String.format("Unknown entity tag %d", tag));
+        }
+        return entity;
+    }
+
+    /**
+     * Names read from the string table and references to objects.
+     * @since 0.1.0
+     */
+    private static final class Names {
+
+        /**
+         * The symbols of the box.
+         */
+        private final Symbols table;
+
+        /**
+         * The canonical instances of entities of the box.
+         */
+        private final Flyweights pool;
+
+        /**
+         * The string table.
+         */
+        private final String[] strings;
+
+        /**
+         * Identifiers of canonical strings by index in the string table, plus one.
+         */
+        private final int[] canonicals;
+
+        /**
+         * Identifiers of the names {@code νN} by small {@code N}, plus one.
+         */
+        private int[] indexes;
+
+        /**
+         * Identifiers of the names {@code νN} by large {@code N}.
+         */
+        private final Map<Integer, Integer> sparse;
+
+        /**
+         * Constructor.
+         * @param flyweights The canonical instances of entities of the box.
+         * @param strings The string table.
+         */
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Names(final Flyweights flyweights, final String... strings) {
+            this.table = flyweights.symbols();
+            this.pool = flyweights;
+            this.strings = strings;
+            this.canonicals = new int[strings.length];
+            this.indexes = new int[1024];
+            this.sparse = new HashMap<>(0);
+        }
+
+        /**
+         * Gets the canonical instances of entities of the box.
+         * @return The flyweights.
+         */
+        Flyweights flyweights() {
+            return this.pool;
+        }
+
+        /**
+         * Gets a string from the string table.
+         * @param index The index of the string.
+         * @return The string.
+         * @throws IOException If there is no such string.
+         */
+        String string(final int index) throws IOException {
+            if (index < 0 || index >= this.strings.length) {
+                throw new IOException(String.format("There is no string %d", index));
+            }
+            return this.strings[index];
+        }
+
+        /**
+         * Gets a string from the string table interned in the symbols.
+         * @param index The index of the string.
+         * @return The canonical string.
+         * @throws IOException If there is no such string.
+         */
+        String canonical(final int index) throws IOException {
+            return this.table.name(this.intern(index));
+        }
+
+        /**
+         * Gets the identifier of the name of a referenced object.
+         * @param reference The reference.
+         * @return The identifier in the symbols.
+         * @throws IOException If there is no such string.
+         */
+        int reference(final long reference) throws IOException {
+            final long index = reference >>> 1;
+            if (index > Integer.MAX_VALUE) {
+                throw new IOException(String.format("The index %d is too big", index));
+            }
+            final int result;
+            if ((reference & 1L) == 0) {
+                result = this.object((int) index);
+            } else {
+                result = this.intern((int) index);
+            }
+            return result;
+        }
+
+        /**
+         * Interns a string from the string table.
+         * @param index The index of the string.
+         * @return The identifier.
+         * @throws IOException If there is no such string.
+         */
+        private int intern(final int index) throws IOException {
+            final String string = this.string(index);
+            if (this.canonicals[index] == 0) {
+                this.canonicals[index] = this.table.intern(string) + 1;
+            }
+            return this.canonicals[index] - 1;
+        }
+
+        /**
+         * Interns the name {@code νN}.
+         * <p>
+         * Identifiers are kept in an array while the indexes are dense enough
+         * to grow it by doubling, and in a map beyond that, so a single huge
+         * index takes no more memory than a small one.
+         * @param index The index {@code N}.
+         * @return The identifier.
+         */
+        private int object(final int index) {
+            final int result;
+            if (index < this.indexes.length * 2) {
+                if (index >= this.indexes.length) {
+                    this.indexes = Arrays.copyOf(this.indexes, this.indexes.length * 2);
+                }
+                if (this.indexes[index] == 0) {
+                    this.indexes[index] = this.table.intern(Symbols.object(index)) + 1;
+                }
+                result = this.indexes[index] - 1;
+            } else {
+                result = this.sparse.computeIfAbsent(
+                    index, key -> this.table.intern(Symbols.object(key))
+                );
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.Lambda;
+import org.objectionary.entities.Locator;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class writes an {@link ObjectsBox} in the binary format of {@link Snapshot}.
+ * @since 0.1.0
+ */
+final class SnapshotWriter {
+
+    /**
+     * The output.
+     */
+    private final BinaryOutput output;
+
+    /**
+     * Indexes of strings in the string table.
+     */
+    private final Map<String, Integer> strings;
+
+    /**
+     * Constructor.
+     * @param channel The channel to write to.
+     */
+    SnapshotWriter(final WritableByteChannel channel) {
+        this.output = new BinaryOutput(channel, Snapshot.BUFFER);
+        this.strings = new HashMap<>();
+    }
+
+    /**
+     * Writes the box.
+     * @param box The box.
+     * @throws IOException If fails to write.
+     */
+    void write(final ObjectsBox box) throws IOException {
+        final List<Map.Entry<String, Map<String, Entity>>> objects =
+            new ArrayList<>(box.content().entrySet());
+        for (final Map.Entry<String, Map<String, Entity>> object : objects) {
+            this.name(object.getKey());
+            this.collect(object.getValue());
+        }
+        this.output.put(Snapshot.MAGIC);
+        this.output.put(Snapshot.VERSION);
+        final String[] table = new String[this.strings.size()];
+        for (final Map.Entry<String, Integer> entry : this.strings.entrySet()) {
+            table[entry.getValue()] = entry.getKey();
+        }
+        this.output.varint(table.length);
+        for (final String string : table) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            this.output.varint(bytes.length);
+            this.output.put(bytes);
+        }
+        this.output.varint(objects.size());
+        for (final Map.Entry<String, Map<String, Entity>> object : objects) {
+            this.reference(object.getKey());
+            this.bindings(object.getValue());
+        }
+        this.output.flush();
+    }
+
+    /**
+     * Adds all strings of the bindings to the string table.
+     * @param bindings The bindings.
+     */
+    private void collect(final Map<String, Entity> bindings) {
+        for (final Map.Entry<String, Entity> binding : bindings.entrySet()) {
+            this.string(binding.getKey());
+            final Entity entity = binding.getValue();
+            if (entity instanceof Locator) {
+                this.string(((Locator) entity).getPath());
+            } else if (entity instanceof Lambda) {
+                this.string(((Lambda) entity).getFunction());
+            } else if (entity instanceof FlatObject) {
+                this.name(((FlatObject) entity).getName());
+                this.string(((FlatObject) entity).getLocator());
+            } else if (entity instanceof NestedObject) {
+                this.name(((NestedObject) entity).getName());
+                this.collect(((NestedObject) entity).getApplication());
+            }
+        }
+    }
+
+    /**
+     * Adds the name of an object to the string table unless it is {@code νN}.
+     * @param name The name.
+     */
+    private void name(final String name) {
+        if (Symbols.index(name) == Symbols.ABSENT) {
+            this.string(name);
+        }
+    }
+
+    /**
+     * Adds the string to the string table.
+     * @param string The string.
+     * @return The index of the string in the table.
+     */
+    private int string(final String string) {
+        Integer index = this.strings.get(string);
+        if (index == null) {
+            index = this.strings.size();
+            this.strings.put(string, index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes bindings.
+     * @param bindings The bindings.
+     * @throws IOException If fails to write.
+     */
+    private void bindings(final Map<String, Entity> bindings) throws IOException {
+        this.output.varint(bindings.size());
+        for (final Map.Entry<String, Entity> binding : bindings.entrySet()) {
+            this.output.varint(this.string(binding.getKey()));
+            this.entity(binding.getValue());
+        }
+    }
+
+    /**
+     * Writes an entity with its tag.
+     * @param entity The entity.
+     * @throws IOException If fails to write.
+     */
+    private void entity(final Entity entity) throws IOException {
+        if (entity instanceof Data) {
+            this.output.put(Snapshot.DATA);
+            final int value = ((Data) entity).getValue();
+            this.output.varint(((value << 1) ^ (value >> 31)) & 0xFFFF_FFFFL);
+        } else if (entity instanceof Locator) {
+            this.output.put(Snapshot.LOCATOR);
+            this.output.varint(this.string(((Locator) entity).getPath()));
+        } else if (entity instanceof Lambda) {
+            this.output.put(Snapshot.LAMBDA);
+            this.output.varint(this.string(((Lambda) entity).getFunction()));
+        } else if (entity instanceof FlatObject) {
+            this.output.put(Snapshot.FLAT);
+            this.reference(((FlatObject) entity).getName());
+            this.output.varint(this.string(((FlatObject) entity).getLocator()));
+        } else if (entity instanceof NestedObject) {
+            this.output.put(Snapshot.NESTED);
+            this.reference(((NestedObject) entity).getName());
+            this.bindings(((NestedObject) entity).getApplication());
+        } else {
+            this.output.put(Snapshot.EMPTY);
+        }
+    }
+
+    /**
+     * Writes a reference to an object: {@code 2N} for {@code νN}
+     * and {@code 2S + 1} for other names, where {@code S} is the index
+     * of the name in the string table.
+     * @param name The name of the object.
+     * @throws IOException If fails to write.
+     */
+    private void reference(final String name) throws IOException {
+        final int index = Symbols.index(name);
+        if (index == Symbols.ABSENT) {
+            this.output.varint(((long) this.string(name) << 1) | 1L);
+        } else {
+            this.output.varint((long) index << 1);
+        }
+    }
+}
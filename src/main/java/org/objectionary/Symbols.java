@@ -0,0 +1,220 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class represents the table of interned names.
+ * <p>
+ * Every distinct name of an object or an attribute gets a dense
+ * {@code int} identifier and one canonical {@link String} instance,
+ * so equal names are stored once and can be compared by identifier.
+ * For names of the form {@code νN} the table also remembers the number
+ * {@code N}, which is the index of the object in {@link ObjectsBox}.
+ * The table is safe to use from several threads at once.
+ * @since 0.1.0
+ */
+public final class Symbols {
+
+    /**
+     * The identifier of a name which is not in the table.
+     */
+    public static final int ABSENT = -1;
+
+    /**
+     * Identifiers by names.
+     */
+    private final ConcurrentMap<String, Integer> ids;
+
+    /**
+     * Names by identifiers.
+     */
+    private volatile String[] names;
+
+    /**
+     * Indexes of objects by identifiers.
+     */
+    private volatile int[] indexes;
+
+    /**
+     * The number of names.
+     */
+    private volatile int total;
+
+    /**
+     * Constructor.
+     */
+    public Symbols() {
+        this.ids = new ConcurrentHashMap<>();
+        this.names = new String[16];
+        this.indexes = new int[16];
+    }
+
+    /**
+     * Gets the identifier of the name, adding the name if it is new.
+     * @param name The name.
+     * @return The identifier.
+     */
+    public int intern(final String name) {
+        Integer id = this.ids.get(name);
+        if (id == null) {
+            id = this.ids.computeIfAbsent(name, this::register);
+        }
+        return id;
+    }
+
+    /**
+     * Finds the identifier of the name without adding it.
+     * @param name The name.
+     * @return The identifier or {@link #ABSENT}.
+     */
+    public int find(final String name) {
+        final Integer id = this.ids.get(name);
+        final int result;
+        if (id == null) {
+            result = Symbols.ABSENT;
+        } else {
+            result = id;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the canonical instance of the name, adding the name if it is new.
+     * @param name The name.
+     * @return The canonical instance.
+     */
+    public String canonical(final String name) {
+        return this.name(this.intern(name));
+    }
+
+    /**
+     * Gets the name by identifier.
+     * @param id The identifier.
+     * @return The name.
+     */
+    public String name(final int id) {
+        if (id < 0 || id >= this.total) {
+            throw new IllegalArgumentException(
+                String.format("There is no symbol with id %d", id)
+            );
+        }
+        return this.names[id];
+    }
+
+    /**
+     * Gets the index of the object by the identifier of its name.
+     * @param id The identifier.
+     * @return The number {@code N} of the name {@code νN} or {@link #ABSENT}
+     *  if the name is not of this form.
+     */
+    public int index(final int id) {
+        if (id < 0 || id >= this.total) {
+            throw new IllegalArgumentException(
+                String.format("There is no symbol with id %d", id)
+            );
+        }
+        return this.indexes[id];
+    }
+
+    /**
+     * Returns the number of names in the table.
+     * @return The number of names.
+     */
+    public int count() {
+        return this.total;
+    }
+
+    /**
+     * Parses the index of the object from its name.
+     * <p>
+     * Numbers from {@link Pages#LIMIT} on are not indexes, so objects with
+     * such names are kept by name, like all other objects.
+     * @param name The name.
+     * @return The number {@code N} of the name {@code νN} or {@link #ABSENT}
+     *  if the name is not of this form.
+     */
+    static int index(final CharSequence name) {
+        final int length = name.length();
+        int index = Symbols.ABSENT;
+        final boolean prefixed = length > 1 && length < 12 && name.charAt(0) == 'ν';
+        if (prefixed && (length == 2 || name.charAt(1) != '0')) {
+            index = Symbols.digits(name);
+        }
+        return index;
+    }
+
+    /**
+     * Makes the name of the object by its index.
+     * @param index The index of the object.
+     * @return The name {@code νN}.
+     */
+    static String object(final int index) {
+        return "ν".concat(Integer.toString(index));
+    }
+
+    /**
+     * Adds a new name to the table.
+     * @param name The name.
+     * @return The identifier.
+     */
+    private Integer register(final String name) {
+        synchronized (this.ids) {
+            final int id = this.total;
+            if (id == this.names.length) {
+                this.names = Arrays.copyOf(this.names, id * 2);
+                this.indexes = Arrays.copyOf(this.indexes, id * 2);
+            }
+            this.names[id] = name;
+            this.indexes[id] = Symbols.index(name);
+            this.total = id + 1;
+            return id;
+        }
+    }
+
+    /**
+     * Parses the decimal number after the first character of the name.
+     * @param name The name.
+     * @return The number or {@link #ABSENT} if it is not a number or it is not
+     *  below {@link Pages#LIMIT}.
+     */
+    private static int digits(final CharSequence name) {
+        long number = 0;
+        for (int pos = 1; pos < name.length() && number >= 0; pos += 1) {
+            final char digit = name.charAt(pos);
+            if (digit < '0' || digit > '9' || number > Integer.MAX_VALUE) {
+                number = Symbols.ABSENT;
+            } else {
+                number = number * 10 + digit - '0';
+            }
+        }
+        if (number >= Pages.LIMIT) {
+            number = Symbols.ABSENT;
+        }
+        return (int) number;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class is representing the writer of the text form of the box.
+ * <p>
+ * Objects are written straight to the output one by one, so the text of
+ * the whole box is never held in memory.
+ * <p>
+ * In the canonical mode the text depends only on the content of the box:
+ * objects named {@code νN} come in the order of their indexes, which is
+ * the order of the paged table of the box, then objects with other names
+ * sorted by name, and bindings of objects and applications are sorted by
+ * attribute after the data, decoratee and lambda attributes.
+ * @since 0.1.0
+ */
+final class TextWriter {
+
+    /**
+     * The name of the data attribute.
+     */
+    private static final String DELTA = "Δ";
+
+    /**
+     * The name of the decoratee attribute.
+     */
+    private static final String PHI = "𝜑";
+
+    /**
+     * The name of the lambda attribute.
+     */
+    private static final String LAMBDA = "λ";
+
+    /**
+     * The output to write to.
+     */
+    private final Appendable output;
+
+    /**
+     * Whether the text is canonical.
+     */
+    private final boolean canonical;
+
+    /**
+     * Constructor.
+     * @param output The output to write to.
+     */
+    TextWriter(final Appendable output) {
+        this(output, false);
+    }
+
+    /**
+     * Constructor.
+     * @param output The output to write to.
+     * @param canonical Whether the text is canonical.
+     */
+    TextWriter(final Appendable output, final boolean canonical) {
+        this.output = output;
+        this.canonical = canonical;
+    }
+
+    /**
+     * Writes all objects of the box, one per line.
+     * @param box The box.
+     * @throws IOException If fails to write.
+     */
+    void write(final ObjectsBox box) throws IOException {
+        final List<Map.Entry<String, Map<String, Entity>>> named = new ArrayList<>(0);
+        boolean first = true;
+        for (final Map.Entry<String, Map<String, Entity>> entry : box.content().entrySet()) {
+            if (this.canonical && Symbols.index(entry.getKey()) < 0) {
+                named.add(entry);
+                continue;
+            }
+            first = this.line(entry.getKey(), entry.getValue(), first);
+        }
+        named.sort(Map.Entry.comparingByKey());
+        for (final Map.Entry<String, Map<String, Entity>> entry : named) {
+            first = this.line(entry.getKey(), entry.getValue(), first);
+        }
+    }
+
+    /**
+     * Writes an object on its own line.
+     * @param name The name of the object.
+     * @param bindings The bindings of the object.
+     * @param first Whether no objects are written yet.
+     * @return Whether no objects are written yet after this one.
+     * @throws IOException If fails to write.
+     */
+    private boolean line(final String name, final Map<String, Entity> bindings,
+        final boolean first) throws IOException {
+        if (!first) {
+            this.output.append('\n');
+        }
+        this.object(name, bindings);
+        return false;
+    }
+
+    /**
+     * Writes an object.
+     * <p>
+     * The data, decoratee and lambda attributes go first, then the others.
+     * @param name The name of the object.
+     * @param bindings The bindings of the object.
+     * @throws IOException If fails to write.
+     */
+    private void object(final String name, final Map<String, Entity> bindings) throws IOException {
+        this.output.append(name).append("(𝜋) ↦ ⟦ ");
+        boolean first = this.binding(TextWriter.DELTA, bindings.get(TextWriter.DELTA), true);
+        first = this.binding(TextWriter.PHI, bindings.get(TextWriter.PHI), first);
+        first = this.binding(TextWriter.LAMBDA, bindings.get(TextWriter.LAMBDA), first);
+        for (final String attribute : this.attributes(bindings)) {
+            if (!TextWriter.special(attribute)) {
+                first = this.binding(attribute, bindings.get(attribute), first);
+            }
+        }
+        this.output.append(" ⟧");
+    }
+
+    /**
+     * Gets the attributes of bindings in the order to write them.
+     * @param bindings The bindings.
+     * @return The attributes, sorted in the canonical mode.
+     */
+    private Iterable<String> attributes(final Map<String, Entity> bindings) {
+        Iterable<String> result = bindings.keySet();
+        if (this.canonical && bindings.size() > 1) {
+            final List<String> sorted = new ArrayList<>(bindings.keySet());
+            Collections.sort(sorted);
+            result = sorted;
+        }
+        return result;
+    }
+
+    /**
+     * Writes an entity.
+     * @param entity The entity.
+     * @throws IOException If fails to write.
+     */
+    private void entity(final Entity entity) throws IOException {
+        if (this.canonical && entity instanceof NestedObject) {
+            final NestedObject nested = (NestedObject) entity;
+            final Map<String, Entity> application = nested.getApplication();
+            this.output.append(nested.getName()).append("( ");
+            boolean first = true;
+            for (final String attribute : this.attributes(application)) {
+                first = this.binding(attribute, application.get(attribute), first);
+            }
+            this.output.append(" )");
+        } else {
+            entity.writeTo(this.output);
+        }
+    }
+
+    /**
+     * Writes a binding if it is present.
+     * @param name The name of the attribute.
+     * @param entity The entity bound to the attribute or {@code null}.
+     * @param first Whether no bindings are written yet.
+     * @return Whether no bindings are written yet after this one.
+     * @throws IOException If fails to write.
+     */
+    private boolean binding(final String name, final Entity entity, final boolean first)
+        throws IOException {
+        boolean result = first;
+        if (entity != null) {
+            if (!first) {
+                this.output.append(", ");
+            }
+            this.output.append(name).append(" ↦ ");
+            this.entity(entity);
+            result = false;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the attribute is written before the others.
+     * @param name The name of the attribute.
+     * @return True if it is the data, decoratee or lambda attribute.
+     */
+    private static boolean special(final String name) {
+        return TextWriter.DELTA.equals(name)
+            || TextWriter.PHI.equals(name)
+            || TextWriter.LAMBDA.equals(name);
+    }
+}
@@ -23,35 +23,49 @@
  */
 package org.objectionary;
 
-import org.objectionary.tokens.ArrowToken;
-import org.objectionary.tokens.BracketToken;
-import org.objectionary.tokens.StringToken;
+import java.io.Reader;
+import org.objectionary.tokens.Lexer;
 import org.objectionary.tokens.Token;
 
 /**
  * This class is representing the tokens stream.
+ * <p>
+ * The input is scanned lazily by {@link Lexer}, so neither the whole
+ * input nor the whole list of tokens is kept in memory.
  * @since 0.1.0
  */
 public final class Tokenizer {
 
     /**
-     * The tokens.
+     * The lexer.
      */
-    private final String[] tokens;
+    private final Lexer lexer;
 
     /**
-     * The current position.
+     * Constructor.
+     *
+     * @param input The input string.
      */
-    private int position;
+    public Tokenizer(final CharSequence input) {
+        this(new Lexer(input));
+    }
 
     /**
      * Constructor.
      *
-     * @param input The input string.
+     * @param input The input reader.
+     */
+    public Tokenizer(final Reader input) {
+        this(new Lexer(input));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param lexer The lexer.
      */
-    public Tokenizer(final String input) {
-        this.tokens = input.split(" ");
-        this.position = 0;
+    public Tokenizer(final Lexer lexer) {
+        this.lexer = lexer;
     }
 
     /**
@@ -59,7 +73,16 @@ public final class Tokenizer {
      * @return True if there are more tokens.
      */
     public boolean hasNext() {
-        return this.position < this.tokens.length;
+        return this.lexer.has(0);
+    }
+
+    /**
+     * Checks if there is a token ahead.
+     * @param ahead The number of tokens to look ahead, zero is the current.
+     * @return True if there is.
+     */
+    public boolean has(final int ahead) {
+        return this.lexer.has(ahead);
     }
 
     /**
@@ -67,32 +90,22 @@ public final class Tokenizer {
      * @return The current token.
      */
     public Token getToken() {
-        final String token = this.tokens[this.position];
-        final Token result;
-        switch (token) {
-            case "↦":
-                result = new ArrowToken();
-                break;
-            case "(":
-            case "⟦":
-                result = new BracketToken(BracketToken.BracketType.OPEN);
-                break;
-            case ")":
-            case "⟧":
-                result = new BracketToken(BracketToken.BracketType.CLOSE);
-                break;
-            default:
-                result = new StringToken(token);
-                break;
-        }
-        return result;
+        return this.lexer.peek(0);
+    }
+
+    /**
+     * Returns the token after the current one without moving.
+     * @param ahead The number of tokens to look ahead, zero is the current.
+     * @return The token.
+     */
+    public Token peek(final int ahead) {
+        return this.lexer.peek(ahead);
     }
 
     /**
      * Increments the position.
      */
     public void next() {
-        this.position += 1;
+        this.lexer.next();
     }
 }
-
@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.atoms;
+
+/**
+ * This interface represents an atom, which is the implementation of a {@code λ}.
+ * <p>
+ * Arguments are the data of {@code ρ} followed by the data of {@code 𝛼0},
+ * {@code 𝛼1} and so on. Booleans are {@code 1} for true and {@code 0} for
+ * false.
+ * @since 0.1.0
+ */
+public interface Atom {
+
+    /**
+     * Gets the number of arguments the atom needs.
+     * @return The number of arguments.
+     */
+    int arity();
+
+    /**
+     * Applies the atom.
+     * @param args The arguments, at least {@link #arity()} of them.
+     * @return The result.
+     */
+    int apply(int... args);
+}
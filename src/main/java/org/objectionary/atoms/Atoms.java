@@ -0,0 +1,326 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.atoms;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * This class represents the registry of atoms by their names.
+ * <p>
+ * The registry is immutable: registering an atom gives a new registry, so
+ * {@link #STANDARD} may be shared and extended freely. Atoms on {@code int}
+ * and bool values are called with primitive arguments and never box them.
+ * A {@code λ} is resolved to its atom once, when it is parsed, so the
+ * dataization never looks atoms up by name.
+ * @since 0.1.0
+ */
+public final class Atoms {
+
+    /**
+     * The standard atoms.
+     */
+    public static final Atoms STANDARD = new Atoms()
+        .withBinary("int-add", (left, right) -> left + right)
+        .withBinary("int-sub", (left, right) -> left - right)
+        .withBinary("int-times", (left, right) -> left * right)
+        .withBinary("int-div", (left, right) -> left / right)
+        .withUnary("int-neg", value -> -value)
+        .withRelation("int-less", (left, right) -> left < right)
+        .withRelation("int-eq", (left, right) -> left == right)
+        .withPredicate("bool-not", value -> value == 0)
+        .withBinary("bool-and", (left, right) -> left & right)
+        .withBinary("bool-or", (left, right) -> left | right);
+
+    /**
+     * Atoms by names.
+     */
+    private final Map<String, Atom> registered;
+
+    /**
+     * Constructor of the empty registry.
+     */
+    public Atoms() {
+        this(new HashMap<>(0));
+    }
+
+    /**
+     * Constructor.
+     * @param atoms Atoms by names.
+     */
+    private Atoms(final Map<String, Atom> atoms) {
+        this.registered = atoms;
+    }
+
+    /**
+     * Registers an atom.
+     * @param name The name of the atom.
+     * @param atom The atom.
+     * @return The registry with the atom.
+     */
+    public Atoms with(final String name, final Atom atom) {
+        final Map<String, Atom> copy = new HashMap<>(this.registered);
+        copy.put(name, atom);
+        return new Atoms(copy);
+    }
+
+    /**
+     * Registers an atom of one {@code int} argument.
+     * @param name The name of the atom.
+     * @param operator The function of the atom.
+     * @return The registry with the atom.
+     */
+    public Atoms withUnary(final String name, final IntUnaryOperator operator) {
+        return this.with(name, new Unary(operator));
+    }
+
+    /**
+     * Registers an atom of two {@code int} arguments.
+     * @param name The name of the atom.
+     * @param operator The function of the atom.
+     * @return The registry with the atom.
+     */
+    public Atoms withBinary(final String name, final IntBinaryOperator operator) {
+        return this.with(name, new Binary(operator));
+    }
+
+    /**
+     * Registers a bool atom of one argument.
+     * @param name The name of the atom.
+     * @param predicate The function of the atom.
+     * @return The registry with the atom.
+     */
+    public Atoms withPredicate(final String name, final IntPredicate predicate) {
+        return this.with(name, new Check(predicate));
+    }
+
+    /**
+     * Registers a bool atom of two arguments.
+     * @param name The name of the atom.
+     * @param relation The function of the atom.
+     * @return The registry with the atom.
+     */
+    public Atoms withRelation(final String name, final Relation relation) {
+        return this.with(name, new Related(relation));
+    }
+
+    /**
+     * Checks whether an atom is registered.
+     * @param name The name of the atom.
+     * @return True if it is.
+     */
+    public boolean contains(final String name) {
+        return this.registered.containsKey(name);
+    }
+
+    /**
+     * Gets an atom.
+     * @param name The name of the atom.
+     * @return The atom, or the one which fails when applied if there is no
+     *  atom with the name.
+     */
+    public Atom atom(final String name) {
+        Atom result = this.registered.get(name);
+        if (result == null) {
+            result = new Unknown(name);
+        }
+        return result;
+    }
+
+    /**
+     * Converts a boolean to data.
+     * @param value The boolean.
+     * @return One for true and zero for false.
+     */
+    private static int bool(final boolean value) {
+        int result = 0;
+        if (value) {
+            result = 1;
+        }
+        return result;
+    }
+
+    /**
+     * The atom of one {@code int} argument.
+     * @since 0.1.0
+     */
+    private static final class Unary implements Atom {
+
+        /**
+         * The function.
+         */
+        private final IntUnaryOperator operator;
+
+        /**
+         * Constructor.
+         * @param operator The function.
+         */
+        Unary(final IntUnaryOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public int arity() {
+            return 1;
+        }
+
+        @Override
+        public int apply(final int... args) {
+            return this.operator.applyAsInt(args[0]);
+        }
+    }
+
+    /**
+     * The atom of two {@code int} arguments.
+     * @since 0.1.0
+     */
+    private static final class Binary implements Atom {
+
+        /**
+         * The function.
+         */
+        private final IntBinaryOperator operator;
+
+        /**
+         * Constructor.
+         * @param operator The function.
+         */
+        Binary(final IntBinaryOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public int arity() {
+            return 2;
+        }
+
+        @Override
+        public int apply(final int... args) {
+            return this.operator.applyAsInt(args[0], args[1]);
+        }
+    }
+
+    /**
+     * The bool atom of one argument.
+     * @since 0.1.0
+     */
+    private static final class Check implements Atom {
+
+        /**
+         * The function.
+         */
+        private final IntPredicate predicate;
+
+        /**
+         * Constructor.
+         * @param predicate The function.
+         */
+        Check(final IntPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public int arity() {
+            return 1;
+        }
+
+        @Override
+        public int apply(final int... args) {
+            return Atoms.bool(this.predicate.test(args[0]));
+        }
+    }
+
+    /**
+     * The bool atom of two arguments.
+     * @since 0.1.0
+     */
+    private static final class Related implements Atom {
+
+        /**
+         * The function.
+         */
+        private final Relation relation;
+
+        /**
+         * Constructor.
+         * @param relation The function.
+         */
+        Related(final Relation relation) {
+            this.relation = relation;
+        }
+
+        @Override
+        public int arity() {
+            return 2;
+        }
+
+        @Override
+        public int apply(final int... args) {
+            return Atoms.bool(this.relation.test(args[0], args[1]));
+        }
+    }
+
+    /**
+     * The atom which is not registered.
+     * @since 0.1.0
+     */
+    private static final class Unknown implements Atom {
+
+        /**
+         * The name of the atom.
+         */
+        private final String name;
+
+        /**
+         * Constructor.
+         * @param name The name of the atom.
+         */
+        Unknown(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int arity() {
+            return 0;
+        }
+
+        @Override
+        public int apply(final int... args) {
+            throw new IllegalArgumentException(String.format("Unknown atom %s", this.name));
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Unknown && ((Unknown) other).name.equals(this.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.name.hashCode();
+        }
+    }
+}
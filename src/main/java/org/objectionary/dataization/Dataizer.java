@@ -0,0 +1,372 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.dataization;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.objectionary.Frames;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Resolver;
+import org.objectionary.Symbols;
+import org.objectionary.atoms.Atom;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.Lambda;
+
+/**
+ * This class represents the dataization of objects of a box.
+ * <p>
+ * The data of an object is its {@code Δ}, the result of its atom
+ * {@code λ} applied to the data of {@code ρ} and {@code 𝛼0}, {@code 𝛼1}
+ * and so on, or the data of its decoratee {@code 𝜑}. Objects waiting for
+ * the data of others are kept on an explicit work stack instead of the JVM
+ * one, so long chains of decoratees do not overflow it. An object waiting
+ * for its own data is reported as a cycle. The data of every
+ * frame is computed once and memoized, so the box must not be changed
+ * while it is dataized. The class is not thread-safe.
+ * @since 0.1.0
+ */
+public final class Dataizer {
+
+    /**
+     * The state of a frame that is not dataized yet.
+     */
+    private static final byte FRESH = 0;
+
+    /**
+     * The state of a frame pushed to the work stack.
+     */
+    private static final byte PENDING = 1;
+
+    /**
+     * The state of a frame waiting for the data of frames above it on the stack.
+     */
+    private static final byte ACTIVE = 2;
+
+    /**
+     * The state of a dataized frame.
+     */
+    private static final byte DONE = 3;
+
+    /**
+     * The name of the data attribute.
+     */
+    private static final String DELTA = "Δ";
+
+    /**
+     * The name of the lambda attribute.
+     */
+    private static final String LAMBDA = "λ";
+
+    /**
+     * The name of the decoratee attribute.
+     */
+    private static final String PHI = "𝜑";
+
+    /**
+     * The name of the receiver attribute.
+     */
+    private static final String RHO = "ρ";
+
+    /**
+     * The names of the first argument attributes.
+     */
+    private static final String[] ALPHAS = Dataizer.names(16);
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The frames of objects.
+     */
+    private final Frames frames;
+
+    /**
+     * The resolver of the objects entities refer to.
+     */
+    private final Resolver resolver;
+
+    /**
+     * The data of frames.
+     */
+    private int[] values;
+
+    /**
+     * The states of frames.
+     */
+    private byte[] states;
+
+    /**
+     * The work stack of frames.
+     */
+    private int[] stack;
+
+    /**
+     * The number of frames on the work stack.
+     */
+    private int depth;
+
+    /**
+     * The arguments of the atom being applied.
+     */
+    private int[] args;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    public Dataizer(final ObjectsBox box) {
+        this(box, new Frames());
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param frames The frames of objects.
+     */
+    private Dataizer(final ObjectsBox box, final Frames frames) {
+        this.box = box;
+        this.frames = frames;
+        this.resolver = new Resolver(box, frames);
+        this.values = new int[64];
+        this.states = new byte[64];
+        this.stack = new int[64];
+        this.args = new int[8];
+    }
+
+    /**
+     * Dataizes the object {@code ν0}.
+     * @return The data.
+     */
+    public int dataize() {
+        return this.dataize("ν0");
+    }
+
+    /**
+     * Dataizes an object without parent.
+     * @param name The name of the object.
+     * @return The data.
+     */
+    public int dataize(final String name) {
+        final int id = this.box.symbols().find(name);
+        if (id == Symbols.ABSENT || this.box.get(id) == null) {
+            throw new IllegalArgumentException(
+                String.format("The box does not contain the object %s", name)
+            );
+        }
+        for (int idx = 0; idx < this.depth; idx += 1) {
+            this.states[this.stack[idx]] = Dataizer.FRESH;
+        }
+        this.depth = 0;
+        final int frame = this.frames.open(id, Frames.ROOT);
+        this.ready(frame);
+        while (this.depth > 0) {
+            final int top = this.stack[this.depth - 1];
+            if (this.states[top] == Dataizer.DONE) {
+                this.depth -= 1;
+                continue;
+            }
+            this.states[top] = Dataizer.ACTIVE;
+            final Map<String, Entity> bindings = this.resolver.bindings(top);
+            final Entity lambda = bindings.get(Dataizer.LAMBDA);
+            final boolean done;
+            if (lambda == null) {
+                done = this.decorated(top, bindings);
+            } else {
+                done = this.atom(top, bindings, lambda);
+            }
+            if (done) {
+                this.states[top] = Dataizer.DONE;
+                this.depth -= 1;
+            }
+        }
+        return this.values[frame];
+    }
+
+    /**
+     * Tries to dataize an object by its {@code Δ} or {@code 𝜑}.
+     * @param frame The frame of the object.
+     * @param bindings The bindings of the object.
+     * @return True if the data is ready, false if others are pushed to the stack.
+     */
+    private boolean decorated(final int frame, final Map<String, Entity> bindings) {
+        Entity entity = bindings.get(Dataizer.DELTA);
+        if (entity == null) {
+            entity = bindings.get(Dataizer.PHI);
+        }
+        if (entity == null) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "The object %s has neither Δ, nor λ, nor 𝜑",
+                    this.box.symbols().name(this.frames.object(frame))
+                )
+            );
+        }
+        final long target = this.resolver.target(entity, frame);
+        final boolean done = this.ready(target);
+        if (done) {
+            this.values[frame] = this.data(target);
+        }
+        return done;
+    }
+
+    /**
+     * Tries to dataize an object by its atom.
+     * @param frame The frame of the object.
+     * @param bindings The bindings of the object.
+     * @param lambda The atom.
+     * @return True if the data is ready, false if others are pushed to the stack.
+     */
+    private boolean atom(
+        final int frame, final Map<String, Entity> bindings, final Entity lambda
+    ) {
+        if (!(lambda instanceof Lambda)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "The λ of the object %s is %s, not an atom",
+                    this.box.symbols().name(this.frames.object(frame)), lambda
+                )
+            );
+        }
+        boolean done = true;
+        int count = 0;
+        int next = 0;
+        Entity arg = bindings.get(Dataizer.RHO);
+        if (arg == null) {
+            arg = bindings.get(Dataizer.alpha(next));
+            next += 1;
+        }
+        while (arg != null) {
+            final long target = this.resolver.target(arg, frame);
+            if (this.ready(target)) {
+                if (count == this.args.length) {
+                    this.args = Arrays.copyOf(this.args, count * 2);
+                }
+                this.args[count] = this.data(target);
+            } else {
+                done = false;
+            }
+            count += 1;
+            arg = bindings.get(Dataizer.alpha(next));
+            next += 1;
+        }
+        final Atom atom = ((Lambda) lambda).getAtom();
+        if (done && count < atom.arity()) {
+            throw new IllegalArgumentException(
+                String.format("The atom %s needs %d arguments", lambda, atom.arity())
+            );
+        }
+        if (done) {
+            this.values[frame] = atom.apply(this.args);
+        }
+        return done;
+    }
+
+    /**
+     * Checks whether the data of a target is ready and pushes it if not.
+     * @param target The target.
+     * @return True if the data is ready.
+     */
+    private boolean ready(final long target) {
+        boolean result = true;
+        if ((target & Resolver.DATA) == 0) {
+            final int frame = (int) target;
+            if (frame >= this.states.length) {
+                final int size = Math.max(frame + 1, this.states.length * 2);
+                this.states = Arrays.copyOf(this.states, size);
+                this.values = Arrays.copyOf(this.values, size);
+            }
+            if (this.states[frame] == Dataizer.ACTIVE) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "The object %s depends on its own data",
+                        this.box.symbols().name(this.frames.object(frame))
+                    )
+                );
+            }
+            if (this.states[frame] != Dataizer.DONE) {
+                this.push(frame);
+                result = false;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the data of a target that is ready.
+     * @param target The target.
+     * @return The data.
+     */
+    private int data(final long target) {
+        final int result;
+        if ((target & Resolver.DATA) == 0) {
+            result = this.values[(int) target];
+        } else {
+            result = (int) target;
+        }
+        return result;
+    }
+
+    /**
+     * Pushes a frame to the work stack.
+     * @param frame The frame.
+     */
+    private void push(final int frame) {
+        if (this.depth == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+        }
+        this.states[frame] = Dataizer.PENDING;
+        this.stack[this.depth] = frame;
+        this.depth += 1;
+    }
+
+    /**
+     * Gets the name of an argument attribute.
+     * @param index The index of the argument.
+     * @return The name, like {@code 𝛼0}.
+     */
+    private static String alpha(final int index) {
+        final String result;
+        if (index < Dataizer.ALPHAS.length) {
+            result = Dataizer.ALPHAS[index];
+        } else {
+            result = String.format("𝛼%d", index);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the names of the first argument attributes.
+     * @param count The number of names.
+     * @return The names.
+     */
+    private static String[] names(final int count) {
+        final String[] names = new String[count];
+        for (int idx = 0; idx < count; idx += 1) {
+            names[idx] = String.format("𝛼%d", idx);
+        }
+        return names;
+    }
+}
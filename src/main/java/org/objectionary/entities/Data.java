@@ -23,12 +23,24 @@
  */
 package org.objectionary.entities;
 
+import java.io.IOException;
+
 /**
  * This class represents the data entity.
  * @since 0.1.0
  */
 public final class Data extends Entity {
 
+    /**
+     * Upper case hexadecimal digits.
+     */
+    private static final String HEX = "0123456789ABCDEF";
+
+    /**
+     * The minimal number of hexadecimal digits written, like in {@code 0x002A}.
+     */
+    private static final int DIGITS = 4;
+
     /**
      * The data value.
      */
@@ -42,8 +54,31 @@ public final class Data extends Entity {
         this.value = value;
     }
 
+    /**
+     * Gets the data value.
+     * @return The value.
+     */
+    public int getValue() {
+        return this.value;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Data && ((Data) other).value == this.value;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value;
+    }
+
     @Override
-    public String toString() {
-        return String.format("0x%04X", this.value);
+    public void writeTo(final Appendable output) throws IOException {
+        final int bits = Integer.SIZE - Integer.numberOfLeadingZeros(this.value);
+        final int digits = Math.max(Data.DIGITS, (bits + 3) / 4);
+        output.append('0').append('x');
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            output.append(Data.HEX.charAt(this.value >>> shift & 0xF));
+        }
     }
 }
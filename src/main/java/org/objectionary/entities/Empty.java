@@ -23,14 +23,38 @@
  */
 package org.objectionary.entities;
 
+import java.io.IOException;
+
 /**
  * This class represents the empty entity.
  * @since 0.1.0
  */
 public final class Empty extends Entity {
 
+    /**
+     * The empty entity.
+     */
+    public static final Empty INSTANCE = new Empty();
+
+    /**
+     * Constructor.
+     */
+    private Empty() {
+        super();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Empty;
+    }
+
+    @Override
+    public int hashCode() {
+        return Empty.class.hashCode();
+    }
+
     @Override
-    public String toString() {
-        return "ø";
+    public void writeTo(final Appendable output) throws IOException {
+        output.append('ø');
     }
 }
@@ -23,11 +23,12 @@
  */
 package org.objectionary.entities;
 
+import java.io.IOException;
+
 /**
  * This class represents the entity.
  * @since 0.1.0
  */
-@SuppressWarnings("PMD.AbstractClassWithoutAbstractMethod")
 public abstract class Entity {
 
     /**
@@ -37,4 +38,22 @@ public abstract class Entity {
     protected Entity() {
         // Empty constructor
     }
+
+    /**
+     * Writes the entity in the text form to the output.
+     * @param output The output to write to.
+     * @throws IOException If fails to write.
+     */
+    public abstract void writeTo(Appendable output) throws IOException;
+
+    @Override
+    public final String toString() {
+        final StringBuilder result = new StringBuilder();
+        try {
+            this.writeTo(result);
+        } catch (final IOException ex) {
+            throw new IllegalStateException("Failed to write to a string builder", ex);
+        }
+        return result.toString();
+    }
 }
@@ -23,41 +23,154 @@
  */
 package org.objectionary.entities;
 
+import java.io.IOException;
+import org.objectionary.Symbols;
+
 /**
  * This class represents the flat object entity.
+ * <p>
+ * The locator of the parent, like {@code ξ} or {@code 𝜋.𝜋}, is compiled
+ * into the number of parents to go up when the object is created.
  * @since 0.1.0
  */
+@SuppressWarnings("PMD.DataClass")
 public final class FlatObject extends Entity {
 
+    /**
+     * The number of parents of an object without parent.
+     */
+    private static final int ORPHAN = -1;
+
+    /**
+     * The step to the parent object.
+     */
+    private static final String PARENT = "𝜋";
+
     /**
      * The name of the object.
      */
     private final String name;
 
+    /**
+     * The identifier of the name of the object.
+     */
+    private final int id;
+
     /**
      * The locator of the object.
      */
     private final String locator;
 
+    /**
+     * The number of parents to go up to the parent of the object.
+     */
+    private final int parents;
+
     /**
      * Constructor.
      * @param name The name of the object.
      * @param locator The locator of the object.
      */
     public FlatObject(final String name, final String locator) {
+        this(name, Symbols.ABSENT, locator);
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The symbols the name is interned in.
+     * @param id The identifier of the name of the object.
+     * @param locator The locator of the object.
+     */
+    public FlatObject(final Symbols symbols, final int id, final String locator) {
+        this(symbols.name(id), id, locator);
+    }
+
+    /**
+     * Constructor.
+     * @param name The name of the object.
+     * @param id The identifier of the name of the object.
+     * @param locator The locator of the object.
+     */
+    private FlatObject(final String name, final int id, final String locator) {
+        super();
         this.name = name;
+        this.id = id;
         this.locator = locator;
+        this.parents = FlatObject.ups(locator);
+    }
+
+    /**
+     * Gets the name of the object.
+     * @return The name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the identifier of the name of the object.
+     * @return The identifier or {@link Symbols#ABSENT} if the name is not interned.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the locator of the object.
+     * @return The locator.
+     */
+    public String getLocator() {
+        return this.locator;
+    }
+
+    /**
+     * Gets the number of parents to go up from the frame the object is
+     * bound in to the frame of its parent.
+     * @return The number of {@code 𝜋} steps of the locator or a negative
+     *  number if the object has no parent.
+     */
+    public int getParents() {
+        return this.parents;
     }
 
     @Override
-    public String toString() {
-        final String result;
-        if (this.locator.isEmpty()) {
-            result = this.name;
-        } else {
-            result = String.format("%s(%s)", this.name, this.locator);
+    public boolean equals(final Object other) {
+        boolean result = false;
+        if (other instanceof FlatObject) {
+            final FlatObject flat = (FlatObject) other;
+            result = flat.name.equals(this.name) && flat.locator.equals(this.locator);
         }
         return result;
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * this.name.hashCode() + this.locator.hashCode();
+    }
+
+    @Override
+    public void writeTo(final Appendable output) throws IOException {
+        output.append(this.name);
+        if (!this.locator.isEmpty()) {
+            output.append('(').append(this.locator).append(')');
+        }
+    }
+
+    /**
+     * Counts the steps to the parent in the locator of the parent.
+     * @param locator The locator.
+     * @return The number of steps or {@link #ORPHAN} if the locator is empty.
+     */
+    private static int ups(final String locator) {
+        int count = FlatObject.ORPHAN;
+        if (!locator.isEmpty()) {
+            count = 0;
+            int idx = locator.indexOf(FlatObject.PARENT);
+            while (idx >= 0) {
+                count += 1;
+                idx = locator.indexOf(FlatObject.PARENT, idx + FlatObject.PARENT.length());
+            }
+        }
+        return count;
+    }
 }
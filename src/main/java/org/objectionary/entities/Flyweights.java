@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.entities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.objectionary.Pages;
+import org.objectionary.Symbols;
+import org.objectionary.atoms.Atoms;
+
+/**
+ * This class represents the canonical instances of entities.
+ * <p>
+ * Most entities of a program are the same few empty attributes, small
+ * data, locators and references to objects, so they are shared instead
+ * of being created again for every binding. The instances are safe to
+ * share between threads, as entities are immutable.
+ * @since 0.1.0
+ * @checkstyle NonStaticMethodCheck (100 lines)
+ */
+public final class Flyweights {
+
+    /**
+     * The lowest cached data value.
+     */
+    private static final int LOW = -128;
+
+    /**
+     * The highest cached data value.
+     */
+    private static final int HIGH = 1023;
+
+    /**
+     * Cached data from {@link #LOW} to {@link #HIGH}.
+     */
+    private static final Data[] SMALL = Flyweights.cached();
+
+    /**
+     * The symbols the names of objects are interned in.
+     */
+    private final Symbols table;
+
+    /**
+     * The atoms to resolve lambdas to.
+     */
+    private final Atoms registry;
+
+    /**
+     * Locators by paths.
+     */
+    private final Map<String, Locator> locators;
+
+    /**
+     * Lambdas by functions.
+     */
+    private final Map<String, Lambda> lambdas;
+
+    /**
+     * Flat objects by locators and identifiers of names.
+     */
+    private final Map<String, Pages<FlatObject>> flats;
+
+    /**
+     * Constructor.
+     * @param symbols The symbols the names of objects are interned in.
+     */
+    public Flyweights(final Symbols symbols) {
+        this(symbols, Atoms.STANDARD);
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The symbols the names of objects are interned in.
+     * @param atoms The atoms to resolve lambdas to.
+     */
+    public Flyweights(final Symbols symbols, final Atoms atoms) {
+        this.table = symbols;
+        this.registry = atoms;
+        this.locators = new ConcurrentHashMap<>();
+        this.lambdas = new ConcurrentHashMap<>();
+        this.flats = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the symbols the names of objects are interned in.
+     * @return The symbols.
+     */
+    public Symbols symbols() {
+        return this.table;
+    }
+
+    /**
+     * Gets the atoms lambdas are resolved to.
+     * @return The atoms.
+     */
+    public Atoms atoms() {
+        return this.registry;
+    }
+
+    /**
+     * Gets the empty entity.
+     * @return The empty entity.
+     */
+    public Empty empty() {
+        return Empty.INSTANCE;
+    }
+
+    /**
+     * Gets data with the value.
+     * @param value The data value.
+     * @return The cached data if the value is small or new data otherwise.
+     */
+    public Data data(final int value) {
+        final Data result;
+        if (value >= Flyweights.LOW && value <= Flyweights.HIGH) {
+            result = Flyweights.SMALL[value - Flyweights.LOW];
+        } else {
+            result = new Data(value);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the canonical locator with the path.
+     * @param path The path of the locator.
+     * @return The locator.
+     */
+    public Locator locator(final String path) {
+        return this.locators.computeIfAbsent(path, key -> new Locator(this.table, key));
+    }
+
+    /**
+     * Gets the canonical lambda with the function resolved to its atom.
+     * @param function The function of the lambda.
+     * @return The lambda.
+     */
+    public Lambda lambda(final String function) {
+        return this.lambdas.computeIfAbsent(
+            function, key -> new Lambda(key, this.registry.atom(key))
+        );
+    }
+
+    /**
+     * Gets the canonical flat object.
+     * <p>
+     * The object is looked up by its name and locator first, so it is
+     * created only if there is none yet.
+     * @param id The identifier of the name of the object.
+     * @param locator The locator of the object.
+     * @return The flat object.
+     */
+    public FlatObject flat(final int id, final String locator) {
+        Pages<FlatObject> objects = this.flats.get(locator);
+        if (objects == null) {
+            objects = this.flats.computeIfAbsent(locator, key -> new Pages<>());
+        }
+        FlatObject result = objects.get(id);
+        if (result == null) {
+            final FlatObject candidate = new FlatObject(this.table, id, locator);
+            result = objects.putIfAbsent(id, candidate);
+            if (result == null) {
+                result = candidate;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the cached data.
+     * @return The data from {@link #LOW} to {@link #HIGH}.
+     */
+    private static Data[] cached() {
+        final Data[] result = new Data[Flyweights.HIGH - Flyweights.LOW + 1];
+        for (int idx = 0; idx < result.length; idx += 1) {
+            result[idx] = new Data(idx + Flyweights.LOW);
+        }
+        return result;
+    }
+}
@@ -23,8 +23,15 @@
  */
 package org.objectionary.entities;
 
+import java.io.IOException;
+import org.objectionary.atoms.Atom;
+import org.objectionary.atoms.Atoms;
+
 /**
  * This class represents the lambda entity.
+ * <p>
+ * The function is resolved to its {@link Atom} when the lambda is created,
+ * and lambdas are equal only if they are bound to equal atoms.
  * @since 0.1.0
  */
 public final class Lambda extends Entity {
@@ -34,16 +41,60 @@ public final class Lambda extends Entity {
      */
     private final String function;
 
+    /**
+     * The atom of the function.
+     */
+    private final Atom atom;
+
     /**
      * Constructor.
-     * @param function The function of the lambda.
+     * @param function The function of the lambda, one of {@link Atoms#STANDARD}.
      */
     public Lambda(final String function) {
+        this(function, Atoms.STANDARD.atom(function));
+    }
+
+    /**
+     * Constructor.
+     * @param function The function of the lambda.
+     * @param atom The atom of the function.
+     */
+    public Lambda(final String function, final Atom atom) {
+        super();
         this.function = function;
+        this.atom = atom;
     }
 
-    @Override
-    public String toString() {
+    /**
+     * Gets the function of the lambda.
+     * @return The function.
+     */
+    public String getFunction() {
         return this.function;
     }
+
+    /**
+     * Gets the atom of the function of the lambda.
+     * @return The atom.
+     */
+    public Atom getAtom() {
+        return this.atom;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Lambda
+            && ((Lambda) other).function.equals(this.function)
+            && ((Lambda) other).atom.equals(this.atom);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.function.hashCode() * 31 + this.atom.hashCode();
+    }
+
+    @Override
+    public void writeTo(final Appendable output) throws IOException {
+        output.append(this.function);
+    }
 }
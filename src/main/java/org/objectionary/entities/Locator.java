@@ -23,27 +23,179 @@
  */
 package org.objectionary.entities;
 
+import java.io.IOException;
+import org.objectionary.Symbols;
+
 /**
  * This class represents the locator entity.
+ * <p>
+ * The path is compiled when the locator is created: the leading {@code ξ}
+ * and {@code 𝜋} steps become the number of parents to go up, and the rest
+ * of the path becomes canonical attribute names of {@link Symbols}, the very
+ * instances bindings are keyed by. Thus, following a locator never needs to
+ * split its path again, and looking an attribute up compares names by
+ * identity first. Locators are equal only if they are compiled against the
+ * same symbols.
  * @since 0.1.0
  */
 public final class Locator extends Entity {
 
+    /**
+     * The step to the current object.
+     */
+    private static final String CURRENT = "ξ";
+
+    /**
+     * The step to the parent object.
+     */
+    private static final String PARENT = "𝜋";
+
     /**
      * The path of the locator.
      */
     private final String path;
 
+    /**
+     * The symbols the attributes are interned in.
+     */
+    private final Symbols table;
+
+    /**
+     * The number of parents to go up.
+     */
+    private final int parents;
+
+    /**
+     * The canonical names of the attributes to follow.
+     */
+    private final String[] attributes;
+
+    /**
+     * Constructor.
+     * @param symbols The symbols to intern the attributes in.
+     * @param path The path of the locator.
+     */
+    public Locator(final Symbols symbols, final String path) {
+        this(path, symbols, Locator.split(path));
+    }
+
     /**
      * Constructor.
      * @param path The path of the locator.
+     * @param symbols The symbols to intern the attributes in.
+     * @param steps The steps of the path.
      */
-    public Locator(final String path) {
+    private Locator(final String path, final Symbols symbols, final String... steps) {
+        super();
         this.path = path;
+        this.table = symbols;
+        this.parents = Locator.ups(steps);
+        this.attributes = Locator.intern(symbols, steps);
     }
 
-    @Override
-    public String toString() {
+    /**
+     * Gets the path of the locator.
+     * @return The path.
+     */
+    public String getPath() {
         return this.path;
     }
+
+    /**
+     * Gets the number of parents to go up from the current object.
+     * @return The number of {@code 𝜋} steps.
+     */
+    public int getParents() {
+        return this.parents;
+    }
+
+    /**
+     * Gets the number of attributes to follow.
+     * @return The number of attributes.
+     */
+    public int getLength() {
+        return this.attributes.length;
+    }
+
+    /**
+     * Gets the name of an attribute to follow.
+     * @param index The position of the attribute in the path.
+     * @return The canonical name.
+     */
+    public String getName(final int index) {
+        return this.attributes[index];
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Locator
+            && ((Locator) other).table == this.table
+            && ((Locator) other).path.equals(this.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.path.hashCode();
+    }
+
+    @Override
+    public void writeTo(final Appendable output) throws IOException {
+        output.append(this.path);
+    }
+
+    /**
+     * Splits the path into steps.
+     * @param path The path.
+     * @return The steps.
+     */
+    private static String[] split(final String path) {
+        int count = 1;
+        for (int idx = path.indexOf('.'); idx >= 0; idx = path.indexOf('.', idx + 1)) {
+            count += 1;
+        }
+        final String[] steps = new String[count];
+        int start = 0;
+        for (int step = 0; step < count - 1; step += 1) {
+            final int end = path.indexOf('.', start);
+            steps[step] = path.substring(start, end);
+            start = end + 1;
+        }
+        steps[count - 1] = path.substring(start);
+        return steps;
+    }
+
+    /**
+     * Counts the leading steps to the parent.
+     * @param steps The steps of the path.
+     * @return The number of parents to go up.
+     */
+    private static int ups(final String... steps) {
+        int start = 0;
+        if (steps.length > 0 && Locator.CURRENT.equals(steps[0])) {
+            start = 1;
+        }
+        int count = 0;
+        while (start + count < steps.length && Locator.PARENT.equals(steps[start + count])) {
+            count += 1;
+        }
+        return count;
+    }
+
+    /**
+     * Interns the attributes after the leading steps.
+     * @param symbols The symbols to intern the attributes in.
+     * @param steps The steps of the path.
+     * @return The canonical names of the attributes.
+     */
+    private static String[] intern(final Symbols symbols, final String... steps) {
+        int start = Locator.ups(steps);
+        if (steps.length > 0 && Locator.CURRENT.equals(steps[0])) {
+            start += 1;
+        }
+        final String[] names = new String[steps.length - start];
+        for (int idx = 0; idx < names.length; idx += 1) {
+            names[idx] = symbols.canonical(steps[start + idx]);
+        }
+        return names;
+    }
 }
@@ -23,7 +23,9 @@
  */
 package org.objectionary.entities;
 
+import java.io.IOException;
 import java.util.Map;
+import org.objectionary.Symbols;
 
 /**
  * This class represents the object with application entity.
@@ -36,6 +38,11 @@ public final class NestedObject extends Entity {
      */
     private final String name;
 
+    /**
+     * The identifier of the name of the object with application.
+     */
+    private final int id;
+
     /**
      * The application of the object with application.
      */
@@ -47,22 +54,88 @@ public final class NestedObject extends Entity {
      * @param application The application of the object with application.
      */
     public NestedObject(final String name, final Map<String, Entity> application) {
+        this(name, Symbols.ABSENT, application);
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The symbols the name is interned in.
+     * @param id The identifier of the name of the object with application.
+     * @param application The application of the object with application.
+     */
+    public NestedObject(
+        final Symbols symbols, final int id, final Map<String, Entity> application
+    ) {
+        this(symbols.name(id), id, application);
+    }
+
+    /**
+     * Constructor.
+     * @param name The name of the object with application.
+     * @param id The identifier of the name of the object with application.
+     * @param application The application of the object with application.
+     */
+    private NestedObject(
+        final String name, final int id, final Map<String, Entity> application
+    ) {
+        super();
         this.name = name;
+        this.id = id;
         this.application = application;
     }
 
+    /**
+     * Gets the name of the object with application.
+     * @return The name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the identifier of the name of the object with application.
+     * @return The identifier or {@link Symbols#ABSENT} if the name is not interned.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the application of the object with application.
+     * @return The bindings of the application.
+     */
+    public Map<String, Entity> getApplication() {
+        return this.application;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        boolean result = false;
+        if (other instanceof NestedObject) {
+            final NestedObject nested = (NestedObject) other;
+            result = nested.name.equals(this.name)
+                && nested.application.equals(this.application);
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.name.hashCode() + this.application.hashCode();
+    }
+
     @Override
-    public String toString() {
-        final StringBuilder buffer = new StringBuilder();
-        final int size = this.application.size();
-        int count = 0;
+    public void writeTo(final Appendable output) throws IOException {
+        output.append(this.name).append("( ");
+        boolean first = true;
         for (final Map.Entry<String, Entity> entry : this.application.entrySet()) {
-            buffer.append(entry.getKey()).append(" ↦ ").append(entry.getValue());
-            count += 1;
-            if (count < size) {
-                buffer.append(", ");
+            if (!first) {
+                output.append(", ");
             }
+            output.append(entry.getKey()).append(" ↦ ");
+            entry.getValue().writeTo(output);
+            first = false;
         }
-        return String.format("%s( %s )", this.name, buffer);
+        output.append(" )");
     }
 }
@@ -23,76 +23,232 @@
  */
 package org.objectionary.parsing;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import org.objectionary.Symbols;
 import org.objectionary.Tokenizer;
-import org.objectionary.entities.Data;
-import org.objectionary.entities.Empty;
 import org.objectionary.entities.Entity;
-import org.objectionary.entities.FlatObject;
-import org.objectionary.entities.Lambda;
-import org.objectionary.entities.Locator;
+import org.objectionary.entities.Flyweights;
 import org.objectionary.entities.NestedObject;
+import org.objectionary.tokens.ArrowToken;
+import org.objectionary.tokens.BracketToken;
+import org.objectionary.tokens.Kind;
 import org.objectionary.tokens.StringToken;
 import org.objectionary.tokens.Token;
+import org.objectionary.tokens.Tokens;
 
 /**
  * Entities reader.
+ * <p>
+ * Entities are read either from a {@link Tokenizer} or by index from
+ * {@link Tokens}, in the latter case no token objects are made at all.
  * @since 0.1.0
  * @checkstyle NonStaticMethodCheck (100 lines)
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public final class Entities {
 
     /**
-     * The tokenizer.
+     * The tokens.
      */
-    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
-    private final Tokenizer tokenizer;
+    private final Cursor cursor;
+
+    /**
+     * The symbols to intern names in.
+     */
+    private final Symbols symbols;
+
+    /**
+     * The canonical instances of entities.
+     */
+    private final Flyweights pool;
 
     /**
      * Constructor.
      * @param tokenizer The tokenizer.
      */
     public Entities(final Tokenizer tokenizer) {
-        this.tokenizer = tokenizer;
+        this(tokenizer, new Symbols());
+    }
+
+    /**
+     * Constructor.
+     * @param tokenizer The tokenizer.
+     * @param symbols The symbols to intern names in.
+     */
+    public Entities(final Tokenizer tokenizer, final Symbols symbols) {
+        this(tokenizer, new Flyweights(symbols));
+    }
+
+    /**
+     * Constructor.
+     * @param tokenizer The tokenizer.
+     * @param flyweights The canonical instances of entities to share.
+     */
+    public Entities(final Tokenizer tokenizer, final Flyweights flyweights) {
+        this(new Streamed(tokenizer), flyweights);
+    }
+
+    /**
+     * Constructor.
+     * @param tokens The tokens.
+     * @param from The index of the first token to read.
+     * @param till The index after the last token to read.
+     * @param flyweights The canonical instances of entities to share.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    public Entities(
+        final Tokens tokens, final int from, final int till, final Flyweights flyweights
+    ) {
+        this(new Indexed(tokens, from, till), flyweights);
+    }
+
+    /**
+     * Constructor.
+     * @param cursor The tokens.
+     * @param flyweights The canonical instances of entities to share.
+     */
+    private Entities(final Cursor cursor, final Flyweights flyweights) {
+        this.cursor = cursor;
+        this.symbols = flyweights.symbols();
+        this.pool = flyweights;
     }
 
     /**
      * Reads one entity.
+     * <p>
+     * The tokens are classified already, so the entity is chosen by their
+     * {@link Kind} with a single switch, and the characters are copied only
+     * when the entity keeps them.
      * @return The parsed entity.
      */
     public Entity one() {
-        final Token token = this.tokenizer.getToken();
-        if (!(token instanceof StringToken)) {
-            throw new IllegalArgumentException("Expected string token");
-        }
-        final String value = ((StringToken) token).getValue();
         final Entity result;
-        final TypeChecker type = new TypeChecker(value);
-        if (type.isEmpty()) {
-            result = new Empty();
-        } else if (type.isLocator()) {
-            result = new Locator(value);
-        } else if (type.isData()) {
-            result = new Data(Integer.parseInt(value.substring(2), 16));
-        } else if (type.isLambda()) {
-            result = new Lambda(value);
-        } else if (type.isObject()) {
-            result = this.createObject(value);
-        } else {
-            throw new IllegalArgumentException("Unknown token");
+        switch (this.cursor.kind()) {
+            case EMPTY:
+                result = this.pool.empty();
+                break;
+            case LOCATOR:
+                result = this.pool.locator(this.cursor.value());
+                break;
+            case DATA:
+                result = this.pool.data(this.cursor.data());
+                break;
+            case LAMBDA:
+                result = this.pool.lambda(this.cursor.value());
+                break;
+            case OBJECT:
+                result = this.named(this.cursor.value(), true);
+                break;
+            default:
+                result = this.named(this.cursor.value(), false);
+                break;
         }
         return result;
     }
 
     /**
-     * Reads nested entity.
-     * @return The parsed nested entity.
-     * @todo #49:30min Implement this method.
-     *  This method should read nested entity recursively.
+     * Reads bindings up to the closing bracket.
+     * The tokenizer is left on the closing bracket.
+     * <p>
+     * Applications are read without recursion: the bindings of the
+     * applications being read are kept on an explicit stack, so the depth
+     * of nesting is not limited by the JVM stack.
+     * @return The parsed bindings in the order of appearance.
      */
     public Map<String, Entity> nested() {
-        return new HashMap<>();
+        final List<Map<String, Entity>> outer = new ArrayList<>(0);
+        final Map<String, Entity> result = new LinkedHashMap<>();
+        Map<String, Entity> bindings = result;
+        while (!outer.isEmpty() || this.cursor.tag() != Tokens.CLOSE) {
+            if (this.cursor.tag() == Tokens.CLOSE) {
+                bindings = outer.remove(outer.size() - 1);
+            } else {
+                bindings = this.binding(bindings, outer);
+            }
+            this.cursor.next();
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the current token is the last one to read.
+     * @return True if it is.
+     */
+    public boolean last() {
+        return this.cursor.last();
+    }
+
+    /**
+     * Reads the value of the current string token.
+     * @return The value.
+     */
+    public String string() {
+        return this.cursor.value();
+    }
+
+    /**
+     * Reads one binding.
+     * <p>
+     * If the binding opens an application, its object is bound at once
+     * with empty bindings, which are read next.
+     * @param bindings The bindings to put the binding into.
+     * @param outer The bindings of the applications being read.
+     * @return The bindings to read the next binding into.
+     */
+    private Map<String, Entity> binding(
+        final Map<String, Entity> bindings, final List<Map<String, Entity>> outer
+    ) {
+        final String name = this.string();
+        this.cursor.next();
+        if (this.cursor.tag() != Tokens.ARROW) {
+            throw new IllegalArgumentException(
+                String.format("Expected arrow after attribute %s", name)
+            );
+        }
+        this.cursor.next();
+        final String key = this.symbols.canonical(name);
+        Map<String, Entity> next = bindings;
+        if (this.cursor.tag() == Kind.OBJECT.ordinal()) {
+            final String value = this.cursor.value();
+            if (Entities.opens(value) && !this.pool.atoms().contains(value)) {
+                next = new LinkedHashMap<>();
+                bindings.put(
+                    key,
+                    new NestedObject(
+                        this.symbols,
+                        this.symbols.intern(value.substring(0, value.indexOf('('))),
+                        next
+                    )
+                );
+                outer.add(bindings);
+            } else {
+                bindings.put(key, this.named(value, true));
+            }
+        } else {
+            bindings.put(key, this.one());
+        }
+        return next;
+    }
+
+    /**
+     * Creates a lambda of a custom atom or an object.
+     * @param value The value to parse.
+     * @param object Whether the value looks like an object.
+     * @return The parsed entity.
+     */
+    private Entity named(final String value, final boolean object) {
+        final Entity result;
+        if (this.pool.atoms().contains(value)) {
+            result = this.pool.lambda(value);
+        } else if (object) {
+            result = this.createObject(value);
+        } else {
+            throw new IllegalArgumentException("Unknown token");
+        }
+        return result;
     }
 
     /**
@@ -103,19 +259,316 @@ public final class Entities {
     private Entity createObject(final String value) {
         final Entity result;
         if (value.contains(")")) {
-            result = new FlatObject(
-                value.substring(0, value.indexOf('(')),
+            result = this.pool.flat(
+                this.symbols.intern(value.substring(0, value.indexOf('('))),
                 value.substring(value.indexOf('(') + 1, value.indexOf(')'))
             );
         } else if (value.contains("(")) {
-            this.tokenizer.next();
-            final Map<String, Entity> application = this.nested();
-            result = new NestedObject(
-                value.substring(0, value.indexOf('(')), application
-            );
+            final int id = this.symbols.intern(value.substring(0, value.indexOf('(')));
+            this.cursor.next();
+            result = new NestedObject(this.symbols, id, this.nested());
         } else {
-            result = new FlatObject(value, "");
+            result = this.pool.flat(this.symbols.intern(value), "");
         }
         return result;
     }
+
+    /**
+     * Checks whether an object opens an application, like {@code ν1(} does.
+     * @param value The object.
+     * @return True if it does.
+     */
+    private static boolean opens(final String value) {
+        return value.indexOf('(') >= 0 && value.indexOf(')') < 0;
+    }
+
+    /**
+     * Parses the hexadecimal number after {@code 0x} in place, like
+     * {@link Integer#parseInt(String, int)} does with the rest of the token.
+     * @param text The text.
+     * @param offset The offset of the token of data.
+     * @param length The length of the token.
+     * @return The number.
+     */
+    private static int hex(final CharSequence text, final int offset, final int length) {
+        final int sign = offset + 2;
+        final boolean negative = length > 2 && text.charAt(sign) == '-';
+        int from = sign;
+        if (negative || length > 2 && text.charAt(sign) == '+') {
+            from += 1;
+        }
+        long value = Entities.digits(text, from, offset + length);
+        if (negative) {
+            value = -value;
+        }
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw Entities.malformed(text, offset, length);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses hexadecimal digits.
+     * @param text The text.
+     * @param from The first digit.
+     * @param till The character after the last digit.
+     * @return The number, at most {@code 2^31}, or {@link Long#MIN_VALUE} if
+     *  the digits are malformed.
+     */
+    private static long digits(final CharSequence text, final int from, final int till) {
+        final long limit = Integer.MAX_VALUE + 1L;
+        long value = 0;
+        boolean valid = from < till;
+        for (int pos = from; pos < till && valid; pos += 1) {
+            final int digit = Character.digit(text.charAt(pos), 16);
+            value = value * 16 + digit;
+            valid = digit >= 0 && value <= limit;
+        }
+        if (!valid) {
+            value = Long.MIN_VALUE;
+        }
+        return value;
+    }
+
+    /**
+     * Makes the exception about malformed data.
+     * @param text The text.
+     * @param offset The offset of the token of data.
+     * @param length The length of the token.
+     * @return The exception.
+     */
+    private static NumberFormatException malformed(
+        final CharSequence text, final int offset, final int length
+    ) {
+        return new NumberFormatException(
+            String.format("For input string: \"%s\"", text.subSequence(offset, offset + length))
+        );
+    }
+
+    /**
+     * The tokens which are read one by one.
+     * @since 0.1.0
+     */
+    private interface Cursor {
+
+        /**
+         * Gets the tag of the current token, like in {@link Tokens}.
+         * @return The tag.
+         */
+        int tag();
+
+        /**
+         * Gets the kind of the current string token.
+         * @return The kind.
+         */
+        Kind kind();
+
+        /**
+         * Gets the value of the current string token.
+         * @return The value.
+         */
+        String value();
+
+        /**
+         * Parses the current string token as data.
+         * @return The number.
+         */
+        int data();
+
+        /**
+         * Moves to the next token.
+         */
+        void next();
+
+        /**
+         * Checks whether the current token is the last one.
+         * @return True if it is.
+         */
+        boolean last();
+    }
+
+    /**
+     * The tokens of a tokenizer.
+     * @since 0.1.0
+     */
+    private static final class Streamed implements Cursor {
+
+        /**
+         * The tokenizer.
+         */
+        private final Tokenizer tokenizer;
+
+        /**
+         * Constructor.
+         * @param tokenizer The tokenizer.
+         */
+        Streamed(final Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        @Override
+        public int tag() {
+            final Token token = this.token();
+            final int tag;
+            if (token instanceof StringToken) {
+                tag = ((StringToken) token).kind().ordinal();
+            } else if (token instanceof ArrowToken) {
+                tag = Tokens.ARROW;
+            } else if (token instanceof BracketToken
+                && ((BracketToken) token).getState() == BracketToken.BracketType.OPEN) {
+                tag = Tokens.OPEN;
+            } else {
+                tag = Tokens.CLOSE;
+            }
+            return tag;
+        }
+
+        @Override
+        public Kind kind() {
+            return this.string().kind();
+        }
+
+        @Override
+        public String value() {
+            return this.string().getValue();
+        }
+
+        @Override
+        public int data() {
+            final StringToken token = this.string();
+            return Entities.hex(token, 0, token.length());
+        }
+
+        @Override
+        public void next() {
+            this.tokenizer.next();
+        }
+
+        @Override
+        public boolean last() {
+            return this.tokenizer.hasNext() && !this.tokenizer.has(1);
+        }
+
+        /**
+         * Gets the current string token.
+         * @return The token.
+         */
+        private StringToken string() {
+            final Token token = this.token();
+            if (!(token instanceof StringToken)) {
+                throw new IllegalArgumentException("Expected string token");
+            }
+            return (StringToken) token;
+        }
+
+        /**
+         * Gets the current token.
+         * @return The token.
+         */
+        private Token token() {
+            if (!this.tokenizer.hasNext()) {
+                throw new IllegalArgumentException("Unexpected end of input");
+            }
+            return this.tokenizer.getToken();
+        }
+    }
+
+    /**
+     * The tokens of a range of {@link Tokens}.
+     * @since 0.1.0
+     */
+    private static final class Indexed implements Cursor {
+
+        /**
+         * The tokens.
+         */
+        private final Tokens tokens;
+
+        /**
+         * The index after the last token of the range.
+         */
+        private final int till;
+
+        /**
+         * The index of the current token.
+         */
+        private int position;
+
+        /**
+         * Constructor.
+         * @param tokens The tokens.
+         * @param from The index of the first token of the range.
+         * @param till The index after the last token of the range.
+         */
+        Indexed(final Tokens tokens, final int from, final int till) {
+            this.tokens = tokens;
+            this.position = from;
+            this.till = till;
+        }
+
+        @Override
+        public int tag() {
+            if (this.position >= this.till) {
+                throw new IllegalArgumentException(
+                    String.format("Unexpected end of line: %s", this.line())
+                );
+            }
+            return this.tokens.tag(this.position);
+        }
+
+        @Override
+        public Kind kind() {
+            if (this.tag() < 0) {
+                throw new IllegalArgumentException("Expected string token");
+            }
+            return this.tokens.kind(this.position);
+        }
+
+        @Override
+        public String value() {
+            this.kind();
+            return this.tokens.value(this.position);
+        }
+
+        @Override
+        public int data() {
+            this.kind();
+            return Entities.hex(
+                this.tokens.text(),
+                this.tokens.start(this.position),
+                this.tokens.length(this.position)
+            );
+        }
+
+        @Override
+        public void next() {
+            if (this.position < this.till) {
+                this.position += 1;
+            }
+        }
+
+        @Override
+        public boolean last() {
+            return this.position == this.till - 1;
+        }
+
+        /**
+         * Gets the text of the line the range ends in, up to its last token.
+         * @return The text.
+         */
+        private String line() {
+            final CharSequence text = this.tokens.text();
+            int begin = 0;
+            int end = 0;
+            if (this.till > 0) {
+                final int last = this.till - 1;
+                begin = this.tokens.start(last);
+                end = begin + this.tokens.length(last);
+            }
+            while (begin > 0 && text.charAt(begin - 1) != '\n') {
+                begin -= 1;
+            }
+            return text.subSequence(begin, end).toString().trim();
+        }
+    }
 }
@@ -23,10 +23,16 @@
  */
 package org.objectionary.parsing;
 
+import java.util.Map;
 import org.objectionary.ObjectsBox;
+import org.objectionary.entities.Entity;
+import org.objectionary.tokens.Tokens;
 
 /**
  * One line parser.
+ * <p>
+ * Lines are read by index from {@link Tokens}, so a text may be scanned
+ * once and then parsed line by line without copies of its characters.
  * @since 0.1.0
  */
 public final class LineParser {
@@ -34,7 +40,6 @@ public final class LineParser {
     /**
      * The box to put the result into.
      */
-    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
     private final ObjectsBox results;
 
     /**
@@ -47,12 +52,93 @@ public final class LineParser {
 
     /**
      * Parses one line and puts the result into the box.
+     * <p>
+     * The line must look like {@code ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ 𝜋.z ⟧}.
      * @param line The line to parse.
-     * @todo #38:30min Implement this method.
-     *  This method should parse one line and put the result into the box.
      */
-    public void parseLine(final String line) {
-        throw new UnsupportedOperationException("Not implemented yet");
+    public void parseLine(final CharSequence line) {
+        this.parseLine(new Tokens(line), 0);
     }
 
+    /**
+     * Parses one line of scanned tokens and puts the result into the box.
+     * @param tokens The tokens.
+     * @param line The number of the line among lines which have tokens.
+     */
+    public void parseLine(final Tokens tokens, final int line) {
+        final int first = tokens.first(line);
+        final int end = tokens.end(line);
+        final String head = new Entities(tokens, first, end, this.results.flyweights()).string();
+        if (!LineParser.tagged(tokens, first + 1, end, Tokens.ARROW)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Expected arrow after %s in line: %s", head, LineParser.text(tokens, line)
+                )
+            );
+        }
+        if (!LineParser.tagged(tokens, first + 2, end, Tokens.OPEN)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Expected open bracket after %s in line: %s",
+                    head, LineParser.text(tokens, line)
+                )
+            );
+        }
+        final Entities entities = new Entities(
+            tokens, first + 3, end, this.results.flyweights()
+        );
+        final Map<String, Entity> bindings = entities.nested();
+        if (entities.last()) {
+            this.results.put(LineParser.name(head), bindings);
+        } else {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Expected end of line after close bracket of %s in line: %s",
+                    head, LineParser.text(tokens, line)
+                )
+            );
+        }
+    }
+
+    /**
+     * Gets the name of an object from the head of its line.
+     * @param head The head, like {@code ν1(𝜋)}.
+     * @return The name, like {@code ν1}.
+     */
+    private static String name(final String head) {
+        final int bracket = head.indexOf('(');
+        String result = head;
+        if (bracket >= 0) {
+            result = head.substring(0, bracket);
+        }
+        return result;
+    }
+
+    /**
+     * Checks the tag of a token of a line.
+     * @param tokens The tokens.
+     * @param index The index of the token.
+     * @param end The index after the last token of the line.
+     * @param tag The expected tag.
+     * @return True if the line has the token and it has the tag.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private static boolean tagged(
+        final Tokens tokens, final int index, final int end, final int tag
+    ) {
+        return index < end && tokens.tag(index) == tag;
+    }
+
+    /**
+     * Gets the text of a line, from its first token to its last one.
+     * @param tokens The tokens.
+     * @param line The number of the line.
+     * @return The text.
+     */
+    private static CharSequence text(final Tokens tokens, final int line) {
+        final int last = tokens.end(line) - 1;
+        return tokens.text().subSequence(
+            tokens.start(tokens.first(line)), tokens.start(last) + tokens.length(last)
+        );
+    }
 }
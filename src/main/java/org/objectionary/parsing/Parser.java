@@ -23,38 +23,270 @@
  */
 package org.objectionary.parsing;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.objectionary.BoxCache;
+import org.objectionary.Fingerprint;
 import org.objectionary.ObjectsBox;
+import org.objectionary.Symbols;
+import org.objectionary.atoms.Atoms;
+import org.objectionary.passes.Flattener;
+import org.objectionary.tokens.Tokens;
 
 /**
  * This class represents the parser.
+ * <p>
+ * Every line of the flat program describes one object and does not depend
+ * on other lines, so the input is split into chunks of whole lines which
+ * are parsed on a fork-join pool, one {@link LineParser} per chunk, straight
+ * into a shared {@link ObjectsBox}. Every chunk is scanned into
+ * {@link Tokens} once and its lines are parsed by index.
+ * <p>
+ * A parser with a {@link BoxCache} flattens the box after parsing, stores
+ * it in the cache and returns it from there when the same text is parsed
+ * again, even by another process.
  * @since 0.1.0
  */
 public final class Parser {
 
+    /**
+     * Chunks shorter than this number of characters are not split further.
+     */
+    private static final int CHUNK = 1 << 16;
+
     /**
      * The input.
      */
-    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
-    private final String input;
+    private final CharSequence input;
+
+    /**
+     * The number of threads to parse with.
+     */
+    private final int parallelism;
+
+    /**
+     * The atoms to resolve lambdas to.
+     */
+    private final Atoms atoms;
+
+    /**
+     * The cache of flattened boxes or {@code null} if there is none.
+     */
+    private final BoxCache cache;
+
+    /**
+     * Constructor.
+     * @param input The input to parse.
+     */
+    public Parser(final CharSequence input) {
+        this(input, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param input The input to parse.
+     * @param parallelism The number of threads to parse with.
+     */
+    public Parser(final CharSequence input, final int parallelism) {
+        this(input, parallelism, Atoms.STANDARD);
+    }
+
+    /**
+     * Constructor.
+     * @param input The input to parse.
+     * @param parallelism The number of threads to parse with.
+     * @param atoms The atoms to resolve lambdas to, custom ones included.
+     */
+    public Parser(final CharSequence input, final int parallelism, final Atoms atoms) {
+        this(input, parallelism, atoms, null);
+    }
 
     /**
      * Constructor.
      * @param input The input to parse.
+     * @param parallelism The number of threads to parse with.
+     * @param atoms The atoms to resolve lambdas to, custom ones included.
+     * @param cache The cache of flattened boxes or {@code null}.
+     * @checkstyle ParameterNumberCheck (10 lines)
      */
-    public Parser(final String input) {
+    private Parser(
+        final CharSequence input, final int parallelism, final Atoms atoms, final BoxCache cache
+    ) {
         this.input = input;
+        this.parallelism = parallelism;
+        this.atoms = atoms;
+        this.cache = cache;
+    }
+
+    /**
+     * Makes the parser which consults a cache of flattened boxes.
+     * <p>
+     * Boxes are flattened with the same parallelism as they are parsed.
+     * Texts parsed with atoms other than {@link Atoms#STANDARD} are parsed
+     * and flattened, but not cached, since the names of custom atoms are
+     * not a part of the key.
+     * @param boxes The cache.
+     * @return The parser.
+     */
+    public Parser withCache(final BoxCache boxes) {
+        return new Parser(this.input, this.parallelism, this.atoms, boxes);
     }
 
     /**
      * Parses the input.
-     * @return The parsed map.
-     * @todo #23:30min Implement this method.
-     *  This method should parse the input line by line
-     *  and return a objects box with the parsed objects.
-     * @checkstyle NonStaticMethodCheck (10 lines)
+     * @return The box with the parsed objects.
      */
     public ObjectsBox parse() {
-        return null;
+        if (this.parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format("Parallelism must be positive, but was %d", this.parallelism)
+            );
+        }
+        final ObjectsBox result;
+        if (this.cache == null) {
+            result = this.fresh();
+        } else if (Atoms.STANDARD.equals(this.atoms)) {
+            result = this.cached();
+        } else {
+            result = this.fresh();
+            new Flattener(result, this.parallelism).flatten();
+        }
+        return result;
     }
 
+    /**
+     * Gets the flattened box from the cache or makes and stores it.
+     * @return The flattened box.
+     */
+    private ObjectsBox cached() {
+        try {
+            final Fingerprint key = this.cache.key(this.input);
+            ObjectsBox box = this.cache.load(key, this.atoms);
+            if (box == null) {
+                box = this.fresh();
+                new Flattener(box, this.parallelism).flatten();
+                this.cache.save(key, box);
+            }
+            return box;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Parses the input into a new box.
+     * @return The box with the parsed objects.
+     */
+    private ObjectsBox fresh() {
+        final ObjectsBox box = new ObjectsBox(new Symbols(), this.atoms);
+        final Chunk all = new Chunk(this.input, 0, this.input.length(), box);
+        if (this.parallelism == 1 || this.input.length() <= Parser.CHUNK) {
+            all.compute();
+        } else {
+            final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+            try {
+                pool.invoke(all);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return box;
+    }
+
+    /**
+     * A chunk of whole lines of the input.
+     * <p>
+     * Halves of a chunk are forked only inside the private pool, so with
+     * the parallelism of one the whole input is parsed in the calling
+     * thread rather than in the common pool.
+     * @since 0.1.0
+     */
+    private static final class Chunk extends RecursiveAction {
+
+        /**
+         * Serialization identifier.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The input.
+         */
+        private final transient CharSequence input;
+
+        /**
+         * The first character of the chunk.
+         */
+        private final int start;
+
+        /**
+         * The character after the end of the chunk.
+         */
+        private final int end;
+
+        /**
+         * The box to put the result into.
+         */
+        private final transient ObjectsBox box;
+
+        /**
+         * Constructor.
+         * @param input The input.
+         * @param start The first character of the chunk.
+         * @param end The character after the end of the chunk.
+         * @param box The box to put the result into.
+         * @checkstyle ParameterNumberCheck (10 lines)
+         */
+        Chunk(final CharSequence input, final int start, final int end, final ObjectsBox box) {
+            super();
+            this.input = input;
+            this.start = start;
+            this.end = end;
+            this.box = box;
+        }
+
+        @Override
+        public void compute() {
+            int middle = this.end;
+            if (this.end - this.start > Parser.CHUNK) {
+                middle = this.boundary((this.start + this.end) / 2);
+            }
+            if (middle == this.end) {
+                this.parse();
+            } else if (RecursiveAction.inForkJoinPool()) {
+                RecursiveAction.invokeAll(
+                    new Chunk(this.input, this.start, middle, this.box),
+                    new Chunk(this.input, middle, this.end, this.box)
+                );
+            } else {
+                new Chunk(this.input, this.start, middle, this.box).compute();
+                new Chunk(this.input, middle, this.end, this.box).compute();
+            }
+        }
+
+        /**
+         * Scans the chunk once and parses its lines one by one.
+         */
+        private void parse() {
+            final LineParser parser = new LineParser(this.box);
+            final Tokens tokens = new Tokens(this.input, this.start, this.end);
+            for (int line = 0; line < tokens.lines(); line += 1) {
+                parser.parseLine(tokens, line);
+            }
+        }
+
+        /**
+         * Finds the start of the line after the given position.
+         * @param from The position to search from.
+         * @return The start of the next line or the end of the chunk.
+         */
+        private int boundary(final int from) {
+            int pos = from;
+            while (pos < this.end && this.input.charAt(pos) != '\n') {
+                pos += 1;
+            }
+            return Math.min(pos + 1, this.end);
+        }
+    }
 }
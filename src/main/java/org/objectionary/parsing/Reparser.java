@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.parsing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+import org.objectionary.Listener;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Reference;
+import org.objectionary.Referrers;
+import org.objectionary.entities.Entity;
+
+/**
+ * This class represents the incremental parser of edited lines.
+ * <p>
+ * An edited line {@code νN(𝜋) ↦ ⟦ … ⟧} is parsed alone and replaces the
+ * object {@code νN} in the box in place. The reparser listens to the box for
+ * changed objects and follows the {@link ObjectsBox#referrers()} index from
+ * them, so an edit costs time proportional to the line and the objects it
+ * invalidates, not to the program. Invalidated are the changed objects and
+ * all objects which refer to them through references and applications,
+ * directly or not; they are reported to the listeners of the reparser, so
+ * analyses like reachability and dataization may drop only what depends on
+ * them.
+ * @since 0.1.0
+ */
+public final class Reparser implements Listener {
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The parser of lines.
+     */
+    private final LineParser parser;
+
+    /**
+     * Identifiers of objects changed since the last report.
+     */
+    private final Set<Integer> dirty;
+
+    /**
+     * The listeners of invalidated objects.
+     */
+    private final List<IntConsumer> listeners;
+
+    /**
+     * The lock of changed objects.
+     */
+    private final Object mutex;
+
+    /**
+     * Whether the reparser listens to the box.
+     */
+    private boolean started;
+
+    /**
+     * Constructor.
+     * @param box The box of objects, parsed completely before.
+     */
+    public Reparser(final ObjectsBox box) {
+        this.box = box;
+        this.parser = new LineParser(box);
+        this.dirty = new LinkedHashSet<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.mutex = new Object();
+    }
+
+    /**
+     * Adds a listener of invalidated objects.
+     * @param listener The listener, called with the identifier of the name
+     *  of every invalidated object.
+     */
+    public void listen(final IntConsumer listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Parses an edited line and replaces its object in the box.
+     * <p>
+     * The first call indexes the whole box, the next ones take time
+     * proportional to the change.
+     * @param line The line, like {@code ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ 𝜋.z ⟧}.
+     * @return Identifiers of the names of objects invalidated since the
+     *  previous call, the changed ones first.
+     */
+    public int[] reparse(final CharSequence line) {
+        this.start();
+        this.parser.parseLine(line);
+        final int[] invalid = this.invalidated();
+        for (final IntConsumer listener : this.listeners) {
+            for (final int id : invalid) {
+                listener.accept(id);
+            }
+        }
+        return invalid;
+    }
+
+    @Override
+    public void changed(
+        final int id, final Map<String, Entity> before, final Map<String, Entity> after
+    ) {
+        synchronized (this.mutex) {
+            this.dirty.add(id);
+        }
+    }
+
+    /**
+     * Builds the index of the box and starts listening to it, once.
+     */
+    private void start() {
+        synchronized (this.mutex) {
+            if (!this.started) {
+                this.started = true;
+                this.box.referrers();
+                this.box.listen(this);
+            }
+        }
+    }
+
+    /**
+     * Collects changed objects and all objects referring to them.
+     * @return Identifiers of the names of the objects.
+     */
+    private int[] invalidated() {
+        final Referrers referrers = this.box.referrers();
+        synchronized (this.mutex) {
+            final Set<Integer> seen = new HashSet<>(this.dirty);
+            final Deque<Integer> queue = new ArrayDeque<>(this.dirty);
+            final List<Integer> order = new ArrayList<>(this.dirty);
+            this.dirty.clear();
+            while (!queue.isEmpty()) {
+                for (final Reference reference : referrers.find(queue.poll())) {
+                    final Integer source = reference.getObject();
+                    if (seen.add(source)) {
+                        queue.add(source);
+                        order.add(source);
+                    }
+                }
+            }
+            final int[] result = new int[order.size()];
+            for (int idx = 0; idx < result.length; idx += 1) {
+                result[idx] = order.get(idx);
+            }
+            return result;
+        }
+    }
+}
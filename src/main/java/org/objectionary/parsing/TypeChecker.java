@@ -23,23 +23,37 @@
  */
 package org.objectionary.parsing;
 
+import org.objectionary.tokens.Kind;
+import org.objectionary.tokens.StringToken;
+
 /**
  * This class is representing the type checker.
+ * <p>
+ * The token is classified once, by {@link Kind}, and every check compares
+ * only the kind.
  * @since 0.1.0
  */
 public final class TypeChecker {
 
     /**
-     * The token to check the type of.
+     * The kind of the token.
      */
-    private final String token;
+    private final Kind sort;
 
     /**
      * Constructor.
      * @param token The token to check the type of.
      */
     public TypeChecker(final String token) {
-        this.token = token;
+        this(new StringToken(token).kind());
+    }
+
+    /**
+     * Constructor.
+     * @param kind The kind of the token.
+     */
+    public TypeChecker(final Kind kind) {
+        this.sort = kind;
     }
 
     /**
@@ -47,7 +61,7 @@ public final class TypeChecker {
      * @return True if the token is an empty.
      */
     public boolean isEmpty() {
-        return this.token.equals("ø");
+        return this.sort == Kind.EMPTY;
     }
 
     /**
@@ -55,7 +69,7 @@ public final class TypeChecker {
      * @return True if the token is a locator.
      */
     public boolean isLocator() {
-        return this.token.startsWith("𝜋.") || this.token.startsWith("ξ.");
+        return this.sort == Kind.LOCATOR;
     }
 
     /**
@@ -63,7 +77,7 @@ public final class TypeChecker {
      * @return True if the token is a data.
      */
     public boolean isData() {
-        return this.token.startsWith("0x");
+        return this.sort == Kind.DATA;
     }
 
     /**
@@ -71,7 +85,7 @@ public final class TypeChecker {
      * @return True if the token is a lambda.
      */
     public boolean isLambda() {
-        return this.token.startsWith("bool") || this.token.startsWith("int");
+        return this.sort == Kind.LAMBDA;
     }
 
     /**
@@ -79,6 +93,6 @@ public final class TypeChecker {
      * @return True if the token is an object.
      */
     public boolean isObject() {
-        return this.token.charAt(0) == 'ν';
+        return this.sort == Kind.OBJECT;
     }
 }
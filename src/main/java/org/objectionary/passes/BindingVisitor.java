@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import org.objectionary.entities.Entity;
+
+/**
+ * This interface represents a pass applied to bindings of objects of a box
+ * one by one.
+ * <p>
+ * It is called for every binding of every object of the box in the
+ * traversal a {@link Pipeline} makes, possibly from several threads at
+ * once, and gets the entity left by the visitors before it. The bindings
+ * of an object are put back into the box once, after all visitors of the
+ * traversal, and only if any of them replaced an entity.
+ * @since 0.1.0
+ */
+public interface BindingVisitor {
+
+    /**
+     * Visits a binding.
+     * @param object The identifier of the name of the object.
+     * @param attribute The attribute of the binding.
+     * @param entity The entity of the binding.
+     * @return The entity to bind the attribute to, the same one to keep it.
+     */
+    Entity visit(int object, String attribute, Entity entity);
+}
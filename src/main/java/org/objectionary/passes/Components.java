@@ -0,0 +1,220 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.Arrays;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Symbols;
+
+/**
+ * This class represents the strongly connected components of the graph of
+ * references between objects {@code νN} of a box.
+ * <p>
+ * The graph is kept in {@code int} arrays and the components are found by
+ * the algorithm of Tarjan with explicit stacks, so neither deep chains nor
+ * tens of millions of references are a problem. Components are numbered in
+ * the topological order of dependencies: an object refers only to objects
+ * of its own component and of components with smaller numbers, so the
+ * components may be evaluated one by one from zero. The components are
+ * computed once, on construction, and do not follow later changes of the box.
+ * @since 0.1.0
+ */
+public final class Components {
+
+    /**
+     * The names of objects.
+     */
+    private final Symbols table;
+
+    /**
+     * The graph of references.
+     */
+    private final Graph references;
+
+    /**
+     * The component of every node.
+     */
+    private final int[] owners;
+
+    /**
+     * Start of the nodes of every component in {@link #grouped}, plus the end.
+     */
+    private final int[] starts;
+
+    /**
+     * Nodes grouped by components.
+     */
+    private final int[] grouped;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    public Components(final ObjectsBox box) {
+        this(box.symbols(), new Graph(box));
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The names of objects.
+     * @param graph The graph of references.
+     */
+    Components(final Symbols symbols, final Graph graph) {
+        this(symbols, graph, new int[graph.size()]);
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The names of objects.
+     * @param graph The graph of references.
+     * @param owners The array to put the component of every node into.
+     */
+    private Components(final Symbols symbols, final Graph graph, final int... owners) {
+        this(symbols, graph, owners, Components.group(owners, graph.components(owners)));
+    }
+
+    /**
+     * Constructor.
+     * @param symbols The names of objects.
+     * @param graph The graph of references.
+     * @param owners The component of every node.
+     * @param groups Starts of components and nodes grouped by components.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private Components(
+        final Symbols symbols, final Graph graph, final int[] owners, final int[]... groups
+    ) {
+        this.table = symbols;
+        this.references = graph;
+        this.owners = owners;
+        this.starts = groups[0];
+        this.grouped = groups[1];
+    }
+
+    /**
+     * Returns the number of components.
+     * @return The number of components.
+     */
+    public int count() {
+        return this.starts.length - 1;
+    }
+
+    /**
+     * Finds the component of an object.
+     * @param id The identifier of the name of the object.
+     * @return The component or {@code -1} if the box had no such object {@code νN}.
+     */
+    public int component(final int id) {
+        final int node = this.references.node(this.table.index(id));
+        int result = -1;
+        if (node >= 0) {
+            result = this.owners[node];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the objects of a component.
+     * @param component The component.
+     * @return Identifiers of the names of the objects.
+     */
+    public int[] members(final int component) {
+        final int[] members = this.nodes(component);
+        for (int idx = 0; idx < members.length; idx += 1) {
+            members[idx] = this.references.object(members[idx]);
+        }
+        return members;
+    }
+
+    /**
+     * Checks whether the objects of a component refer to each other in a
+     * cycle, that is, the component has several objects or its only object
+     * refers to itself.
+     * @param component The component.
+     * @return True if it is so.
+     */
+    public boolean cyclic(final int component) {
+        boolean result = this.starts[component + 1] - this.starts[component] > 1;
+        if (!result) {
+            final int node = this.grouped[this.starts[component]];
+            final Graph graph = this.references;
+            for (int edge = graph.start(node); edge < graph.end(node); edge += 1) {
+                result |= graph.target(edge) == node;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the graph of references.
+     * @return The graph.
+     */
+    Graph graph() {
+        return this.references;
+    }
+
+    /**
+     * Returns the component of a node.
+     * @param node The node.
+     * @return The component.
+     */
+    int owner(final int node) {
+        return this.owners[node];
+    }
+
+    /**
+     * Returns the nodes of a component.
+     * @param component The component.
+     * @return The nodes.
+     */
+    int[] nodes(final int component) {
+        return Arrays.copyOfRange(
+            this.grouped, this.starts[component], this.starts[component + 1]
+        );
+    }
+
+    /**
+     * Groups nodes by components.
+     * @param owners The component of every node.
+     * @param count The number of components.
+     * @return Starts of components and nodes grouped by components.
+     */
+    private static int[][] group(final int[] owners, final int count) {
+        final int[] starts = new int[count + 1];
+        for (final int owner : owners) {
+            starts[owner + 1] += 1;
+        }
+        for (int component = 0; component < count; component += 1) {
+            starts[component + 1] += starts[component];
+        }
+        final int[] nodes = new int[owners.length];
+        final int[] next = Arrays.copyOf(starts, count);
+        for (int node = 0; node < owners.length; node += 1) {
+            nodes[next[owners[node]]] = node;
+            next[owners[node]] += 1;
+        }
+        return new int[][] {starts, nodes};
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Symbols;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class represents the elimination of objects nothing refers to.
+ * <p>
+ * Objects reachable from {@code ν0} and from objects with names other than
+ * {@code νN} through references like {@code νK(ξ)} and applications like
+ * {@code νK( … )} are marked in a bitset by {@code N}, and the rest of the
+ * objects {@code νN} are removed from the box. Locators need no marking,
+ * since they lead only to attributes of objects which are reachable
+ * anyway. The mark runs on a fork-join pool: a task that has many objects
+ * to visit while other threads are idle forks half of them off, and idle
+ * threads steal such tasks. With one thread, the mark runs in the calling
+ * thread and never forks.
+ * @since 0.1.0
+ */
+public final class Eliminator {
+
+    /**
+     * The name of the outermost object.
+     */
+    private static final String ROOT = "ν0";
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The number of threads to mark with.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    public Eliminator(final ObjectsBox box) {
+        this(box, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param parallelism The number of threads to mark with.
+     */
+    public Eliminator(final ObjectsBox box, final int parallelism) {
+        this.box = box;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Removes the objects which are not reachable.
+     * @return The number of removed objects.
+     */
+    public int eliminate() {
+        if (this.parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format("Parallelism must be positive, but was %d", this.parallelism)
+            );
+        }
+        if (this.box.get(Eliminator.ROOT) == null) {
+            throw new IllegalArgumentException("The box does not contain the object ν0.");
+        }
+        final Symbols symbols = this.box.symbols();
+        final Marks marks = new Marks(this.box.bound());
+        final List<Integer> roots = new ArrayList<>(1);
+        for (final String name : this.box.content().keySet()) {
+            final int id = symbols.intern(name);
+            if (symbols.index(id) == Symbols.ABSENT || Eliminator.ROOT.equals(name)) {
+                roots.add(id);
+                marks.mark(symbols.index(id));
+            }
+        }
+        final int[] pending = new int[roots.size()];
+        for (int idx = 0; idx < pending.length; idx += 1) {
+            pending[idx] = roots.get(idx);
+        }
+        final Mark all = new Mark(this.box, marks, pending);
+        if (this.parallelism == 1) {
+            all.compute();
+        } else {
+            final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+            try {
+                pool.invoke(all);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return this.sweep(marks);
+    }
+
+    /**
+     * Removes objects {@code νN} which are not marked.
+     * @param marks The marks.
+     * @return The number of removed objects.
+     */
+    private int sweep(final Marks marks) {
+        final Symbols symbols = this.box.symbols();
+        int removed = 0;
+        for (final String name : this.box.content().keySet()) {
+            final int id = symbols.intern(name);
+            final int index = symbols.index(id);
+            if (index != Symbols.ABSENT && !marks.marked(index)) {
+                this.box.remove(id);
+                removed += 1;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * The task marking objects reachable from some objects.
+     * @since 0.1.0
+     */
+    private static final class Mark extends RecursiveAction {
+
+        /**
+         * Serialization identifier.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Tasks with fewer objects to visit than this do not fork.
+         */
+        private static final int FORK = 64;
+
+        /**
+         * The box of objects.
+         */
+        private final transient ObjectsBox box;
+
+        /**
+         * The marks.
+         */
+        private final transient Marks marks;
+
+        /**
+         * Identifiers of the names of objects to visit.
+         */
+        private int[] stack;
+
+        /**
+         * The number of objects to visit.
+         */
+        private int depth;
+
+        /**
+         * Constructor.
+         * @param box The box of objects.
+         * @param marks The marks.
+         * @param pending Identifiers of the names of objects to visit, marked already.
+         */
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Mark(final ObjectsBox box, final Marks marks, final int... pending) {
+            super();
+            this.box = box;
+            this.marks = marks;
+            this.stack = pending;
+            this.depth = pending.length;
+        }
+
+        @Override
+        public void compute() {
+            final List<Mark> forked = new ArrayList<>(0);
+            final List<Map<String, Entity>> scans = new ArrayList<>(4);
+            while (this.depth > 0) {
+                this.depth -= 1;
+                final Map<String, Entity> bindings = this.box.get(this.stack[this.depth]);
+                if (bindings != null) {
+                    scans.add(bindings);
+                }
+                while (!scans.isEmpty()) {
+                    this.scan(scans.remove(scans.size() - 1), scans);
+                }
+                if (this.depth > Mark.FORK && RecursiveAction.inForkJoinPool()
+                    && RecursiveAction.getSurplusQueuedTaskCount() <= 0) {
+                    final int half = this.depth / 2;
+                    final Mark task = new Mark(
+                        this.box, this.marks, Arrays.copyOfRange(this.stack, half, this.depth)
+                    );
+                    this.depth = half;
+                    task.fork();
+                    forked.add(task);
+                }
+            }
+            for (final Mark task : forked) {
+                task.join();
+            }
+        }
+
+        /**
+         * Marks and schedules objects referred to from bindings.
+         * @param bindings The bindings.
+         * @param scans Bindings of applications to scan.
+         */
+        private void scan(
+            final Map<String, Entity> bindings, final List<Map<String, Entity>> scans
+        ) {
+            for (final Entity entity : bindings.values()) {
+                if (entity instanceof FlatObject) {
+                    final FlatObject flat = (FlatObject) entity;
+                    this.visit(flat.getId(), flat.getName());
+                } else if (entity instanceof NestedObject) {
+                    final NestedObject nested = (NestedObject) entity;
+                    this.visit(nested.getId(), nested.getName());
+                    scans.add(nested.getApplication());
+                }
+            }
+        }
+
+        /**
+         * Marks an object and schedules it if it was not marked before.
+         * @param id The identifier of the name of the object or
+         *  {@link Symbols#ABSENT} if it is not interned.
+         * @param name The name of the object.
+         */
+        private void visit(final int id, final String name) {
+            int object = id;
+            if (object == Symbols.ABSENT) {
+                object = this.box.symbols().intern(name);
+            }
+            if (this.marks.mark(this.box.symbols().index(object))) {
+                if (this.depth == this.stack.length) {
+                    this.stack = Arrays.copyOf(this.stack, Math.max(16, this.depth * 2));
+                }
+                this.stack[this.depth] = object;
+                this.depth += 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.objectionary.ObjectsBox;
+import org.objectionary.entities.Entity;
+
+/**
+ * This class represents the removal of nesting from a box of objects.
+ * <p>
+ * Every application {@code νK( x ↦ … )} in the box becomes a new object
+ * with a fresh name {@code νN}, referred to as {@code νN(ξ)} from where the
+ * application was. Objects are flattened independently, so slices of them
+ * are flattened on a fork-join pool, and fresh names are allocated by the
+ * box atomically. Bases of applications are taken from a snapshot of the
+ * box made before the slices start, so the result does not depend on the
+ * order the slices run in. The time is linear in the number of bindings
+ * produced.
+ * @since 0.1.0
+ */
+public final class Flattener {
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The number of threads to flatten with.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    public Flattener(final ObjectsBox box) {
+        this(box, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param parallelism The number of threads to flatten with.
+     */
+    public Flattener(final ObjectsBox box, final int parallelism) {
+        this.box = box;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Removes nesting from all objects of the box.
+     */
+    public void flatten() {
+        final List<Map<String, Entity>> originals = new ArrayList<>(
+            this.box.symbols().count()
+        );
+        final int[] objects = this.snapshot(originals);
+        final ObjectVisitor visitor = this.visitor(originals);
+        new Slices(this.parallelism).each(objects.length, idx -> visitor.visit(objects[idx]));
+    }
+
+    /**
+     * Makes the removal of nesting a pass over objects of the box, to run it
+     * in a {@link Pipeline} together with other passes.
+     * <p>
+     * The visitor is not local: it reads bases of applications and creates
+     * objects. Bases are read from the box as it is when the visitor is made
+     * or prepared for a traversal.
+     * @return The visitor, safe to call from several threads at once.
+     */
+    public ObjectVisitor visitor() {
+        final Visitor visitor = this.new Visitor();
+        visitor.prepare();
+        return visitor;
+    }
+
+    /**
+     * Takes the bindings of all objects of the box.
+     * @param originals The list to put the bindings to, by identifiers of
+     *  names of objects.
+     * @return The identifiers of names of the objects.
+     */
+    private int[] snapshot(final List<Map<String, Entity>> originals) {
+        final int[] objects = new int[this.box.content().size()];
+        int count = 0;
+        for (final Map.Entry<String, Map<String, Entity>> object
+            : this.box.content().entrySet()) {
+            if (count == objects.length) {
+                break;
+            }
+            final int id = this.box.symbols().intern(object.getKey());
+            while (originals.size() <= id) {
+                originals.add(null);
+            }
+            originals.set(id, object.getValue());
+            objects[count] = id;
+            count += 1;
+        }
+        return Arrays.copyOf(objects, count);
+    }
+
+    /**
+     * Makes the removal of nesting a pass over objects of the box.
+     * @param originals The bindings of objects before the removal, by
+     *  identifiers of names.
+     * @return The visitor, safe to call from several threads at once.
+     */
+    private ObjectVisitor visitor(final List<Map<String, Entity>> originals) {
+        final ThreadLocal<Unnesting> unnesting = ThreadLocal.withInitial(
+            () -> new Unnesting(this.box, originals)
+        );
+        return object -> unnesting.get().apply(object);
+    }
+
+    /**
+     * The removal of nesting as a pass in a pipeline.
+     * @since 0.1.0
+     */
+    private final class Visitor implements ObjectVisitor {
+
+        /**
+         * The removal of nesting from the snapshot of the latest traversal.
+         */
+        private volatile ObjectVisitor current;
+
+        @Override
+        public void visit(final int object) {
+            this.current.visit(object);
+        }
+
+        @Override
+        public void prepare() {
+            final List<Map<String, Entity>> originals = new ArrayList<>(
+                Flattener.this.box.symbols().count()
+            );
+            Flattener.this.snapshot(originals);
+            this.current = Flattener.this.visitor(originals);
+        }
+
+        @Override
+        public boolean local() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Symbols;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class represents the graph of references between objects {@code νN}.
+ * <p>
+ * Nodes are numbered from zero in the order of the box, and edges of every
+ * node are kept in one {@code int} array, one slice per node, so the graph
+ * takes a few bytes per reference. Nodes are found by the indexes of names
+ * in a hash table sized by the number of objects, so gaps between indexes
+ * cost nothing. Edges come from references like
+ * {@code νK(ξ)} and from applications like {@code νK( … )}, in the order of
+ * bindings.
+ * @since 0.1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class Graph {
+
+    /**
+     * Identifiers of the names of objects by node.
+     */
+    private final int[] objects;
+
+    /**
+     * Indexes {@code N} of the names {@code νN} of objects by slots.
+     */
+    private final int[] keys;
+
+    /**
+     * Nodes plus one by slots, zero if the slot is free.
+     */
+    private final int[] nodes;
+
+    /**
+     * Start of the edges of every node in {@link #targets}, plus the end.
+     */
+    private final int[] starts;
+
+    /**
+     * Target nodes of edges.
+     */
+    private final int[] targets;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    Graph(final ObjectsBox box) {
+        this(box, Graph.names(box));
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param objects Identifiers of the names of objects {@code νN} of the box.
+     */
+    private Graph(final ObjectsBox box, final int... objects) {
+        this(box, objects, Graph.index(box, objects));
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param objects Identifiers of the names of objects {@code νN} of the box.
+     * @param table Indexes {@code N} of the names and nodes plus one by slots.
+     */
+    private Graph(final ObjectsBox box, final int[] objects, final int[]... table) {
+        this(objects, table, Graph.edges(box, objects, table));
+    }
+
+    /**
+     * Constructor.
+     * @param objects Identifiers of the names of objects by node.
+     * @param table Indexes {@code N} of the names and nodes plus one by slots.
+     * @param edges Starts of the edges of nodes and targets of edges.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private Graph(final int[] objects, final int[][] table, final int[]... edges) {
+        this.objects = objects;
+        this.keys = table[0];
+        this.nodes = table[1];
+        this.starts = edges[0];
+        this.targets = edges[1];
+    }
+
+    /**
+     * Returns the number of nodes.
+     * @return The number of nodes.
+     */
+    int size() {
+        return this.objects.length;
+    }
+
+    /**
+     * Returns the identifier of the name of the object of a node.
+     * @param node The node.
+     * @return The identifier.
+     */
+    int object(final int node) {
+        return this.objects[node];
+    }
+
+    /**
+     * Returns the node of an object.
+     * @param index The index {@code N} of the name {@code νN} of the object.
+     * @return The node or {@code -1} if the box had no such object.
+     */
+    int node(final int index) {
+        return Graph.find(this.keys, this.nodes, index);
+    }
+
+    /**
+     * Returns the start of the edges of a node.
+     * @param node The node.
+     * @return The position of the first edge.
+     */
+    int start(final int node) {
+        return this.starts[node];
+    }
+
+    /**
+     * Returns the end of the edges of a node.
+     * @param node The node.
+     * @return The position after the last edge.
+     */
+    int end(final int node) {
+        return this.starts[node + 1];
+    }
+
+    /**
+     * Returns the target of an edge.
+     * @param edge The position of the edge.
+     * @return The target node.
+     */
+    int target(final int edge) {
+        return this.targets[edge];
+    }
+
+    /**
+     * Finds strongly connected components.
+     * <p>
+     * This is the algorithm of Tarjan with explicit stacks instead of
+     * recursion. Components are numbered so that edges never lead from a
+     * component to a component with a greater number, that is, in the
+     * reverse topological order.
+     * @param components The array to put the component of every node into.
+     * @return The number of components.
+     */
+    int components(final int... components) {
+        Arrays.fill(components, 0, this.size(), -1);
+        final Tarjan tarjan = new Tarjan(this, components);
+        for (int root = 0; root < this.size(); root += 1) {
+            tarjan.connect(root);
+        }
+        return tarjan.count();
+    }
+
+    /**
+     * Returns the index {@code N} of the name {@code νN} of a referenced object.
+     * @param symbols The symbols.
+     * @param id The identifier known to the entity, maybe {@link Symbols#ABSENT}.
+     * @param name The name of the object.
+     * @return The index or {@link Symbols#ABSENT} if the name is not like {@code νN}
+     *  or not interned.
+     */
+    static int index(final Symbols symbols, final int id, final String name) {
+        int object = id;
+        if (object == Symbols.ABSENT) {
+            object = symbols.find(name);
+        }
+        int result = Symbols.ABSENT;
+        if (object != Symbols.ABSENT) {
+            result = symbols.index(object);
+        }
+        return result;
+    }
+
+    /**
+     * Collects identifiers of the names of objects {@code νN} of the box.
+     * @param box The box.
+     * @return The identifiers in the order of the box.
+     */
+    private static int[] names(final ObjectsBox box) {
+        final Symbols symbols = box.symbols();
+        int[] names = new int[16];
+        int count = 0;
+        for (final String name : box.content().keySet()) {
+            final int id = symbols.intern(name);
+            if (symbols.index(id) != Symbols.ABSENT) {
+                if (count == names.length) {
+                    names = Arrays.copyOf(names, count * 2);
+                }
+                names[count] = id;
+                count += 1;
+            }
+        }
+        return Arrays.copyOf(names, count);
+    }
+
+    /**
+     * Numbers the objects by the indexes of their names.
+     * <p>
+     * The table has at least twice as many slots as objects, so probes
+     * stay short.
+     * @param box The box.
+     * @param objects Identifiers of the names of objects.
+     * @return Indexes {@code N} of the names and nodes plus one by slots.
+     */
+    private static int[][] index(final ObjectsBox box, final int... objects) {
+        final int size = Integer.highestOneBit(Math.max(objects.length, 1)) << 2;
+        final int[] keys = new int[size];
+        final int[] nodes = new int[size];
+        for (int node = 0; node < objects.length; node += 1) {
+            final int index = box.symbols().index(objects[node]);
+            final int slot = Graph.slot(keys, nodes, index);
+            keys[slot] = index;
+            nodes[slot] = node + 1;
+        }
+        return new int[][] {keys, nodes};
+    }
+
+    /**
+     * Finds the node of an object in the table.
+     * @param keys Indexes {@code N} of the names of objects by slots.
+     * @param nodes Nodes plus one by slots, zero if the slot is free.
+     * @param index The index {@code N} of the name {@code νN} of the object.
+     * @return The node or {@code -1} if there is no such object.
+     */
+    private static int find(final int[] keys, final int[] nodes, final int index) {
+        int node = -1;
+        if (index >= 0) {
+            node = nodes[Graph.slot(keys, nodes, index)] - 1;
+        }
+        return node;
+    }
+
+    /**
+     * Finds the slot of an index in the table.
+     * @param keys Indexes {@code N} of the names of objects by slots.
+     * @param nodes Nodes plus one by slots, zero if the slot is free.
+     * @param index The index {@code N} of the name.
+     * @return The slot with the index or the free slot for it.
+     */
+    private static int slot(final int[] keys, final int[] nodes, final int index) {
+        final int mask = nodes.length - 1;
+        final int mixed = index * 0x9E37_79B9;
+        int slot = (mixed ^ mixed >>> 16) & mask;
+        while (nodes[slot] != 0 && keys[slot] != index) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Collects the edges of all objects.
+     * @param box The box.
+     * @param objects Identifiers of the names of objects.
+     * @param table Indexes {@code N} of the names and nodes plus one by slots.
+     * @return Starts of the edges of nodes and targets of edges.
+     */
+    private static int[][] edges(final ObjectsBox box, final int[] objects, final int[]... table) {
+        final Symbols symbols = box.symbols();
+        final int[] starts = new int[objects.length + 1];
+        int[] targets = new int[objects.length];
+        int count = 0;
+        final List<Map<String, Entity>> scans = new ArrayList<>(4);
+        for (int node = 0; node < objects.length; node += 1) {
+            starts[node] = count;
+            scans.add(box.get(objects[node]));
+            while (!scans.isEmpty()) {
+                for (final Entity entity : scans.remove(scans.size() - 1).values()) {
+                    int index = Symbols.ABSENT;
+                    if (entity instanceof FlatObject) {
+                        final FlatObject flat = (FlatObject) entity;
+                        index = Graph.index(symbols, flat.getId(), flat.getName());
+                    } else if (entity instanceof NestedObject) {
+                        final NestedObject nested = (NestedObject) entity;
+                        index = Graph.index(symbols, nested.getId(), nested.getName());
+                        scans.add(nested.getApplication());
+                    }
+                    final int target = Graph.find(table[0], table[1], index);
+                    if (target >= 0) {
+                        if (count == targets.length) {
+                            targets = Arrays.copyOf(targets, count * 2 + 1);
+                        }
+                        targets[count] = target;
+                        count += 1;
+                    }
+                }
+            }
+        }
+        starts[objects.length] = count;
+        return new int[][] {starts, Arrays.copyOf(targets, count)};
+    }
+
+    /**
+     * The search of strongly connected components.
+     * @since 0.1.0
+     */
+    private static final class Tarjan {
+
+        /**
+         * The graph.
+         */
+        private final Graph graph;
+
+        /**
+         * The component of every node, {@code -1} if it is not known yet.
+         */
+        private final int[] components;
+
+        /**
+         * The order of the visit of every node, plus one.
+         */
+        private final int[] order;
+
+        /**
+         * The lowest order reachable from every node.
+         */
+        private final int[] lows;
+
+        /**
+         * The next edge to follow from every node.
+         */
+        private final int[] edges;
+
+        /**
+         * The path of the search.
+         */
+        private final int[] calls;
+
+        /**
+         * Visited nodes without a component.
+         */
+        private final int[] stack;
+
+        /**
+         * The number of visited nodes.
+         */
+        private int visited;
+
+        /**
+         * The number of nodes on the path.
+         */
+        private int depth;
+
+        /**
+         * The number of nodes on the stack.
+         */
+        private int top;
+
+        /**
+         * The number of found components.
+         */
+        private int found;
+
+        /**
+         * Constructor.
+         * @param graph The graph.
+         * @param components The array to put the component of every node into.
+         */
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Tarjan(final Graph graph, final int... components) {
+            this.graph = graph;
+            this.components = components;
+            this.order = new int[graph.size()];
+            this.lows = new int[graph.size()];
+            this.edges = new int[graph.size()];
+            this.calls = new int[graph.size()];
+            this.stack = new int[graph.size()];
+        }
+
+        /**
+         * Returns the number of found components.
+         * @return The number.
+         */
+        int count() {
+            return this.found;
+        }
+
+        /**
+         * Finds components reachable from a node which is not visited yet.
+         * @param root The node.
+         */
+        void connect(final int root) {
+            if (this.order[root] == 0) {
+                this.visit(root);
+            }
+            while (this.depth > 0) {
+                final int node = this.calls[this.depth - 1];
+                if (this.edges[node] < this.graph.end(node)) {
+                    final int next = this.graph.target(this.edges[node]);
+                    this.edges[node] += 1;
+                    if (this.order[next] == 0) {
+                        this.visit(next);
+                    } else if (this.components[next] < 0) {
+                        this.lows[node] = Math.min(this.lows[node], this.order[next]);
+                    }
+                } else {
+                    this.leave(node);
+                }
+            }
+        }
+
+        /**
+         * Enters a node.
+         * @param node The node.
+         */
+        private void visit(final int node) {
+            this.visited += 1;
+            this.order[node] = this.visited;
+            this.lows[node] = this.visited;
+            this.edges[node] = this.graph.start(node);
+            this.stack[this.top] = node;
+            this.top += 1;
+            this.calls[this.depth] = node;
+            this.depth += 1;
+        }
+
+        /**
+         * Leaves a node whose edges are all followed.
+         * @param node The node.
+         */
+        private void leave(final int node) {
+            this.depth -= 1;
+            if (this.lows[node] == this.order[node]) {
+                int member;
+                do {
+                    this.top -= 1;
+                    member = this.stack[this.top];
+                    this.components[member] = this.found;
+                } while (member != node);
+                this.found += 1;
+            }
+            if (this.depth > 0) {
+                final int caller = this.calls[this.depth - 1];
+                this.lows[caller] = Math.min(this.lows[caller], this.lows[node]);
+            }
+        }
+    }
+}
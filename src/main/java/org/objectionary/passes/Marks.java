@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class represents the marks of objects by the indexes {@code N} of
+ * their names {@code νN}.
+ * <p>
+ * It is a bitset which is safe to mark from several threads at once.
+ * @since 0.1.0
+ */
+final class Marks {
+
+    /**
+     * The words of bits.
+     */
+    private final AtomicLongArray words;
+
+    /**
+     * The number of bits.
+     */
+    private final int size;
+
+    /**
+     * Constructor.
+     * @param size The number of bits.
+     */
+    Marks(final int size) {
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+        this.size = size;
+    }
+
+    /**
+     * Marks an index.
+     * @param index The index.
+     * @return True if the index was not marked before and is in the bitset.
+     */
+    boolean mark(final int index) {
+        boolean result = false;
+        if (index >= 0 && index < this.size) {
+            final int word = index >>> 6;
+            final long bit = 1L << index;
+            long before = this.words.get(word);
+            while ((before & bit) == 0 && !this.words.compareAndSet(word, before, before | bit)) {
+                before = this.words.get(word);
+            }
+            result = (before & bit) == 0;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether an index is marked.
+     * @param index The index.
+     * @return True if it is.
+     */
+    boolean marked(final int index) {
+        return index >= 0 && index < this.size
+            && (this.words.get(index >>> 6) & 1L << index) != 0;
+    }
+}
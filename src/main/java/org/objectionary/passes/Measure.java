@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the cost of a pass run by a {@link Pipeline}.
+ * @since 0.1.0
+ */
+public final class Measure {
+
+    /**
+     * The name of the pass.
+     */
+    private final String title;
+
+    /**
+     * The time spent in the pass, in nanoseconds.
+     */
+    private final long time;
+
+    /**
+     * The number of objects the pass touched.
+     */
+    private final long count;
+
+    /**
+     * The number of bytes allocated by the pass.
+     */
+    private final long memory;
+
+    /**
+     * Constructor.
+     * @param title The name of the pass.
+     * @param time The time spent in the pass, in nanoseconds.
+     * @param count The number of objects the pass touched.
+     * @param memory The number of bytes allocated by the pass.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public Measure(final String title, final long time, final long count, final long memory) {
+        this.title = title;
+        this.time = time;
+        this.count = count;
+        this.memory = memory;
+    }
+
+    /**
+     * Gets the name of the pass.
+     * @return The name.
+     */
+    public String name() {
+        return this.title;
+    }
+
+    /**
+     * Gets the time spent in the pass.
+     * <p>
+     * It is the wall time of a pass over the whole box, and the wall time of
+     * the traversal for a visitor pass; visitors fused into one traversal
+     * all get its time.
+     * @return The time in nanoseconds.
+     */
+    public long nanos() {
+        return this.time;
+    }
+
+    /**
+     * Gets the number of objects the pass touched.
+     * <p>
+     * It is the number of objects visited by a visitor pass, and the number
+     * of objects in the box when it started for a pass over the whole box.
+     * @return The number of objects.
+     */
+    public long objects() {
+        return this.count;
+    }
+
+    /**
+     * Gets the number of bytes the pass allocated.
+     * <p>
+     * It is zero if the virtual machine does not count allocations per
+     * thread. A pass over the whole box which runs tasks on other threads
+     * is charged only with what its own thread allocated. Visitors fused
+     * into one traversal all get the bytes of the whole traversal.
+     * @return The number of bytes.
+     */
+    public long bytes() {
+        return this.memory;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s: %d ms, %d objects, %d bytes",
+            this.title, TimeUnit.NANOSECONDS.toMillis(this.time), this.count, this.memory
+        );
+    }
+}
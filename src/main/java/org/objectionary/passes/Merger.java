@@ -0,0 +1,557 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Symbols;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class represents the merging of structurally identical objects.
+ * <p>
+ * Objects {@code νN} are grouped into classes bottom-up: the class of an
+ * object is interned by its bindings, sorted by attribute, where every
+ * reference like {@code νK(ξ)} is replaced with the class of {@code νK}.
+ * Since references may form cycles, the classes are computed over strongly
+ * connected components of the graph of references, taken in the
+ * topological order from the objects nothing depends on; components of the
+ * same height do not depend on each other and are classified on a
+ * fork-join pool through one concurrent intern table. Objects of all cycles
+ * of the same height are classified together by refining their partition
+ * until it is stable, starting from their signatures, so equivalent cycles
+ * of different components are merged as well. Then every class
+ * keeps the object with the smallest {@code N}, references to the others are
+ * rewritten to it, and the others are removed. Objects with other names are
+ * never merged, though their references are rewritten as well. The box must
+ * be flattened before.
+ * @since 0.1.0
+ */
+public final class Merger {
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The number of threads to merge with.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    public Merger(final ObjectsBox box) {
+        this(box, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param parallelism The number of threads to merge with.
+     */
+    public Merger(final ObjectsBox box, final int parallelism) {
+        this.box = box;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Merges identical objects.
+     * @return The number of removed objects.
+     */
+    public int merge() {
+        final Slices slices = new Slices(this.parallelism);
+        final Graph graph = new Graph(this.box);
+        final Components components = new Components(this.box.symbols(), graph);
+        final int[] heights = Merger.heights(components);
+        final int[] order = Merger.order(heights);
+        final Partition classes = new Partition(this.box, components);
+        int start = 0;
+        while (start < order.length) {
+            int end = start + 1;
+            while (end < order.length && heights[order[end]] == heights[order[start]]) {
+                end += 1;
+            }
+            final int[] level = Arrays.copyOfRange(order, start, end);
+            slices.each(level.length, idx -> classes.classify(level[idx]));
+            classes.refine(level);
+            start = end;
+        }
+        final int[] kept = classes.representatives();
+        final int[] objects = Merger.objects(this.box);
+        slices.each(objects.length, idx -> this.rewrite(graph, kept, objects[idx]));
+        int removed = 0;
+        for (int node = 0; node < graph.size(); node += 1) {
+            if (kept[node] != node) {
+                this.box.remove(graph.object(node));
+                removed += 1;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Rewrites references of an object to the kept objects.
+     * @param graph The graph of references.
+     * @param kept The kept node by node.
+     * @param object The identifier of the name of the object.
+     */
+    private void rewrite(final Graph graph, final int[] kept, final int object) {
+        final Symbols symbols = this.box.symbols();
+        final int self = graph.node(symbols.index(object));
+        final Map<String, Entity> bindings = this.box.get(object);
+        if (bindings != null && (self < 0 || kept[self] == self)
+            && Merger.stale(graph, symbols, kept, bindings)) {
+            final Map<String, Entity> result = new LinkedHashMap<>(bindings);
+            for (final Map.Entry<String, Entity> binding : bindings.entrySet()) {
+                final int node = Merger.target(graph, symbols, binding.getValue());
+                if (node >= 0 && kept[node] != node) {
+                    result.put(
+                        binding.getKey(),
+                        this.box.flyweights().flat(
+                            graph.object(kept[node]),
+                            ((FlatObject) binding.getValue()).getLocator()
+                        )
+                    );
+                }
+            }
+            this.box.put(object, result);
+        }
+    }
+
+    /**
+     * Checks whether bindings refer to objects which are not kept.
+     * @param graph The graph of references.
+     * @param symbols The symbols.
+     * @param kept The kept node by node.
+     * @param bindings The bindings.
+     * @return True if they do.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private static boolean stale(
+        final Graph graph, final Symbols symbols, final int[] kept,
+        final Map<String, Entity> bindings
+    ) {
+        boolean result = false;
+        for (final Entity entity : bindings.values()) {
+            final int node = Merger.target(graph, symbols, entity);
+            result |= node >= 0 && kept[node] != node;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the node a binding refers to.
+     * @param graph The graph of references.
+     * @param symbols The symbols.
+     * @param entity The entity of the binding.
+     * @return The node or {@code -1} if the entity is not a reference to a node.
+     */
+    private static int target(final Graph graph, final Symbols symbols, final Entity entity) {
+        int node = -1;
+        if (entity instanceof FlatObject) {
+            final FlatObject flat = (FlatObject) entity;
+            node = graph.node(Graph.index(symbols, flat.getId(), flat.getName()));
+        }
+        return node;
+    }
+
+    /**
+     * Collects identifiers of the names of all objects of the box.
+     * @param box The box.
+     * @return The identifiers.
+     */
+    private static int[] objects(final ObjectsBox box) {
+        final int[] objects = new int[box.content().size()];
+        int count = 0;
+        for (final String name : box.content().keySet()) {
+            if (count == objects.length) {
+                break;
+            }
+            objects[count] = box.symbols().intern(name);
+            count += 1;
+        }
+        return Arrays.copyOf(objects, count);
+    }
+
+    /**
+     * Finds the height of every component, that is, the length of the
+     * longest path from it to a component which refers to nothing.
+     * @param components The components.
+     * @return Heights of components.
+     */
+    private static int[] heights(final Components components) {
+        final int[] heights = new int[components.count()];
+        for (int component = 0; component < heights.length; component += 1) {
+            heights[component] = Merger.height(components, component, heights);
+        }
+        return heights;
+    }
+
+    /**
+     * Finds the height of a component from heights of the components it
+     * refers to.
+     * @param components The components.
+     * @param component The component.
+     * @param heights Heights of components with smaller numbers.
+     * @return The height.
+     */
+    private static int height(
+        final Components components, final int component, final int... heights
+    ) {
+        final Graph graph = components.graph();
+        int height = 0;
+        for (final int node : components.nodes(component)) {
+            for (int edge = graph.start(node); edge < graph.end(node); edge += 1) {
+                final int target = components.owner(graph.target(edge));
+                if (target != component) {
+                    height = Math.max(height, heights[target] + 1);
+                }
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Sorts components by height.
+     * @param heights Heights of components.
+     * @return Components in the order of growing height.
+     */
+    private static int[] order(final int... heights) {
+        int top = 0;
+        for (final int height : heights) {
+            top = Math.max(top, height);
+        }
+        final int[] starts = new int[top + 2];
+        for (final int height : heights) {
+            starts[height + 1] += 1;
+        }
+        for (int height = 0; height <= top; height += 1) {
+            starts[height + 1] += starts[height];
+        }
+        final int[] order = new int[heights.length];
+        for (int component = 0; component < heights.length; component += 1) {
+            order[starts[heights[component]]] = component;
+            starts[heights[component]] += 1;
+        }
+        return order;
+    }
+
+    /**
+     * The partition of objects into classes.
+     * @since 0.1.0
+     */
+    private static final class Partition {
+
+        /**
+         * The placeholder for the class of an object of the same cycle.
+         */
+        private static final Integer CYCLE = -1;
+
+        /**
+         * The box of objects.
+         */
+        private final ObjectsBox box;
+
+        /**
+         * The graph of references.
+         */
+        private final Graph graph;
+
+        /**
+         * The components of the graph.
+         */
+        private final Components components;
+
+        /**
+         * The class of every node.
+         */
+        private final int[] classes;
+
+        /**
+         * Classes by signatures of objects.
+         */
+        private final ConcurrentMap<Signature, Integer> table;
+
+        /**
+         * The number of classes.
+         */
+        private final AtomicInteger total;
+
+        /**
+         * Constructor.
+         * @param box The box of objects.
+         * @param components The components of the graph of references.
+         */
+        Partition(final ObjectsBox box, final Components components) {
+            this.box = box;
+            this.graph = components.graph();
+            this.components = components;
+            this.classes = new int[this.graph.size()];
+            this.table = new ConcurrentHashMap<>(this.graph.size());
+            this.total = new AtomicInteger();
+        }
+
+        /**
+         * Classifies the object of a component without cycles.
+         * <p>
+         * All components the object refers to must be classified already.
+         * Components with cycles are left to {@link #refine(int...)}.
+         * @param component The component.
+         */
+        void classify(final int component) {
+            if (!this.components.cyclic(component)) {
+                final int member = this.components.nodes(component)[0];
+                this.classes[member] = this.table.computeIfAbsent(
+                    this.signature(member), key -> this.total.getAndIncrement()
+                );
+            }
+        }
+
+        /**
+         * Classifies the objects of all components with cycles among the
+         * given ones together, by refining their partition.
+         * <p>
+         * The partition starts from signatures of the objects, which do not
+         * depend on the component, so objects of equivalent cycles of
+         * different components get the same classes. All components the
+         * objects refer to outside of their own must be classified already.
+         * @param level The components, which do not refer to each other.
+         */
+        void refine(final int... level) {
+            final List<Integer> members = new ArrayList<>(0);
+            for (final int component : level) {
+                if (this.components.cyclic(component)) {
+                    for (final int node : this.components.nodes(component)) {
+                        members.add(node);
+                    }
+                }
+            }
+            if (!members.isEmpty()) {
+                final int[] nodes = new int[members.size()];
+                for (int idx = 0; idx < nodes.length; idx += 1) {
+                    nodes[idx] = members.get(idx);
+                }
+                this.stabilize(nodes);
+            }
+        }
+
+        /**
+         * Chooses the object to keep in every class, the one with the
+         * smallest {@code N}.
+         * @return The kept node by node.
+         */
+        int[] representatives() {
+            final Symbols symbols = this.box.symbols();
+            final int[] best = new int[this.total.get()];
+            Arrays.fill(best, -1);
+            for (int node = 0; node < this.classes.length; node += 1) {
+                final int current = best[this.classes[node]];
+                if (current < 0 || symbols.index(this.graph.object(node))
+                    < symbols.index(this.graph.object(current))) {
+                    best[this.classes[node]] = node;
+                }
+            }
+            final int[] kept = new int[this.classes.length];
+            for (int node = 0; node < kept.length; node += 1) {
+                kept[node] = best[this.classes[node]];
+            }
+            return kept;
+        }
+
+        /**
+         * Classifies objects of cycles by refining their partition until it
+         * is stable.
+         * @param members The nodes of the components.
+         */
+        private void stabilize(final int... members) {
+            final Map<Integer, Integer> locals = new HashMap<>(members.length * 2);
+            for (int idx = 0; idx < members.length; idx += 1) {
+                locals.put(members[idx], idx);
+            }
+            final Map<Signature, Integer> shapes = new HashMap<>(members.length * 2);
+            int[] current = new int[members.length];
+            final int[][] references = new int[members.length][];
+            for (int idx = 0; idx < members.length; idx += 1) {
+                final Signature shape = this.signature(members[idx]);
+                current[idx] = shapes.computeIfAbsent(shape, key -> shapes.size());
+                references[idx] = this.references(members[idx], locals);
+            }
+            int size = shapes.size();
+            boolean stable = false;
+            while (!stable) {
+                final Map<Signature, Integer> refined = new HashMap<>(members.length * 2);
+                final int[] next = new int[members.length];
+                for (int idx = 0; idx < members.length; idx += 1) {
+                    final Object[] parts = new Object[references[idx].length + 1];
+                    parts[0] = current[idx];
+                    for (int ref = 0; ref < references[idx].length; ref += 1) {
+                        parts[ref + 1] = current[references[idx][ref]];
+                    }
+                    next[idx] = refined.computeIfAbsent(
+                        new Signature(parts), key -> refined.size()
+                    );
+                }
+                stable = refined.size() == size;
+                size = refined.size();
+                current = next;
+            }
+            final int base = this.total.getAndAdd(size);
+            for (int idx = 0; idx < members.length; idx += 1) {
+                this.classes[members[idx]] = base + current[idx];
+            }
+        }
+
+        /**
+         * Builds the signature of an object, with classes of referenced
+         * objects of other components and placeholders for the same one.
+         * @param node The node.
+         * @return The signature.
+         */
+        private Signature signature(final int node) {
+            final List<Map.Entry<String, Entity>> bindings = this.sorted(node);
+            final Object[] parts = new Object[bindings.size() * 3];
+            int count = 0;
+            for (final Map.Entry<String, Entity> binding : bindings) {
+                parts[count] = binding.getKey();
+                count += 1;
+                final int target = this.target(node, binding.getValue());
+                if (target < 0) {
+                    parts[count] = binding.getValue();
+                    count += 1;
+                } else {
+                    parts[count] = ((FlatObject) binding.getValue()).getLocator();
+                    if (this.components.owner(target) == this.components.owner(node)) {
+                        parts[count + 1] = Partition.CYCLE;
+                    } else {
+                        parts[count + 1] = this.classes[target];
+                    }
+                    count += 2;
+                }
+            }
+            return new Signature(Arrays.copyOf(parts, count));
+        }
+
+        /**
+         * Finds references of an object to objects of the same component.
+         * @param node The node.
+         * @param locals Positions of nodes of the components refined together.
+         * @return The positions of referenced nodes in the order of attributes.
+         */
+        private int[] references(final int node, final Map<Integer, Integer> locals) {
+            final List<Map.Entry<String, Entity>> bindings = this.sorted(node);
+            final int[] references = new int[bindings.size()];
+            int count = 0;
+            for (final Map.Entry<String, Entity> binding : bindings) {
+                final Integer local = locals.get(this.target(node, binding.getValue()));
+                if (local != null) {
+                    references[count] = local;
+                    count += 1;
+                }
+            }
+            return Arrays.copyOf(references, count);
+        }
+
+        /**
+         * Finds the node an entity of an object refers to.
+         * @param node The node of the object.
+         * @param entity The entity.
+         * @return The node or {@code -1} if the entity is not a reference to a node.
+         */
+        private int target(final int node, final Entity entity) {
+            if (entity instanceof NestedObject) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "The object %s has applications, the box must be flattened first",
+                        this.box.symbols().name(this.graph.object(node))
+                    )
+                );
+            }
+            return Merger.target(this.graph, this.box.symbols(), entity);
+        }
+
+        /**
+         * Gets bindings of an object sorted by attribute.
+         * @param node The node.
+         * @return The bindings.
+         */
+        private List<Map.Entry<String, Entity>> sorted(final int node) {
+            final List<Map.Entry<String, Entity>> bindings = new ArrayList<>(
+                this.box.get(this.graph.object(node)).entrySet()
+            );
+            bindings.sort(Map.Entry.comparingByKey());
+            return bindings;
+        }
+    }
+
+    /**
+     * The signature of an object.
+     * @since 0.1.0
+     */
+    private static final class Signature {
+
+        /**
+         * The parts.
+         */
+        private final Object[] parts;
+
+        /**
+         * The hash code of the parts.
+         */
+        private final int hash;
+
+        /**
+         * Constructor.
+         * @param parts The parts.
+         */
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Signature(final Object... parts) {
+            this.parts = parts;
+            this.hash = Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Signature
+                && Arrays.equals(this.parts, ((Signature) other).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
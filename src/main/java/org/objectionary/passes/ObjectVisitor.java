@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+/**
+ * This interface represents a pass applied to objects of a box one by one.
+ * <p>
+ * It is called for every object of the box in the traversal a
+ * {@link Pipeline} makes, possibly from several threads at once and
+ * between other visitors of the same traversal. A local visitor reads and
+ * changes only the object it visits. A visitor which reads other objects
+ * or creates new ones by {@link org.objectionary.ObjectsBox#fresh()} must
+ * say it is not local: it gets a traversal of its own, so it sees all
+ * changes of the passes before it and the passes after it see all objects
+ * it creates.
+ * @since 0.1.0
+ */
+public interface ObjectVisitor {
+
+    /**
+     * Visits an object.
+     * @param object The identifier of the name of the object.
+     */
+    void visit(int object);
+
+    /**
+     * Prepares the visitor for a traversal.
+     * <p>
+     * It is called in the thread which runs the pipeline, before every
+     * traversal the visitor takes part in.
+     */
+    default void prepare() {
+        // Nothing to prepare by default.
+    }
+
+    /**
+     * Checks whether the visitor reads and changes only the object it visits.
+     * @return True if it does.
+     */
+    default boolean local() {
+        return true;
+    }
+}
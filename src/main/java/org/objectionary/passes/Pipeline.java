@@ -0,0 +1,462 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.objectionary.ObjectsBox;
+import org.objectionary.entities.Entity;
+
+/**
+ * This class represents a sequence of passes over a box of objects.
+ * <p>
+ * Passes are {@link ObjectVisitor}s, {@link BindingVisitor}s, or actions
+ * over the whole box, like {@link Eliminator#eliminate()}, which may depend
+ * on all objects. Consecutive local visitors are fused into one traversal
+ * of the box: every object is taken once and given to all of them in order,
+ * and consecutive binding visitors share one copy of its bindings, which is
+ * put back once. Actions over the whole box and visitors which are not
+ * {@link ObjectVisitor#local()} are barriers: they run alone, after all
+ * passes before them are done with every object, so fusion never changes
+ * the result. Objects of a traversal are visited in slices on a fork-join
+ * pool; objects created during it are not visited. For every barrier and
+ * every traversal the wall time, the objects touched and the bytes allocated
+ * are measured once, and visitors fused into a traversal share its costs.
+ * @since 0.1.0
+ */
+public final class Pipeline {
+
+    /**
+     * The counter of bytes allocated by the current thread.
+     */
+    private static final LongSupplier BYTES = Pipeline.allocations();
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The number of threads to traverse with.
+     */
+    private final int parallelism;
+
+    /**
+     * The passes in the order they run.
+     */
+    private final List<Step> steps;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     */
+    public Pipeline(final ObjectsBox box) {
+        this(box, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param parallelism The number of threads to traverse with.
+     */
+    public Pipeline(final ObjectsBox box, final int parallelism) {
+        this(box, parallelism, Collections.emptyList());
+    }
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param parallelism The number of threads to traverse with.
+     * @param steps The passes in the order they run.
+     */
+    private Pipeline(final ObjectsBox box, final int parallelism, final List<Step> steps) {
+        this.box = box;
+        this.parallelism = parallelism;
+        this.steps = steps;
+    }
+
+    /**
+     * Adds a pass over objects.
+     * @param name The name of the pass.
+     * @param visitor The visitor of objects.
+     * @return The pipeline with the pass at the end.
+     */
+    public Pipeline objects(final String name, final ObjectVisitor visitor) {
+        return this.with(new Step(name, visitor));
+    }
+
+    /**
+     * Adds a pass over bindings.
+     * @param name The name of the pass.
+     * @param visitor The visitor of bindings.
+     * @return The pipeline with the pass at the end.
+     */
+    public Pipeline bindings(final String name, final BindingVisitor visitor) {
+        return this.with(new Step(name, visitor));
+    }
+
+    /**
+     * Adds a pass over the whole box.
+     * @param name The name of the pass.
+     * @param action The pass.
+     * @return The pipeline with the pass at the end.
+     */
+    public Pipeline whole(final String name, final Runnable action) {
+        return this.with(new Step(name, action));
+    }
+
+    /**
+     * Runs all passes.
+     * @return The measures of the passes, in the order they were added.
+     */
+    public List<Measure> run() {
+        final int size = this.steps.size();
+        final List<Measure> result = new ArrayList<>(size);
+        int start = 0;
+        while (start < size) {
+            final Runnable action = this.steps.get(start).action;
+            if (action == null) {
+                int end = start + 1;
+                if (this.steps.get(start).fusible()) {
+                    while (end < size && this.steps.get(end).fusible()) {
+                        end += 1;
+                    }
+                }
+                new Traversal(start, end).run(result);
+                start = end;
+            } else {
+                final long objects = this.box.content().size();
+                final long time = System.nanoTime();
+                final long memory = Pipeline.allocated();
+                action.run();
+                result.add(
+                    new Measure(
+                        this.steps.get(start).name, System.nanoTime() - time, objects,
+                        Pipeline.allocated() - memory
+                    )
+                );
+                start += 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a pipeline with one more pass.
+     * @param step The pass.
+     * @return The pipeline.
+     */
+    private Pipeline with(final Step step) {
+        final List<Step> more = new ArrayList<>(this.steps.size() + 1);
+        more.addAll(this.steps);
+        more.add(step);
+        return new Pipeline(this.box, this.parallelism, Collections.unmodifiableList(more));
+    }
+
+    /**
+     * Gets the number of bytes allocated by the current thread.
+     * @return The number of bytes or zero if it is not counted.
+     */
+    private static long allocated() {
+        return Pipeline.BYTES.getAsLong();
+    }
+
+    /**
+     * Makes the counter of bytes allocated by the current thread.
+     * @return The counter, which always gives zero if the virtual machine
+     *  does not count allocations per thread.
+     */
+    private static LongSupplier allocations() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        LongSupplier result = () -> 0L;
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled()) {
+                result = Pipeline.counter(threads);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Makes the counter of bytes allocated by the current thread.
+     * @param threads The bean which counts allocations per thread.
+     * @return The counter.
+     */
+    private static LongSupplier counter(final com.sun.management.ThreadMXBean threads) {
+        final LongSupplier result;
+        if (Pipeline.current(threads)) {
+            result = threads::getCurrentThreadAllocatedBytes;
+        } else {
+            result = () -> threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the bean counts bytes of the current thread directly,
+     * without looking the thread up by its identifier, as it does since
+     * Java 14.
+     * @param threads The bean.
+     * @return True if it does.
+     */
+    private static boolean current(final com.sun.management.ThreadMXBean threads) {
+        boolean result;
+        try {
+            threads.getClass().getMethod("getCurrentThreadAllocatedBytes");
+            result = true;
+        } catch (final NoSuchMethodException ex) {
+            result = false;
+        }
+        return result;
+    }
+
+    /**
+     * A traversal of all objects of the box by fused visitors.
+     * @since 0.1.0
+     */
+    private final class Traversal {
+
+        /**
+         * The first visitor.
+         */
+        private final int from;
+
+        /**
+         * The visitor after the last one.
+         */
+        private final int till;
+
+        /**
+         * The number of bytes allocated by slices of the traversal.
+         */
+        private final LongAdder memory;
+
+        /**
+         * Constructor.
+         * @param from The first visitor.
+         * @param till The visitor after the last one.
+         */
+        Traversal(final int from, final int till) {
+            this.from = from;
+            this.till = till;
+            this.memory = new LongAdder();
+        }
+
+        /**
+         * Gives all objects of the box to the visitors.
+         * <p>
+         * The time is measured once around the whole traversal, and the
+         * bytes once around every slice, in the thread which runs it, so
+         * that visiting an object costs nothing more.
+         * @param measures The measures to add the ones of the visitors to.
+         */
+        void run(final List<Measure> measures) {
+            final long time = System.nanoTime();
+            final long start = Pipeline.allocated();
+            for (int step = this.from; step < this.till; step += 1) {
+                final ObjectVisitor visitor = Pipeline.this.steps.get(step).objects;
+                if (visitor != null) {
+                    visitor.prepare();
+                }
+            }
+            final ObjectsBox all = Pipeline.this.box;
+            final int[] objects = new int[all.content().size()];
+            int count = 0;
+            for (final String name : all.content().keySet()) {
+                if (count == objects.length) {
+                    break;
+                }
+                objects[count] = all.symbols().intern(name);
+                count += 1;
+            }
+            final long prepared = Pipeline.allocated() - start;
+            new Slices(Pipeline.this.parallelism).ranges(
+                count,
+                (first, last) -> {
+                    final long before = Pipeline.allocated();
+                    for (int idx = first; idx < last; idx += 1) {
+                        this.visit(objects[idx]);
+                    }
+                    this.memory.add(Pipeline.allocated() - before);
+                }
+            );
+            final long nanos = System.nanoTime() - time;
+            final long bytes = prepared + this.memory.sum();
+            for (int step = this.from; step < this.till; step += 1) {
+                measures.add(
+                    new Measure(Pipeline.this.steps.get(step).name, nanos, count, bytes)
+                );
+            }
+        }
+
+        /**
+         * Gives an object to the visitors.
+         * @param object The identifier of the name of the object.
+         */
+        private void visit(final int object) {
+            int step = this.from;
+            while (step < this.till) {
+                final ObjectVisitor visitor = Pipeline.this.steps.get(step).objects;
+                if (visitor == null) {
+                    int end = step + 1;
+                    while (end < this.till && Pipeline.this.steps.get(end).bindings != null) {
+                        end += 1;
+                    }
+                    this.scan(object, step, end);
+                    step = end;
+                } else {
+                    visitor.visit(object);
+                    step += 1;
+                }
+            }
+        }
+
+        /**
+         * Gives bindings of an object to consecutive binding visitors.
+         * @param object The identifier of the name of the object.
+         * @param first The first binding visitor.
+         * @param last The visitor after the last binding visitor.
+         */
+        private void scan(final int object, final int first, final int last) {
+            final Map<String, Entity> bindings = Pipeline.this.box.get(object);
+            if (bindings != null) {
+                final int size = bindings.size();
+                final String[] attributes = new String[size];
+                final Entity[] entities = new Entity[size];
+                int count = 0;
+                for (final Map.Entry<String, Entity> binding : bindings.entrySet()) {
+                    attributes[count] = binding.getKey();
+                    entities[count] = binding.getValue();
+                    count += 1;
+                }
+                boolean changed = false;
+                for (int step = first; step < last; step += 1) {
+                    final BindingVisitor visitor = Pipeline.this.steps.get(step).bindings;
+                    for (int idx = 0; idx < size; idx += 1) {
+                        final Entity entity = visitor.visit(object, attributes[idx], entities[idx]);
+                        changed |= entity != entities[idx];
+                        entities[idx] = entity;
+                    }
+                }
+                if (changed) {
+                    final Map<String, Entity> result = new LinkedHashMap<>(size);
+                    for (int idx = 0; idx < size; idx += 1) {
+                        result.put(attributes[idx], entities[idx]);
+                    }
+                    Pipeline.this.box.put(object, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * A pass.
+     * @since 0.1.0
+     */
+    private static final class Step {
+
+        /**
+         * The name of the pass.
+         */
+        private final String name;
+
+        /**
+         * The visitor of objects or {@code null}.
+         */
+        private final ObjectVisitor objects;
+
+        /**
+         * The visitor of bindings or {@code null}.
+         */
+        private final BindingVisitor bindings;
+
+        /**
+         * The pass over the whole box or {@code null}.
+         */
+        private final Runnable action;
+
+        /**
+         * Constructor.
+         * @param name The name of the pass.
+         * @param visitor The visitor of objects.
+         */
+        Step(final String name, final ObjectVisitor visitor) {
+            this(name, visitor, null, null);
+        }
+
+        /**
+         * Constructor.
+         * @param name The name of the pass.
+         * @param visitor The visitor of bindings.
+         */
+        Step(final String name, final BindingVisitor visitor) {
+            this(name, null, visitor, null);
+        }
+
+        /**
+         * Constructor.
+         * @param name The name of the pass.
+         * @param action The pass over the whole box.
+         */
+        Step(final String name, final Runnable action) {
+            this(name, null, null, action);
+        }
+
+        /**
+         * Constructor.
+         * @param name The name of the pass.
+         * @param objects The visitor of objects or {@code null}.
+         * @param bindings The visitor of bindings or {@code null}.
+         * @param action The pass over the whole box or {@code null}.
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private Step(
+            final String name, final ObjectVisitor objects, final BindingVisitor bindings,
+            final Runnable action
+        ) {
+            this.name = name;
+            this.objects = objects;
+            this.bindings = bindings;
+            this.action = action;
+        }
+
+        /**
+         * Checks whether the pass may share a traversal with other passes.
+         * @return True if it may.
+         */
+        boolean fusible() {
+            return this.action == null && (this.objects == null || this.objects.local());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * This class represents the parallel processing of numbered items.
+ * <p>
+ * Items are split into slices which are processed on a fork-join pool of
+ * its own, or one by one in the calling thread if there is one thread or
+ * few items, never on the common pool.
+ * @since 0.1.0
+ */
+final class Slices {
+
+    /**
+     * Slices with fewer items than this are not split further.
+     */
+    private static final int SLICE = 1024;
+
+    /**
+     * The number of threads.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     * @param parallelism The number of threads.
+     */
+    Slices(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Processes items from zero to the count.
+     * @param count The number of items.
+     * @param action The processing of one item.
+     */
+    void each(final int count, final IntConsumer action) {
+        this.ranges(
+            count,
+            (start, end) -> {
+                for (int idx = start; idx < end; idx += 1) {
+                    action.accept(idx);
+                }
+            }
+        );
+    }
+
+    /**
+     * Processes items from zero to the count, a slice at a time.
+     * <p>
+     * Slices do not overlap, and together they hold every item once.
+     * @param count The number of items.
+     * @param action The processing of one slice.
+     */
+    void ranges(final int count, final Range action) {
+        if (this.parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format("Parallelism must be positive, but was %d", this.parallelism)
+            );
+        }
+        if (this.parallelism == 1 || count <= Slices.SLICE) {
+            action.accept(0, count);
+        } else {
+            final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+            try {
+                pool.invoke(new Slice(action, 0, count));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * The processing of a slice of items.
+     * @since 0.1.0
+     */
+    @FunctionalInterface
+    interface Range {
+
+        /**
+         * Processes a slice of items.
+         * @param start The first item of the slice.
+         * @param end The item after the end of the slice.
+         */
+        void accept(int start, int end);
+    }
+
+    /**
+     * A slice of items.
+     * @since 0.1.0
+     */
+    private static final class Slice extends RecursiveAction {
+
+        /**
+         * Serialization identifier.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The processing of one slice.
+         */
+        private final transient Range action;
+
+        /**
+         * The first item of the slice.
+         */
+        private final int start;
+
+        /**
+         * The item after the end of the slice.
+         */
+        private final int end;
+
+        /**
+         * Constructor.
+         * @param action The processing of one slice.
+         * @param start The first item of the slice.
+         * @param end The item after the end of the slice.
+         */
+        Slice(final Range action, final int start, final int end) {
+            super();
+            this.action = action;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public void compute() {
+            if (this.end - this.start <= Slices.SLICE) {
+                this.action.accept(this.start, this.end);
+            } else {
+                final int middle = (this.start + this.end) >>> 1;
+                RecursiveAction.invokeAll(
+                    new Slice(this.action, this.start, middle),
+                    new Slice(this.action, middle, this.end)
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.passes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.objectionary.ObjectsBox;
+import org.objectionary.Symbols;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.Flyweights;
+import org.objectionary.entities.Locator;
+import org.objectionary.entities.NestedObject;
+
+/**
+ * This class represents the removal of nesting from objects, one by one.
+ * <p>
+ * An application {@code νK( x ↦ … )} becomes a new object with a fresh
+ * name, the bindings of {@code νK} and the bindings of the application over
+ * them. Its parent is the object the application is written in, so the
+ * bindings of the application are one {@code 𝜋} further from it than they
+ * were, while the bindings copied from {@code νK} stay as they are.
+ * Bindings waiting to be rewritten are kept on an explicit stack, so the
+ * depth of nesting is unbounded, and every binding is rewritten once.
+ * Objects and the bases of applications are read from the bindings they
+ * had before the removal started, not from the box, which other workers
+ * change meanwhile, so the result does not depend on their timing.
+ * @since 0.1.0
+ */
+final class Unnesting {
+
+    /**
+     * The step to the current object.
+     */
+    private static final String CURRENT = "ξ";
+
+    /**
+     * The step to the parent object.
+     */
+    private static final String PARENT = "𝜋";
+
+    /**
+     * The box of objects.
+     */
+    private final ObjectsBox box;
+
+    /**
+     * The bindings of objects before the removal, by identifiers of names.
+     */
+    private final List<Map<String, Entity>> originals;
+
+    /**
+     * The canonical instances of entities of the box.
+     */
+    private final Flyweights pool;
+
+    /**
+     * Bindings the entities waiting on the stack belong to.
+     */
+    private final List<Map<String, Entity>> owners;
+
+    /**
+     * Attributes of the entities waiting on the stack.
+     */
+    private String[] attributes;
+
+    /**
+     * Entities waiting on the stack.
+     */
+    private Entity[] entities;
+
+    /**
+     * Whether entities waiting on the stack are written in the parent of the
+     * object they belong to rather than in the object itself.
+     */
+    private boolean[] outer;
+
+    /**
+     * The number of entities waiting on the stack.
+     */
+    private int depth;
+
+    /**
+     * Constructor.
+     * @param box The box of objects.
+     * @param originals The bindings of objects before the removal, by
+     *  identifiers of names.
+     */
+    Unnesting(final ObjectsBox box, final List<Map<String, Entity>> originals) {
+        this.box = box;
+        this.originals = originals;
+        this.pool = box.flyweights();
+        this.owners = new ArrayList<>(16);
+        this.attributes = new String[16];
+        this.entities = new Entity[16];
+        this.outer = new boolean[16];
+    }
+
+    /**
+     * Removes nesting from an object and puts it back with the new objects.
+     * @param object The identifier of the name of the object.
+     */
+    void apply(final int object) {
+        final Map<String, Entity> original = this.original(object);
+        if (original != null && Unnesting.nested(original)) {
+            final List<Integer> names = new ArrayList<>(4);
+            final List<Map<String, Entity>> created = new ArrayList<>(4);
+            final Map<String, Entity> result = new LinkedHashMap<>(original);
+            this.depth = 0;
+            this.owners.clear();
+            this.schedule(result, result, false);
+            while (this.depth > 0) {
+                this.depth -= 1;
+                final Map<String, Entity> owner = this.owners.remove(this.depth);
+                final String attribute = this.attributes[this.depth];
+                final Entity entity = this.entities[this.depth];
+                final boolean far = this.outer[this.depth];
+                if (entity instanceof NestedObject) {
+                    final int name = this.box.fresh();
+                    names.add(name);
+                    created.add(this.expand((NestedObject) entity));
+                    owner.put(attribute, this.pool.flat(name, Unnesting.step(far)));
+                } else if (far) {
+                    owner.put(attribute, this.shift(entity));
+                }
+            }
+            for (int idx = 0; idx < names.size(); idx += 1) {
+                this.box.put(names.get(idx), created.get(idx));
+            }
+            this.box.put(object, result);
+        }
+    }
+
+    /**
+     * Creates the bindings of the object an application becomes.
+     * @param application The application.
+     * @return The bindings, with their entities scheduled for rewriting.
+     */
+    private Map<String, Entity> expand(final NestedObject application) {
+        final Map<String, Entity> base;
+        if (application.getId() == Symbols.ABSENT) {
+            base = this.original(this.box.symbols().find(application.getName()));
+        } else {
+            base = this.original(application.getId());
+        }
+        if (base == null) {
+            throw new IllegalArgumentException(
+                String.format("There is no object %s to apply", application.getName())
+            );
+        }
+        final Map<String, Entity> applied = application.getApplication();
+        final Map<String, Entity> bindings = new LinkedHashMap<>(base);
+        bindings.putAll(applied);
+        for (final Map.Entry<String, Entity> binding : base.entrySet()) {
+            if (binding.getValue() instanceof NestedObject
+                && !applied.containsKey(binding.getKey())) {
+                this.push(bindings, binding.getKey(), binding.getValue(), false);
+            }
+        }
+        this.schedule(bindings, applied, true);
+        return bindings;
+    }
+
+    /**
+     * Gets the bindings an object had before the removal.
+     * @param object The identifier of the name of the object.
+     * @return The bindings or {@code null} if there was no such object.
+     */
+    private Map<String, Entity> original(final int object) {
+        Map<String, Entity> result = null;
+        if (object >= 0 && object < this.originals.size()) {
+            result = this.originals.get(object);
+        }
+        return result;
+    }
+
+    /**
+     * Pushes entities to the stack.
+     * @param owner The bindings the entities belong to.
+     * @param source The bindings to take the entities from.
+     * @param far Whether the entities are written in the parent of the owner.
+     */
+    private void schedule(
+        final Map<String, Entity> owner, final Map<String, Entity> source, final boolean far
+    ) {
+        for (final Map.Entry<String, Entity> binding : source.entrySet()) {
+            final Entity entity = binding.getValue();
+            if (far || entity instanceof NestedObject) {
+                this.push(owner, binding.getKey(), entity, far);
+            }
+        }
+    }
+
+    /**
+     * Pushes an entity to the stack.
+     * @param owner The bindings the entity belongs to.
+     * @param attribute The attribute of the entity.
+     * @param entity The entity.
+     * @param far Whether the entity is written in the parent of the owner.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private void push(
+        final Map<String, Entity> owner, final String attribute, final Entity entity,
+        final boolean far
+    ) {
+        if (this.depth == this.entities.length) {
+            this.attributes = Arrays.copyOf(this.attributes, this.depth * 2);
+            this.entities = Arrays.copyOf(this.entities, this.depth * 2);
+            this.outer = Arrays.copyOf(this.outer, this.depth * 2);
+        }
+        this.owners.add(owner);
+        this.attributes[this.depth] = attribute;
+        this.entities[this.depth] = entity;
+        this.outer[this.depth] = far;
+        this.depth += 1;
+    }
+
+    /**
+     * Moves an entity one object down from where it is written.
+     * @param entity The entity.
+     * @return The entity which means the same one object down.
+     */
+    private Entity shift(final Entity entity) {
+        Entity result = entity;
+        if (entity instanceof Locator) {
+            result = this.pool.locator(Unnesting.deeper(((Locator) entity).getPath()));
+        } else if (entity instanceof FlatObject) {
+            final FlatObject flat = (FlatObject) entity;
+            if (!flat.getLocator().isEmpty()) {
+                result = this.pool.flat(
+                    this.box.symbols().intern(flat.getName()),
+                    Unnesting.deeper(flat.getLocator())
+                );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether bindings have applications.
+     * @param bindings The bindings.
+     * @return True if they have.
+     */
+    private static boolean nested(final Map<String, Entity> bindings) {
+        boolean result = false;
+        for (final Entity entity : bindings.values()) {
+            if (entity instanceof NestedObject) {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Makes a path start one parent further.
+     * @param path The path, like {@code ξ.x} or {@code 𝜋.x}.
+     * @return The path, like {@code 𝜋.x} or {@code 𝜋.𝜋.x}.
+     */
+    private static String deeper(final String path) {
+        final String result;
+        if (path.startsWith(Unnesting.CURRENT)) {
+            result = Unnesting.PARENT.concat(path.substring(Unnesting.CURRENT.length()));
+        } else {
+            result = Unnesting.PARENT.concat(".").concat(path);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the parent of a new object.
+     * @param far Whether the application is written in the parent of the owner.
+     * @return The locator of the parent.
+     */
+    private static String step(final boolean far) {
+        final String result;
+        if (far) {
+            result = Unnesting.PARENT;
+        } else {
+            result = Unnesting.CURRENT;
+        }
+        return result;
+    }
+}
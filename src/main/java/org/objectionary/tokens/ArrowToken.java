@@ -28,4 +28,9 @@ package org.objectionary.tokens;
  * @since 0.1.0
  */
 public final class ArrowToken extends Token {
+
+    /**
+     * The shared arrow token.
+     */
+    public static final ArrowToken ARROW = new ArrowToken();
 }
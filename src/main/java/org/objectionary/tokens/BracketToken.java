@@ -29,6 +29,16 @@ package org.objectionary.tokens;
  */
 public final class BracketToken extends Token {
 
+    /**
+     * The shared open bracket token.
+     */
+    public static final BracketToken OPEN = new BracketToken(BracketType.OPEN);
+
+    /**
+     * The shared close bracket token.
+     */
+    public static final BracketToken CLOSE = new BracketToken(BracketType.CLOSE);
+
     /**
      * The state of the bracket.
      */
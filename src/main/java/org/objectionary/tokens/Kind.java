@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.tokens;
+
+/**
+ * This enum represents the kinds of entities a string token may stand for.
+ * <p>
+ * The kind is found by the first character of the token, with at most a
+ * couple of following characters looked at, so the lexer classifies every
+ * token as it scans it, without allocations.
+ * @since 0.1.0
+ */
+public enum Kind {
+
+    /**
+     * The empty object {@code ø}.
+     */
+    EMPTY,
+
+    /**
+     * A locator like {@code 𝜋.x} or {@code ξ.y}.
+     */
+    LOCATOR,
+
+    /**
+     * Data like {@code 0x002A}.
+     */
+    DATA,
+
+    /**
+     * A lambda of a standard atom, like {@code int-add} or {@code bool-not}.
+     */
+    LAMBDA,
+
+    /**
+     * An object like {@code ν1}, {@code ν1(ξ)} or the head of an application.
+     */
+    OBJECT,
+
+    /**
+     * Anything else, like attribute names.
+     */
+    OTHER;
+
+    /**
+     * The first characters of tokens which may be of a kind other than
+     * {@link #OTHER}, the last one is the high surrogate of {@code 𝜋}.
+     */
+    private static final String FIRST = "øξ0biν\uD835";
+
+    /**
+     * The prefixes of tokens by their first characters.
+     */
+    private static final String[] PREFIXES = {"ø", "ξ.", "0x", "bool", "int", "ν", "𝜋."};
+
+    /**
+     * The kinds of tokens by their first characters.
+     */
+    private static final Kind[] KINDS = {
+        Kind.EMPTY, Kind.LOCATOR, Kind.DATA, Kind.LAMBDA, Kind.LAMBDA, Kind.OBJECT, Kind.LOCATOR,
+    };
+
+    /**
+     * Classifies characters.
+     * @param text The characters of the token.
+     * @return The kind.
+     */
+    static Kind classify(final CharSequence text) {
+        return Kind.classify(text, 0, text.length());
+    }
+
+    /**
+     * Classifies a part of characters.
+     * <p>
+     * The first character selects the only kind the token may be of, then
+     * the token is checked to start with the prefix of the kind. The empty
+     * object is the only kind which must match the prefix exactly.
+     * @param text The characters.
+     * @param offset The offset of the token.
+     * @param length The length of the token.
+     * @return The kind.
+     */
+    static Kind classify(final CharSequence text, final int offset, final int length) {
+        Kind kind = Kind.OTHER;
+        int index = -1;
+        if (length > 0) {
+            index = Kind.FIRST.indexOf(text.charAt(offset));
+        }
+        if (index >= 0 && Kind.starts(text, offset, length, Kind.PREFIXES[index])
+            && (index > 0 || length == 1)) {
+            kind = Kind.KINDS[index];
+        }
+        return kind;
+    }
+
+    /**
+     * Checks whether a part of characters starts with a prefix.
+     * @param text The characters.
+     * @param offset The offset of the part.
+     * @param length The length of the part.
+     * @param prefix The prefix.
+     * @return True if it does.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private static boolean starts(
+        final CharSequence text, final int offset, final int length, final String prefix
+    ) {
+        boolean result = length >= prefix.length();
+        for (int idx = 0; idx < prefix.length() && result; idx += 1) {
+            result = text.charAt(offset + idx) == prefix.charAt(idx);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.tokens;
+
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
+/**
+ * This class is representing the streaming lexer.
+ * <p>
+ * The lexer scans a {@link CharSequence} or a {@link Reader} incrementally
+ * and keeps only a small ring of lookahead tokens. Arrows and brackets are
+ * returned as shared tokens, all other tokens are {@link StringToken} views
+ * into the source which are owned and reused by the lexer. Whitespaces and
+ * commas separate tokens.
+ * @since 0.1.0
+ */
+public final class Lexer {
+
+    /**
+     * The maximum lookahead, must be a power of two.
+     */
+    public static final int LOOKAHEAD = 16;
+
+    /**
+     * The scanned characters.
+     */
+    private final Source source;
+
+    /**
+     * Start offsets of the buffered tokens.
+     */
+    private final int[] starts;
+
+    /**
+     * The buffered tokens.
+     */
+    private final Token[] tokens;
+
+    /**
+     * Reusable string token views, one per ring slot.
+     */
+    private final StringToken[] views;
+
+    /**
+     * The position of the next character to scan.
+     */
+    private int cursor;
+
+    /**
+     * The start of the token being scanned.
+     */
+    private int mark;
+
+    /**
+     * The ring index of the current token.
+     */
+    private int head;
+
+    /**
+     * The number of buffered tokens.
+     */
+    private int count;
+
+    /**
+     * Constructor.
+     * @param input The input text.
+     */
+    public Lexer(final CharSequence input) {
+        this(new Source(input));
+    }
+
+    /**
+     * Constructor.
+     * @param input The input reader.
+     */
+    public Lexer(final Reader input) {
+        this(new Source(input));
+    }
+
+    /**
+     * Constructor.
+     * @param source The scanned characters.
+     */
+    private Lexer(final Source source) {
+        this.source = source;
+        this.starts = new int[Lexer.LOOKAHEAD];
+        this.tokens = new Token[Lexer.LOOKAHEAD];
+        this.views = Lexer.slots(source.text());
+    }
+
+    /**
+     * Checks if there is a token {@code ahead} positions after the current one.
+     * @param ahead The number of tokens to look ahead, zero is the current.
+     * @return True if such a token exists.
+     */
+    public boolean has(final int ahead) {
+        if (ahead < 0 || ahead >= Lexer.LOOKAHEAD) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Lookahead must be between 0 and %d, but was %d",
+                    Lexer.LOOKAHEAD - 1, ahead
+                )
+            );
+        }
+        boolean more = true;
+        while (this.count <= ahead && more) {
+            more = this.scan();
+        }
+        return this.count > ahead;
+    }
+
+    /**
+     * Returns the token {@code ahead} positions after the current one.
+     * @param ahead The number of tokens to look ahead, zero is the current.
+     * @return The token.
+     */
+    public Token peek(final int ahead) {
+        if (!this.has(ahead)) {
+            throw new NoSuchElementException(
+                String.format("There is no token %d positions ahead", ahead)
+            );
+        }
+        return this.tokens[(this.head + ahead) & (Lexer.LOOKAHEAD - 1)];
+    }
+
+    /**
+     * Moves to the next token.
+     */
+    public void next() {
+        if (this.has(0)) {
+            this.head = (this.head + 1) & (Lexer.LOOKAHEAD - 1);
+            this.count -= 1;
+        }
+    }
+
+    /**
+     * Scans one more token into the ring.
+     * @return True if a token was scanned.
+     */
+    private boolean scan() {
+        this.mark = this.cursor;
+        while (this.loaded() && Source.separator(this.source.text().charAt(this.cursor))) {
+            this.cursor += 1;
+        }
+        final boolean found = this.loaded();
+        if (found) {
+            this.mark = this.cursor;
+            while (this.loaded() && !Source.separator(this.source.text().charAt(this.cursor))) {
+                this.cursor += 1;
+            }
+            this.push(this.mark, this.cursor - this.mark);
+        }
+        return found;
+    }
+
+    /**
+     * Puts the token into the ring.
+     * @param start The offset of the token.
+     * @param size The length of the token.
+     */
+    private void push(final int start, final int size) {
+        final int idx = (this.head + this.count) & (Lexer.LOOKAHEAD - 1);
+        final CharSequence text = this.source.text();
+        Token token = this.views[idx];
+        if (size == 1) {
+            switch (text.charAt(start)) {
+                case '↦':
+                    token = ArrowToken.ARROW;
+                    break;
+                case '(':
+                case '⟦':
+                    token = BracketToken.OPEN;
+                    break;
+                case ')':
+                case '⟧':
+                    token = BracketToken.CLOSE;
+                    break;
+                default:
+                    break;
+            }
+        }
+        this.starts[idx] = start;
+        this.views[idx].bind(text, start, size);
+        this.tokens[idx] = token;
+        this.count += 1;
+    }
+
+    /**
+     * Makes sure the character under the cursor is available.
+     * <p>
+     * The characters before the first buffered token may be dropped
+     * from the source, in that case all positions are moved back.
+     * @return False if the input is over.
+     */
+    private boolean loaded() {
+        if (this.cursor == this.source.limit()) {
+            int keep = this.mark;
+            if (this.count > 0) {
+                keep = this.starts[this.head];
+            }
+            final int shift = this.source.fill(keep);
+            if (shift > 0) {
+                this.relocate(shift);
+            }
+        }
+        return this.cursor < this.source.limit();
+    }
+
+    /**
+     * Moves all positions back after the source was compacted.
+     * @param shift How far the characters were moved.
+     */
+    private void relocate(final int shift) {
+        this.cursor -= shift;
+        this.mark -= shift;
+        final CharSequence text = this.source.text();
+        for (int pos = 0; pos < this.count; pos += 1) {
+            final int idx = (this.head + pos) & (Lexer.LOOKAHEAD - 1);
+            this.starts[idx] -= shift;
+            this.views[idx].bind(text, this.starts[idx], this.views[idx].length());
+        }
+    }
+
+    /**
+     * Creates reusable string token views.
+     * @param text The text to point the views to.
+     * @return The views, one per ring slot.
+     */
+    private static StringToken[] slots(final CharSequence text) {
+        final StringToken[] slots = new StringToken[Lexer.LOOKAHEAD];
+        for (int idx = 0; idx < Lexer.LOOKAHEAD; idx += 1) {
+            slots[idx] = new StringToken(text, 0, 0);
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.tokens;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+
+/**
+ * This class represents the characters scanned by {@link Lexer}.
+ * <p>
+ * For a {@link CharSequence} all characters are available at once.
+ * For a {@link Reader} the characters are pulled into a window, which is
+ * compacted or grown when the lexer needs more of them.
+ * @since 0.1.0
+ */
+final class Source {
+
+    /**
+     * The initial size of the window for readers.
+     */
+    private static final int WINDOW = 8192;
+
+    /**
+     * The reader to pull characters from.
+     */
+    private final Reader reader;
+
+    /**
+     * The available text.
+     */
+    private CharSequence content;
+
+    /**
+     * The window of characters pulled from the reader.
+     */
+    private char[] window;
+
+    /**
+     * The number of available characters in the text.
+     */
+    private int size;
+
+    /**
+     * Whether the reader is exhausted.
+     */
+    private boolean exhausted;
+
+    /**
+     * Constructor.
+     * @param input The input text.
+     */
+    Source(final CharSequence input) {
+        this(input, input.length(), new char[0], new StringReader(""));
+    }
+
+    /**
+     * Constructor.
+     * @param input The input reader.
+     */
+    Source(final Reader input) {
+        this(new char[Source.WINDOW], input);
+    }
+
+    /**
+     * Constructor.
+     * @param window The window for the reader.
+     * @param reader The reader.
+     */
+    private Source(final char[] window, final Reader reader) {
+        this(CharBuffer.wrap(window), 0, window, reader);
+    }
+
+    /**
+     * Constructor.
+     * @param text The initial text.
+     * @param limit The number of available characters in the text.
+     * @param window The window for the reader.
+     * @param reader The reader.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private Source(
+        final CharSequence text, final int limit,
+        final char[] window, final Reader reader
+    ) {
+        this.content = text;
+        this.size = limit;
+        this.window = window;
+        this.reader = reader;
+        this.exhausted = window.length == 0;
+    }
+
+    /**
+     * Returns the available text.
+     * @return The text.
+     */
+    CharSequence text() {
+        return this.content;
+    }
+
+    /**
+     * Returns the number of available characters.
+     * @return The number of characters.
+     */
+    int limit() {
+        return this.size;
+    }
+
+    /**
+     * Pulls more characters from the reader.
+     * <p>
+     * If the window is full, the characters before {@code keep} are dropped
+     * and the rest is moved to the start of the window, which grows if
+     * there is not enough room left.
+     * @param keep The first character to keep.
+     * @return How far the kept characters were moved back.
+     */
+    int fill(final int keep) {
+        int shift = 0;
+        if (!this.exhausted) {
+            if (this.size == this.window.length) {
+                shift = keep;
+                this.compact(keep);
+            }
+            try {
+                final int read = this.reader.read(
+                    this.window, this.size, this.window.length - this.size
+                );
+                if (read < 0) {
+                    this.exhausted = true;
+                } else {
+                    this.size += read;
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return shift;
+    }
+
+    /**
+     * Checks if the character separates tokens.
+     * @param chr The character.
+     * @return True if it is a separator.
+     */
+    static boolean separator(final char chr) {
+        final boolean result;
+        switch (chr) {
+            case ' ':
+            case ',':
+            case '\n':
+            case '\r':
+            case '\t':
+                result = true;
+                break;
+            default:
+                result = false;
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Moves the characters starting from {@code keep} to the start of the window.
+     * @param keep The first character to keep.
+     */
+    private void compact(final int keep) {
+        char[] target = this.window;
+        if (keep < this.window.length / 2) {
+            target = new char[this.window.length * 2];
+        }
+        System.arraycopy(this.window, keep, target, 0, this.size - keep);
+        if (target != this.window) {
+            this.window = target;
+            this.content = CharBuffer.wrap(target);
+        }
+        this.size -= keep;
+    }
+}
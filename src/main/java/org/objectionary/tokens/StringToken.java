@@ -25,21 +25,57 @@ package org.objectionary.tokens;
 
 /**
  * This class represents the string token.
+ * <p>
+ * The token is a view into the source text: it keeps the source,
+ * an offset and a length and does not copy characters until
+ * {@link #getValue()} is called. Tokens produced by {@link Lexer}
+ * are reused by it, so a view is valid only until the lexer moves
+ * past the token. The {@link Kind} of the token is found when the view is
+ * pointed to it.
  * @since 0.1.0
  */
-public final class StringToken extends Token {
+public final class StringToken extends Token implements CharSequence {
 
     /**
-     * The value of the string.
+     * The source text.
      */
-    private final String value;
+    private CharSequence source;
+
+    /**
+     * The offset of the token in the source.
+     */
+    private int start;
+
+    /**
+     * The length of the token.
+     */
+    private int size;
+
+    /**
+     * The kind of the token.
+     */
+    private Kind sort;
 
     /**
      * Constructor.
      * @param value The value of the string.
      */
     public StringToken(final String value) {
-        this.value = value;
+        this(value, 0, value.length());
+    }
+
+    /**
+     * Constructor.
+     * @param source The source text.
+     * @param offset The offset of the token in the source.
+     * @param size The length of the token.
+     */
+    public StringToken(final CharSequence source, final int offset, final int size) {
+        super();
+        this.source = source;
+        this.start = offset;
+        this.size = size;
+        this.sort = Kind.classify(source, offset, size);
     }
 
     /**
@@ -47,6 +83,60 @@ public final class StringToken extends Token {
      * @return The value of the string.
      */
     public String getValue() {
-        return this.value;
+        return this.source.subSequence(this.start, this.start + this.size).toString();
+    }
+
+    /**
+     * Gets the kind of entity the token stands for.
+     * @return The kind.
+     */
+    public Kind kind() {
+        return this.sort;
+    }
+
+    /**
+     * Gets the offset of the token in the source.
+     * @return The offset.
+     */
+    public int offset() {
+        return this.start;
+    }
+
+    @Override
+    public int length() {
+        return this.size;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(
+                String.format("Index %d is out of token of length %d", index, this.size)
+            );
+        }
+        return this.source.charAt(this.start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int from, final int till) {
+        return this.source.subSequence(this.start + from, this.start + till);
+    }
+
+    @Override
+    public String toString() {
+        return this.getValue();
+    }
+
+    /**
+     * Points the view to another part of the source.
+     * @param text The source text.
+     * @param offset The offset of the token in the source.
+     * @param length The length of the token.
+     */
+    void bind(final CharSequence text, final int offset, final int length) {
+        this.source = text;
+        this.start = offset;
+        this.size = length;
+        this.sort = Kind.classify(text, offset, length);
     }
 }
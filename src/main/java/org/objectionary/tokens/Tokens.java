@@ -0,0 +1,412 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary.tokens;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * This class represents all tokens of a text as parallel arrays.
+ * <p>
+ * The text is scanned once, by the rules of {@link Lexer}, and every token
+ * is kept as three numbers only: its tag, its offset and its length. Tags
+ * of string tokens are ordinals of their {@link Kind}, arrows and brackets
+ * have negative tags. The characters stay in the original text, so the
+ * tokens may be read by index as many times as needed, by several passes,
+ * without any objects made per token. The first token of every line is
+ * remembered too, so lines may be read separately.
+ * @since 0.1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class Tokens {
+
+    /**
+     * The tag of the arrow.
+     */
+    public static final int ARROW = -1;
+
+    /**
+     * The tag of an open bracket.
+     */
+    public static final int OPEN = -2;
+
+    /**
+     * The tag of a close bracket.
+     */
+    public static final int CLOSE = -3;
+
+    /**
+     * The kinds by their ordinals.
+     */
+    private static final Kind[] KINDS = Kind.values();
+
+    /**
+     * The text.
+     */
+    private final CharSequence source;
+
+    /**
+     * Tags of tokens.
+     */
+    private final int[] tags;
+
+    /**
+     * Offsets of tokens in the text.
+     */
+    private final int[] starts;
+
+    /**
+     * Lengths of tokens.
+     */
+    private final int[] lengths;
+
+    /**
+     * Indexes of the first tokens of lines which have tokens.
+     */
+    private final int[] firsts;
+
+    /**
+     * The number of tokens.
+     */
+    private final int count;
+
+    /**
+     * The number of lines which have tokens.
+     */
+    private final int rows;
+
+    /**
+     * Constructor.
+     * @param input The text.
+     */
+    public Tokens(final CharSequence input) {
+        this(input, 0, input.length());
+    }
+
+    /**
+     * Constructor.
+     * @param input The characters of the text, they are not copied.
+     */
+    public Tokens(final char... input) {
+        this(CharBuffer.wrap(input));
+    }
+
+    /**
+     * Constructor.
+     * @param input The text.
+     * @param from The first character to scan.
+     * @param till The character after the last one to scan.
+     */
+    public Tokens(final CharSequence input, final int from, final int till) {
+        this(input, Tokens.scan(input, from, till));
+    }
+
+    /**
+     * Constructor.
+     * @param input The text.
+     * @param columns The scanned tokens.
+     */
+    private Tokens(final CharSequence input, final Columns columns) {
+        this.source = input;
+        this.tags = columns.tags;
+        this.starts = columns.starts;
+        this.lengths = columns.lengths;
+        this.firsts = columns.firsts;
+        this.count = columns.count;
+        this.rows = columns.rows;
+    }
+
+    /**
+     * Gets the text.
+     * @return The text.
+     */
+    public CharSequence text() {
+        return this.source;
+    }
+
+    /**
+     * Gets the number of tokens.
+     * @return The number of tokens.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Gets the number of lines which have tokens.
+     * @return The number of lines.
+     */
+    public int lines() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the index of the first token of a line.
+     * @param line The number of the line among lines which have tokens.
+     * @return The index of the token.
+     */
+    public int first(final int line) {
+        return this.firsts[this.row(line)];
+    }
+
+    /**
+     * Gets the index after the last token of a line.
+     * @param line The number of the line among lines which have tokens.
+     * @return The index of the first token of the next line or the size.
+     */
+    public int end(final int line) {
+        final int next = this.row(line) + 1;
+        int end = this.count;
+        if (next < this.rows) {
+            end = this.firsts[next];
+        }
+        return end;
+    }
+
+    /**
+     * Gets the tag of a token.
+     * @param index The index of the token.
+     * @return The ordinal of its {@link Kind} or one of the negative tags.
+     */
+    public int tag(final int index) {
+        return this.tags[this.checked(index)];
+    }
+
+    /**
+     * Gets the kind of a string token.
+     * @param index The index of the token.
+     * @return The kind.
+     */
+    public Kind kind(final int index) {
+        final int tag = this.tag(index);
+        if (tag < 0) {
+            throw new IllegalArgumentException(
+                String.format("Token %d is not a string token", index)
+            );
+        }
+        return Tokens.KINDS[tag];
+    }
+
+    /**
+     * Gets the offset of a token in the text.
+     * @param index The index of the token.
+     * @return The offset.
+     */
+    public int start(final int index) {
+        return this.starts[this.checked(index)];
+    }
+
+    /**
+     * Gets the length of a token.
+     * @param index The index of the token.
+     * @return The length.
+     */
+    public int length(final int index) {
+        return this.lengths[this.checked(index)];
+    }
+
+    /**
+     * Gets the characters of a token without copying them.
+     * @param index The index of the token.
+     * @return The view of the characters in the text.
+     */
+    public CharSequence slice(final int index) {
+        final int start = this.start(index);
+        return CharBuffer.wrap(this.source, start, start + this.lengths[index]);
+    }
+
+    /**
+     * Gets the characters of a token as a string.
+     * @param index The index of the token.
+     * @return The copy of the characters.
+     */
+    public String value(final int index) {
+        final int start = this.start(index);
+        return this.source.subSequence(start, start + this.lengths[index]).toString();
+    }
+
+    /**
+     * Checks the number of a line.
+     * @param line The number.
+     * @return The same number.
+     */
+    private int row(final int line) {
+        if (line < 0 || line >= this.rows) {
+            throw new IndexOutOfBoundsException(
+                String.format("Line %d is out of %d lines", line, this.rows)
+            );
+        }
+        return line;
+    }
+
+    /**
+     * Checks the index of a token.
+     * @param index The index.
+     * @return The same index.
+     */
+    private int checked(final int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException(
+                String.format("Token %d is out of %d tokens", index, this.count)
+            );
+        }
+        return index;
+    }
+
+    /**
+     * Scans the tokens of a part of the text.
+     * @param text The text.
+     * @param from The first character to scan.
+     * @param till The character after the last one to scan.
+     * @return The tokens.
+     */
+    private static Columns scan(final CharSequence text, final int from, final int till) {
+        final Columns columns = new Columns(Math.max(16, (till - from) / 4));
+        boolean fresh = true;
+        int pos = from;
+        while (pos < till) {
+            final char chr = text.charAt(pos);
+            if (Source.separator(chr)) {
+                fresh = fresh || chr == '\n';
+                pos += 1;
+                continue;
+            }
+            final int start = pos;
+            while (pos < till && !Source.separator(text.charAt(pos))) {
+                pos += 1;
+            }
+            columns.add(Tokens.tag(text, start, pos - start), start, pos - start, fresh);
+            fresh = false;
+        }
+        return columns;
+    }
+
+    /**
+     * Finds the tag of a token.
+     * @param text The text.
+     * @param start The offset of the token.
+     * @param length The length of the token.
+     * @return The tag.
+     */
+    private static int tag(final CharSequence text, final int start, final int length) {
+        int tag = Integer.MIN_VALUE;
+        if (length == 1) {
+            switch (text.charAt(start)) {
+                case '↦':
+                    tag = Tokens.ARROW;
+                    break;
+                case '(':
+                case '⟦':
+                    tag = Tokens.OPEN;
+                    break;
+                case ')':
+                case '⟧':
+                    tag = Tokens.CLOSE;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (tag == Integer.MIN_VALUE) {
+            tag = Kind.classify(text, start, length).ordinal();
+        }
+        return tag;
+    }
+
+    /**
+     * Growable columns of scanned tokens.
+     * @since 0.1.0
+     */
+    private static final class Columns {
+
+        /**
+         * Tags of tokens.
+         */
+        private int[] tags;
+
+        /**
+         * Offsets of tokens.
+         */
+        private int[] starts;
+
+        /**
+         * Lengths of tokens.
+         */
+        private int[] lengths;
+
+        /**
+         * Indexes of the first tokens of lines.
+         */
+        private int[] firsts;
+
+        /**
+         * The number of tokens.
+         */
+        private int count;
+
+        /**
+         * The number of lines.
+         */
+        private int rows;
+
+        /**
+         * Constructor.
+         * @param capacity The expected number of tokens.
+         */
+        Columns(final int capacity) {
+            this.tags = new int[capacity];
+            this.starts = new int[capacity];
+            this.lengths = new int[capacity];
+            this.firsts = new int[Math.max(4, capacity / 8)];
+        }
+
+        /**
+         * Adds a token.
+         * @param tag The tag.
+         * @param start The offset.
+         * @param length The length.
+         * @param line Whether the token starts a line.
+         * @checkstyle ParameterNumberCheck (10 lines)
+         */
+        void add(final int tag, final int start, final int length, final boolean line) {
+            if (this.count == this.tags.length) {
+                final int capacity = this.count * 2;
+                this.tags = Arrays.copyOf(this.tags, capacity);
+                this.starts = Arrays.copyOf(this.starts, capacity);
+                this.lengths = Arrays.copyOf(this.lengths, capacity);
+            }
+            if (line && this.rows == this.firsts.length) {
+                this.firsts = Arrays.copyOf(this.firsts, this.rows * 2);
+            }
+            if (line) {
+                this.firsts[this.rows] = this.count;
+                this.rows += 1;
+            }
+            this.tags[this.count] = tag;
+            this.starts[this.count] = start;
+            this.lengths[this.count] = length;
+            this.count += 1;
+        }
+    }
+}
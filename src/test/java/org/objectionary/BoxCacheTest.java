@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectionary.atoms.Atoms;
+import org.objectionary.parsing.Parser;
+
+/**
+ * BoxCache test.
+ *
+ * @since 0.1.0
+ */
+final class BoxCacheTest {
+
+    @Test
+    void savesAndLoadsBoxTest(@TempDir final Path dir) throws IOException {
+        final BoxCache cache = new BoxCache(dir, 1L << 20);
+        final String text = "ν0(𝜋) ↦ ⟦ x ↦ ø, y ↦ 𝜋.z, Δ ↦ 0x0001 ⟧";
+        final Fingerprint key = cache.key(text);
+        MatcherAssert.assertThat(cache.load(key, Atoms.STANDARD), Matchers.nullValue());
+        cache.save(key, new Parser(text).parse());
+        MatcherAssert.assertThat(
+            cache.load(key, Atoms.STANDARD).toString(),
+            Matchers.equalTo("ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001, x ↦ ø, y ↦ 𝜋.z ⟧")
+        );
+        MatcherAssert.assertThat(BoxCacheTest.boxes(dir), Matchers.equalTo(1L));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTest(@TempDir final Path dir) throws IOException {
+        final String first = "ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧";
+        final BoxCache probe = new BoxCache(dir, 1L << 20);
+        probe.save(probe.key(first), new Parser(first).parse());
+        final long size = Files.size(dir.resolve(String.format("%s.box", probe.key(first))));
+        final BoxCache cache = new BoxCache(dir, size * 2);
+        final String second = "ν0(𝜋) ↦ ⟦ Δ ↦ 0x0002 ⟧";
+        cache.save(cache.key(second), new Parser(second).parse());
+        Files.setLastModifiedTime(
+            dir.resolve(String.format("%s.box", cache.key(second))), FileTime.fromMillis(0L)
+        );
+        MatcherAssert.assertThat(
+            cache.load(cache.key(first), Atoms.STANDARD),
+            Matchers.notNullValue()
+        );
+        final String third = "ν0(𝜋) ↦ ⟦ Δ ↦ 0x0003 ⟧";
+        cache.save(cache.key(third), new Parser(third).parse());
+        MatcherAssert.assertThat(BoxCacheTest.boxes(dir), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(
+            cache.load(cache.key(second), Atoms.STANDARD),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            cache.load(cache.key(first), Atoms.STANDARD),
+            Matchers.notNullValue()
+        );
+    }
+
+    @Test
+    void parsesThroughCacheTest(@TempDir final Path dir) throws IOException {
+        final String text = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2(ξ) ) ⟧",
+            "ν1(𝜋) ↦ ⟦ x ↦ ø ⟧",
+            "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+        );
+        final BoxCache cache = new BoxCache(dir, 1L << 20);
+        final ObjectsBox parsed = new Parser(text, 2).withCache(cache).parse();
+        MatcherAssert.assertThat(BoxCacheTest.boxes(dir), Matchers.equalTo(1L));
+        final ObjectsBox loaded = new Parser(text, 2).withCache(cache).parse();
+        MatcherAssert.assertThat(loaded, Matchers.not(Matchers.sameInstance(parsed)));
+        MatcherAssert.assertThat(loaded.toString(), Matchers.equalTo(parsed.toString()));
+        MatcherAssert.assertThat(loaded.toString(), Matchers.not(Matchers.containsString("( ")));
+    }
+
+    @Test
+    void dropsBrokenBoxesTest(@TempDir final Path dir) throws IOException {
+        final String text = "ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧";
+        final BoxCache cache = new BoxCache(dir, 1L << 20);
+        final Path file = dir.resolve(String.format("%s.box", cache.key(text)));
+        Files.write(file, new byte[] {'F', 'L', 'T', 'Y', 0, 1, 2});
+        MatcherAssert.assertThat(cache.load(cache.key(text), Atoms.STANDARD), Matchers.nullValue());
+        Files.write(file, new byte[] {'F', 'L', 'T', 'Y', 1, -1});
+        MatcherAssert.assertThat(cache.load(cache.key(text), Atoms.STANDARD), Matchers.nullValue());
+        MatcherAssert.assertThat(
+            new Parser(text).withCache(cache).parse().toString(),
+            Matchers.equalTo(text)
+        );
+        MatcherAssert.assertThat(
+            cache.load(cache.key(text), Atoms.STANDARD).toString(),
+            Matchers.equalTo(text)
+        );
+    }
+
+    @Test
+    void touchesEvictedBoxTest(@TempDir final Path dir) {
+        Assertions.assertDoesNotThrow(() -> BoxCache.touch(dir.resolve("evicted.box")));
+    }
+
+    @Test
+    void deletesOrphanedTemporaryFilesTest(@TempDir final Path dir) throws IOException {
+        final Path orphan = Files.createTempFile(dir, "box", ".tmp");
+        Files.setLastModifiedTime(orphan, FileTime.fromMillis(0L));
+        final Path fresh = Files.createTempFile(dir, "box", ".tmp");
+        final BoxCache cache = new BoxCache(dir, 1L << 20);
+        final String text = "ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧";
+        cache.save(cache.key(text), new Parser(text).parse());
+        MatcherAssert.assertThat(Files.exists(orphan), Matchers.is(false));
+        MatcherAssert.assertThat(Files.exists(fresh), Matchers.is(true));
+    }
+
+    @Test
+    void rejectsNonPositiveLimitTest(@TempDir final Path dir) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoxCache(dir, 0L));
+    }
+
+    /**
+     * Counts files with boxes.
+     * @param dir The directory.
+     * @return The number of files.
+     * @throws IOException If fails to list.
+     */
+    private static long boxes(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".box")).count();
+        }
+    }
+}
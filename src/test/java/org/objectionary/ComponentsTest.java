@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectionary.parsing.Parser;
+import org.objectionary.passes.Components;
+
+/**
+ * Components test.
+ *
+ * @since 0.1.0
+ */
+final class ComponentsTest {
+
+    @Test
+    void findsCyclesInTopologicalOrderTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν3(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ 𝜑 ↦ ν2( x ↦ ν3 ) ⟧",
+                "ν2(𝜋) ↦ ⟦ y ↦ ν1(ξ) ⟧",
+                "ν3(𝜋) ↦ ⟦ z ↦ ν3(𝜋) ⟧",
+                "ν4(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+            )
+        ).parse();
+        final Components components = new Components(box);
+        final Symbols symbols = box.symbols();
+        MatcherAssert.assertThat(components.count(), Matchers.equalTo(4));
+        final int root = components.component(symbols.find("ν0"));
+        final int cycle = components.component(symbols.find("ν1"));
+        final int loop = components.component(symbols.find("ν3"));
+        MatcherAssert.assertThat(components.component(symbols.find("ν2")), Matchers.equalTo(cycle));
+        MatcherAssert.assertThat(root, Matchers.greaterThan(cycle));
+        MatcherAssert.assertThat(cycle, Matchers.greaterThan(loop));
+        MatcherAssert.assertThat(components.cyclic(cycle), Matchers.is(true));
+        MatcherAssert.assertThat(components.cyclic(loop), Matchers.is(true));
+        MatcherAssert.assertThat(components.cyclic(root), Matchers.is(false));
+        MatcherAssert.assertThat(components.members(cycle).length, Matchers.equalTo(2));
+    }
+
+    @Test
+    void handlesDeepChainsTest() {
+        final int depth = 500_000;
+        final List<String> lines = new ArrayList<>(depth);
+        for (int idx = 0; idx < depth - 1; idx += 1) {
+            lines.add(String.format("ν%d(𝜋) ↦ ⟦ 𝜑 ↦ ν%d(ξ) ⟧", idx, idx + 1));
+        }
+        lines.add(String.format("ν%d(𝜋) ↦ ⟦ 𝜑 ↦ ν0(ξ) ⟧", depth - 1));
+        final ObjectsBox box = new Parser(String.join("\n", lines)).parse();
+        final Components components = new Components(box);
+        MatcherAssert.assertThat(components.count(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(components.members(0).length, Matchers.equalTo(depth));
+    }
+
+    @Test
+    void handlesGappedIndexesTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν100000000(ξ) ⟧",
+                "ν100000000(𝜋) ↦ ⟦ b ↦ ν2147480000(ξ) ⟧",
+                "ν2147480000(𝜋) ↦ ⟦ c ↦ ν100000000(ξ) ⟧"
+            )
+        ).parse();
+        final Components components = new Components(box);
+        final Symbols symbols = box.symbols();
+        final int cycle = components.component(symbols.find("ν100000000"));
+        MatcherAssert.assertThat(components.count(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            components.component(symbols.find("ν2147480000")), Matchers.equalTo(cycle)
+        );
+        MatcherAssert.assertThat(components.cyclic(cycle), Matchers.is(true));
+        MatcherAssert.assertThat(
+            components.component(symbols.find("ν0")), Matchers.greaterThan(cycle)
+        );
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.atoms.Atoms;
+import org.objectionary.dataization.Dataizer;
+import org.objectionary.parsing.Parser;
+
+/**
+ * Dataizer test.
+ *
+ * @since 0.1.0
+ */
+final class DataizerTest {
+
+    @Test
+    void dataizesAtomThroughDecorateesTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν3(𝜋) ⟧",
+            "ν1(𝜋) ↦ ⟦ Δ ↦ 0x002A ⟧",
+            "ν2(𝜋) ↦ ⟦ λ ↦ int-add, ρ ↦ 𝜋.𝛼0, 𝛼0 ↦ 𝜋.𝛼1 ⟧",
+            "ν3(𝜋) ↦ ⟦ 𝜑 ↦ ν2(ξ), 𝛼1 ↦ ν1 ⟧"
+        );
+        MatcherAssert.assertThat(
+            new Dataizer(new Parser(program).parse()).dataize(),
+            Matchers.equalTo(84)
+        );
+    }
+
+    @Test
+    void dataizesNegationTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ λ ↦ int-neg, ρ ↦ ν1 ⟧",
+            "ν1(𝜋) ↦ ⟦ Δ ↦ 0x0007 ⟧"
+        );
+        MatcherAssert.assertThat(
+            new Dataizer(new Parser(program).parse()).dataize(),
+            Matchers.equalTo(-7)
+        );
+    }
+
+    @Test
+    void dataizesDeepChainTest() {
+        final int size = 200_000;
+        final List<String> lines = new ArrayList<>(size + 1);
+        for (int idx = 0; idx < size; idx += 1) {
+            lines.add(String.format("ν%d(𝜋) ↦ ⟦ 𝜑 ↦ ν%d(ξ) ⟧", idx, idx + 1));
+        }
+        lines.add(String.format("ν%d(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧", size));
+        MatcherAssert.assertThat(
+            new Dataizer(new Parser(String.join("\n", lines)).parse()).dataize(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void rejectsCycleTest() {
+        final Dataizer dataizer = new Dataizer(
+            new Parser("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1 ⟧\nν1(𝜋) ↦ ⟦ 𝜑 ↦ ν0 ⟧").parse()
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, dataizer::dataize);
+    }
+
+    @Test
+    void rejectsLocatorLeadingToItselfTest() {
+        final Dataizer dataizer = new Dataizer(
+            new Parser("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ξ.x, x ↦ ξ.x ⟧", 1).parse()
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, dataizer::dataize);
+    }
+
+    @Test
+    void rejectsCycleOfLocatorsTest() {
+        final Dataizer dataizer = new Dataizer(
+            new Parser("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ξ.x, x ↦ ξ.y, y ↦ ξ.x ⟧", 1).parse()
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, dataizer::dataize);
+    }
+
+    @Test
+    void rejectsLambdaOfDataTest() {
+        final Dataizer dataizer = new Dataizer(new Parser("ν0(𝜋) ↦ ⟦ λ ↦ 0x0001 ⟧").parse());
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(IllegalArgumentException.class, dataizer::dataize)
+                .getMessage(),
+            Matchers.containsString("ν0")
+        );
+    }
+
+    @Test
+    void rejectsMissingObjectTest() {
+        final Dataizer dataizer = new Dataizer(new Parser("ν1(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧").parse());
+        Assertions.assertThrows(IllegalArgumentException.class, dataizer::dataize);
+    }
+
+    @Test
+    void dataizesCustomAtomTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ λ ↦ max-of, ρ ↦ ν1, 𝛼0 ↦ ν2 ⟧",
+            "ν1(𝜋) ↦ ⟦ Δ ↦ 0x0003 ⟧",
+            "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0009 ⟧"
+        );
+        final ObjectsBox box = new Parser(
+            program, 1, Atoms.STANDARD.withBinary("max-of", Math::max)
+        ).parse();
+        MatcherAssert.assertThat(new Dataizer(box).dataize(), Matchers.equalTo(9));
+    }
+
+    @Test
+    void dataizesBoolAtomTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ λ ↦ bool-not, ρ ↦ ν1 ⟧",
+            "ν1(𝜋) ↦ ⟦ λ ↦ int-less, ρ ↦ ν2, 𝛼0 ↦ ν2 ⟧",
+            "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0005 ⟧"
+        );
+        MatcherAssert.assertThat(
+            new Dataizer(new Parser(program).parse()).dataize(),
+            Matchers.equalTo(1)
+        );
+    }
+}
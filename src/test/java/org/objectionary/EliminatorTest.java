@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.parsing.Parser;
+import org.objectionary.passes.Eliminator;
+
+/**
+ * Eliminator test.
+ *
+ * @since 0.1.0
+ */
+final class EliminatorTest {
+
+    @Test
+    void removesUnreachableObjectsTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2 ) ⟧",
+                "ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ 𝜋.z ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                "ν3(𝜋) ↦ ⟦ 𝜑 ↦ ν4(ξ) ⟧",
+                "ν4(𝜋) ↦ ⟦ Δ ↦ 0x0002 ⟧"
+            )
+        ).parse();
+        MatcherAssert.assertThat(new Eliminator(box, 1).eliminate(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2 ) ⟧",
+                    "ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ 𝜋.z ⟧",
+                    "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+                )
+            )
+        );
+    }
+
+    @Test
+    void marksLargeGraphInParallelTest() {
+        final int size = 100_000;
+        final List<String> lines = new ArrayList<>(size * 2);
+        for (int idx = 0; idx < size; idx += 1) {
+            lines.add(
+                String.format(
+                    "ν%d(𝜋) ↦ ⟦ a ↦ ν%d(ξ), b ↦ ν%d(ξ) ⟧",
+                    idx, 2 * idx + 1, 2 * idx + 2
+                )
+            );
+        }
+        for (int idx = size; idx < size * 2 + 1; idx += 1) {
+            lines.add(String.format("ν%d(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧", idx));
+        }
+        for (int idx = size * 2 + 1; idx < size * 3; idx += 1) {
+            lines.add(String.format("ν%d(𝜋) ↦ ⟦ 𝜑 ↦ ν%d(ξ) ⟧", idx, idx - 1));
+        }
+        final ObjectsBox box = new Parser(String.join("\n", lines)).parse();
+        MatcherAssert.assertThat(
+            new Eliminator(box, 4).eliminate(),
+            Matchers.equalTo(size - 1)
+        );
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(size * 2 + 1));
+    }
+
+    @Test
+    void rejectsBoxWithoutRootTest() {
+        final ObjectsBox box = new Parser("ν1(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧").parse();
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Eliminator(box).eliminate()
+        );
+    }
+}
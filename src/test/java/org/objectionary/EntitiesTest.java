@@ -25,6 +25,7 @@ package org.objectionary;
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.objectionary.entities.Data;
@@ -94,6 +95,37 @@ final class EntitiesTest {
         );
     }
 
+    @Test
+    void readOneInternedObjectTest() {
+        final Symbols symbols = new Symbols();
+        final int id = symbols.intern("ν3");
+        final Entities reader = new Entities(new Tokenizer("ν3(ξ)"), symbols);
+        final FlatObject object = (FlatObject) reader.one();
+        MatcherAssert.assertThat(object.getId(), Matchers.equalTo(id));
+        MatcherAssert.assertThat(object.getName(), Matchers.sameInstance(symbols.name(id)));
+        MatcherAssert.assertThat(object.getLocator(), Matchers.equalTo("ξ"));
+    }
+
+    @Test
+    void readOneDataInPlaceTest() {
+        MatcherAssert.assertThat(
+            ((Data) new Entities(new Tokenizer("0x002A")).one()).getValue(),
+            Matchers.equalTo(42)
+        );
+        MatcherAssert.assertThat(
+            ((Data) new Entities(new Tokenizer("0x-1f")).one()).getValue(),
+            Matchers.equalTo(-31)
+        );
+        Assertions.assertThrows(
+            NumberFormatException.class,
+            () -> new Entities(new Tokenizer("0x80000000")).one()
+        );
+        Assertions.assertThrows(
+            NumberFormatException.class,
+            () -> new Entities(new Tokenizer("0xZZ")).one()
+        );
+    }
+
     @Disabled
     @Test
     void readOneFailedTest() {
@@ -104,4 +136,10 @@ final class EntitiesTest {
             Matchers.instanceOf(IllegalArgumentException.class)
         );
     }
+
+    @Test
+    void rejectsTruncatedBindingsTest() {
+        final Entities reader = new Entities(new Tokenizer("x ↦"));
+        Assertions.assertThrows(IllegalArgumentException.class, reader::nested);
+    }
 }
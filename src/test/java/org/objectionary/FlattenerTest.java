@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.dataization.Dataizer;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.NestedObject;
+import org.objectionary.parsing.Parser;
+import org.objectionary.passes.Flattener;
+
+/**
+ * Flattener test.
+ *
+ * @since 0.1.0
+ */
+final class FlattenerTest {
+
+    @Test
+    void flattensNestedApplicationsTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2( y ↦ 0x0007 ) ) ⟧",
+                "ν1(𝜋) ↦ ⟦ x ↦ ø ⟧",
+                "ν2(𝜋) ↦ ⟦ y ↦ ø, z ↦ ξ.y ⟧"
+            )
+        ).parse();
+        new Flattener(box, 1).flatten();
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν3(ξ) ⟧",
+                    "ν1(𝜋) ↦ ⟦ x ↦ ø ⟧",
+                    "ν2(𝜋) ↦ ⟦ y ↦ ø, z ↦ ξ.y ⟧",
+                    "ν3(𝜋) ↦ ⟦ x ↦ ν4(𝜋) ⟧",
+                    "ν4(𝜋) ↦ ⟦ y ↦ 0x0007, z ↦ ξ.y ⟧"
+                )
+            )
+        );
+    }
+
+    @Test
+    void keepsMeaningOfLocatorsTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( ρ ↦ ξ.a ), a ↦ ν2 ⟧",
+                "ν1(𝜋) ↦ ⟦ λ ↦ int-neg, ρ ↦ ø ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0005 ⟧"
+            )
+        ).parse();
+        new Flattener(box).flatten();
+        MatcherAssert.assertThat(new Dataizer(box).dataize(), Matchers.equalTo(-5));
+    }
+
+    @Test
+    void flattensDeepNestingTest() {
+        final int depth = 100_000;
+        final ObjectsBox box = new ObjectsBox();
+        final Map<String, Entity> leaf = new LinkedHashMap<>();
+        leaf.put("x", new Data(1));
+        box.put("ν1", leaf);
+        Entity entity = new Data(2);
+        for (int idx = 0; idx < depth; idx += 1) {
+            final Map<String, Entity> application = new LinkedHashMap<>();
+            application.put("x", entity);
+            entity = new NestedObject(box.symbols(), box.symbols().intern("ν1"), application);
+        }
+        final Map<String, Entity> root = new LinkedHashMap<>();
+        root.put("x", entity);
+        box.put("ν0", root);
+        new Flattener(box, 4).flatten();
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(depth + 2));
+        MatcherAssert.assertThat(
+            box.get(String.format("ν%d", depth + 1)).get("x"),
+            Matchers.equalTo(new Data(2))
+        );
+    }
+
+    @Test
+    void rejectsUnknownBaseTest() {
+        final ObjectsBox box = new Parser("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν9( x ↦ ø ) ⟧").parse();
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Flattener(box, 1).flatten()
+        );
+    }
+
+    @Test
+    void expandsOriginalBasesInParallelTest() {
+        final StringBuilder program = new StringBuilder(0);
+        final int triples = 1000;
+        for (int idx = 0; idx < triples; idx += 1) {
+            program.append(
+                String.format(
+                    "ν%d(𝜋) ↦ ⟦ x ↦ ø, y ↦ ν%d( z ↦ 0x0002 ) ⟧%n", idx * 3, idx * 3 + 1
+                )
+            ).append(String.format("ν%d(𝜋) ↦ ⟦ z ↦ ø ⟧%n", idx * 3 + 1)).append(
+                String.format(
+                    "ν%d(𝜋) ↦ ⟦ 𝜑 ↦ ν%d( x ↦ 0x0001 ) ⟧%n", idx * 3 + 2, idx * 3
+                )
+            );
+        }
+        final ObjectsBox box = new Parser(program.toString().trim()).parse();
+        new Flattener(box, 4).flatten();
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(triples * 6));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectionary.atoms.Atoms;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Empty;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.entities.Flyweights;
+import org.objectionary.entities.Lambda;
+import org.objectionary.entities.Locator;
+import org.objectionary.entities.NestedObject;
+import org.objectionary.parsing.Parser;
+
+/**
+ * Flyweights test.
+ *
+ * @since 0.1.0
+ */
+final class FlyweightsTest {
+
+    @Test
+    void sharesSmallDataTest() {
+        final Flyweights flyweights = new Flyweights(new Symbols());
+        MatcherAssert.assertThat(
+            flyweights.data(42),
+            Matchers.sameInstance(flyweights.data(42))
+        );
+        MatcherAssert.assertThat(
+            flyweights.data(1 << 20),
+            Matchers.equalTo(new Data(1 << 20))
+        );
+    }
+
+    @Test
+    void internsLocatorsAndObjectsTest() {
+        final Symbols symbols = new Symbols();
+        final Flyweights flyweights = new Flyweights(symbols);
+        MatcherAssert.assertThat(
+            flyweights.locator("𝜋.𝛼0"),
+            Matchers.sameInstance(flyweights.locator("𝜋.𝛼0"))
+        );
+        MatcherAssert.assertThat(
+            flyweights.flat(symbols.intern("ν1"), "ξ"),
+            Matchers.sameInstance(flyweights.flat(symbols.intern("ν1"), "ξ"))
+        );
+        MatcherAssert.assertThat(
+            flyweights.flat(symbols.intern("ν1"), "ξ"),
+            Matchers.not(Matchers.sameInstance(flyweights.flat(symbols.intern("ν1"), "𝜋")))
+        );
+    }
+
+    @Test
+    void comparesEntitiesByValueTest() {
+        final Symbols symbols = new Symbols();
+        final Map<String, Entity> first = new LinkedHashMap<>();
+        first.put("x", new Locator(symbols, "𝜋.y"));
+        final Map<String, Entity> second = new LinkedHashMap<>();
+        second.put("x", new Locator(symbols, "𝜋.y"));
+        MatcherAssert.assertThat(
+            new NestedObject("ν2", first),
+            Matchers.equalTo(new NestedObject("ν2", second))
+        );
+        MatcherAssert.assertThat(
+            new Locator(symbols, "𝜋.y"),
+            Matchers.not(Matchers.equalTo(new Locator(new Symbols(), "𝜋.y")))
+        );
+        MatcherAssert.assertThat(
+            new FlatObject("ν2", "ξ"),
+            Matchers.equalTo(new FlatObject("ν2", "ξ"))
+        );
+        MatcherAssert.assertThat(
+            new Flyweights(symbols).empty(),
+            Matchers.sameInstance(Empty.INSTANCE)
+        );
+        MatcherAssert.assertThat(
+            new Data(7).hashCode(),
+            Matchers.equalTo(new Data(7).hashCode())
+        );
+        MatcherAssert.assertThat(new Data(7), Matchers.not(Matchers.equalTo(new Data(8))));
+    }
+
+    @Test
+    void comparesLambdasByAtomsTest() {
+        final String add = "int-add";
+        MatcherAssert.assertThat(
+            new Lambda(add),
+            Matchers.equalTo(new Lambda(add))
+        );
+        MatcherAssert.assertThat(
+            new Lambda(add),
+            Matchers.not(
+                Matchers.equalTo(
+                    new Flyweights(
+                        new Symbols(),
+                        Atoms.STANDARD.withBinary(add, (left, right) -> left - right)
+                    ).lambda(add)
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            new Lambda("unknown"),
+            Matchers.equalTo(new Lambda("unknown"))
+        );
+    }
+
+    @Test
+    void sharesEntitiesOfParsedBoxTest() {
+        final ObjectsBox box = new Parser(
+            "ν0(𝜋) ↦ ⟦ x ↦ 𝜋.y, z ↦ ø, d ↦ 0x0001 ⟧\nν1(𝜋) ↦ ⟦ x ↦ 𝜋.y, z ↦ ø, d ↦ 0x0001 ⟧"
+        ).parse();
+        for (final String name : new String[] {"x", "z", "d"}) {
+            MatcherAssert.assertThat(
+                box.get("ν0").get(name),
+                Matchers.sameInstance(box.get("ν1").get(name))
+            );
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.parsing.Parser;
+
+/**
+ * Generator test.
+ *
+ * @since 0.1.0
+ */
+final class GeneratorTest {
+
+    @Test
+    void generatesParsableProgramTest() throws IOException {
+        final StringBuilder program = new StringBuilder();
+        new Generator(42L, 2000).withDepth(3).withChain(5).withDuplication(0.1).writeTo(program);
+        MatcherAssert.assertThat(
+            new Parser(program).parse().toString(),
+            Matchers.equalTo(program.toString())
+        );
+    }
+
+    @Test
+    void dependsOnlyOnSeedTest() throws IOException {
+        final Generator generator = new Generator(7L, 300).withFanout(6);
+        final StringBuilder first = new StringBuilder();
+        generator.writeTo(first);
+        final StringWriter second = new StringWriter();
+        generator.writeTo(second);
+        final StringBuilder other = new StringBuilder();
+        new Generator(8L, 300).withFanout(6).writeTo(other);
+        MatcherAssert.assertThat(second.toString(), Matchers.equalTo(first.toString()));
+        MatcherAssert.assertThat(other.toString(), Matchers.not(first.toString()));
+    }
+
+    @Test
+    void followsWeightsAndChainsTest() throws IOException {
+        for (final double rate : new double[] {0.0, 0.5}) {
+            final StringBuilder program = new StringBuilder();
+            new Generator(5L, 100).withWeights(1, 0, 0, 0).withChain(10)
+                .withDuplication(rate).writeTo(program);
+            final ObjectsBox box = new Parser(program).parse();
+            MatcherAssert.assertThat(GeneratorTest.chained(box), Matchers.equalTo(90));
+        }
+    }
+
+    @Test
+    void duplicatesObjectsTest() throws IOException {
+        final StringBuilder program = new StringBuilder();
+        new Generator(3L, 50).withDuplication(1.0).writeTo(program);
+        final Set<String> bodies = new HashSet<>();
+        for (final String line : program.toString().split("\n")) {
+            bodies.add(line.substring(line.indexOf('⟦')));
+        }
+        MatcherAssert.assertThat(bodies, Matchers.hasSize(1));
+    }
+
+    @Test
+    void rejectsWrongKnobsTest() {
+        final Generator generator = new Generator(1L, 10);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> generator.withFanout(0));
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> generator.withWeights(0, 0, 0, 0)
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> generator.withDuplication(1.5)
+        );
+    }
+
+    /**
+     * Counts {@code 𝜑} bindings of a box of data and chains, checking that
+     * every one of them refers to the next object.
+     * @param box The box.
+     * @return The number of {@code 𝜑} bindings.
+     */
+    private static int chained(final ObjectsBox box) {
+        int chained = 0;
+        for (final Map.Entry<String, Map<String, Entity>> object : box.content().entrySet()) {
+            final int index = Integer.parseInt(object.getKey().substring(1));
+            final Map<String, Entity> bindings = object.getValue();
+            if (bindings.containsKey("𝜑")) {
+                chained += 1;
+                MatcherAssert.assertThat(index % 10, Matchers.lessThan(9));
+                MatcherAssert.assertThat(
+                    ((FlatObject) bindings.get("𝜑")).getName(),
+                    Matchers.equalTo(String.format("ν%d", index + 1))
+                );
+            }
+            MatcherAssert.assertThat(
+                bindings.entrySet().stream()
+                    .filter(binding -> !"𝜑".equals(binding.getKey()))
+                    .allMatch(binding -> binding.getValue() instanceof Data),
+                Matchers.is(true)
+            );
+        }
+        return chained;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.parsing.Parser;
+import org.objectionary.passes.Merger;
+
+/**
+ * Merger test.
+ *
+ * @since 0.1.0
+ */
+final class MergerTest {
+
+    @Test
+    void mergesIdenticalObjectsTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν3(ξ), c ↦ ν5(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ x ↦ ν2(ξ), y ↦ 𝜋.z ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                "ν3(𝜋) ↦ ⟦ y ↦ 𝜋.z, x ↦ ν4(ξ) ⟧",
+                "ν4(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                "ν5(𝜋) ↦ ⟦ x ↦ ν4(𝜋), y ↦ 𝜋.z ⟧"
+            )
+        ).parse();
+        MatcherAssert.assertThat(new Merger(box, 1).merge(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν1(ξ), c ↦ ν5(ξ) ⟧",
+                    "ν1(𝜋) ↦ ⟦ x ↦ ν2(ξ), y ↦ 𝜋.z ⟧",
+                    "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                    "ν5(𝜋) ↦ ⟦ x ↦ ν2(𝜋), y ↦ 𝜋.z ⟧"
+                )
+            )
+        );
+    }
+
+    @Test
+    void mergesObjectsOfCycleTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν3(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ next ↦ ν2(ξ) ⟧",
+                "ν2(𝜋) ↦ ⟦ next ↦ ν1(ξ) ⟧",
+                "ν3(𝜋) ↦ ⟦ Δ ↦ 0x0001, next ↦ ν3(ξ) ⟧",
+                "ν4(𝜋) ↦ ⟦ Δ ↦ 0x0001, next ↦ ν3(ξ) ⟧"
+            )
+        ).parse();
+        MatcherAssert.assertThat(new Merger(box, 1).merge(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν3(ξ) ⟧",
+                    "ν1(𝜋) ↦ ⟦ next ↦ ν1(ξ) ⟧",
+                    "ν3(𝜋) ↦ ⟦ Δ ↦ 0x0001, next ↦ ν3(ξ) ⟧",
+                    "ν4(𝜋) ↦ ⟦ Δ ↦ 0x0001, next ↦ ν3(ξ) ⟧"
+                )
+            )
+        );
+    }
+
+    @Test
+    void mergesEquivalentCyclesTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν3(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ x ↦ 0x0001, next ↦ ν2(ξ) ⟧",
+                "ν2(𝜋) ↦ ⟦ y ↦ 0x0002, next ↦ ν1(ξ) ⟧",
+                "ν3(𝜋) ↦ ⟦ x ↦ 0x0001, next ↦ ν4(ξ) ⟧",
+                "ν4(𝜋) ↦ ⟦ y ↦ 0x0002, next ↦ ν3(ξ) ⟧"
+            )
+        ).parse();
+        MatcherAssert.assertThat(new Merger(box, 1).merge(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν1(ξ) ⟧",
+                    "ν1(𝜋) ↦ ⟦ x ↦ 0x0001, next ↦ ν2(ξ) ⟧",
+                    "ν2(𝜋) ↦ ⟦ y ↦ 0x0002, next ↦ ν1(ξ) ⟧"
+                )
+            )
+        );
+    }
+
+    @Test
+    void mergesLongChainsInParallelTest() {
+        final int size = 50_000;
+        final List<String> lines = new ArrayList<>(size * 2 + 1);
+        lines.add(String.format("ν0(𝜋) ↦ ⟦ a ↦ ν%d(ξ), b ↦ ν%d(ξ) ⟧", size, size * 2));
+        lines.add("ν1(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧");
+        lines.add(String.format("ν%d(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧", size + 1));
+        for (int idx = 2; idx <= size; idx += 1) {
+            lines.add(String.format("ν%d(𝜋) ↦ ⟦ 𝜑 ↦ ν%d(ξ) ⟧", idx, idx - 1));
+            lines.add(String.format("ν%d(𝜋) ↦ ⟦ 𝜑 ↦ ν%d(ξ) ⟧", size + idx, size + idx - 1));
+        }
+        final ObjectsBox box = new Parser(String.join("\n", lines)).parse();
+        MatcherAssert.assertThat(new Merger(box, 4).merge(), Matchers.equalTo(size));
+        MatcherAssert.assertThat(
+            box.get("ν0").get("b").toString(),
+            Matchers.equalTo(String.format("ν%d(ξ)", size))
+        );
+    }
+
+    @Test
+    void rejectsApplicationsTest() {
+        final ObjectsBox box = new Parser("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ø ) ⟧").parse();
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Merger(box).merge()
+        );
+    }
+}
@@ -23,8 +23,13 @@
  */
 package org.objectionary;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -35,12 +40,14 @@ import org.objectionary.entities.FlatObject;
 import org.objectionary.entities.Lambda;
 import org.objectionary.entities.Locator;
 import org.objectionary.entities.NestedObject;
+import org.objectionary.parsing.Parser;
 
 /**
  * ObjectsBox test.
  *
  * @since 0.1.0
  */
+@SuppressWarnings("PMD.TooManyMethods")
 final class ObjectsBoxTest {
 
     /**
@@ -52,7 +59,7 @@ final class ObjectsBoxTest {
     void boxWithEmptyToStringTest() {
         final ObjectsBox box = new ObjectsBox();
         final Map<String, Entity> bindings = new HashMap<>();
-        bindings.put("x", new Empty());
+        bindings.put("x", Empty.INSTANCE);
         box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
         MatcherAssert.assertThat(
             box.toString(),
@@ -76,7 +83,7 @@ final class ObjectsBoxTest {
     void boxWithLocatorToStringTest() {
         final ObjectsBox box = new ObjectsBox();
         final Map<String, Entity> bindings = new HashMap<>();
-        bindings.put("x", new Locator("𝜋.𝜋.y"));
+        bindings.put("x", new Locator(box.symbols(), "𝜋.𝜋.y"));
         box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
         MatcherAssert.assertThat(
             box.toString(),
@@ -112,7 +119,7 @@ final class ObjectsBoxTest {
     void boxWithNestedObjectToStringTest() {
         final ObjectsBox box = new ObjectsBox();
         final Map<String, Entity> application = new HashMap<>();
-        application.put("x", new Locator("𝜋.𝜋.z"));
+        application.put("x", new Locator(box.symbols(), "𝜋.𝜋.z"));
         final Map<String, Entity> bindings = new HashMap<>();
         bindings.put("y", new NestedObject("v", application));
         box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
@@ -126,13 +133,13 @@ final class ObjectsBoxTest {
     void zeroObjectOrderTest() {
         final ObjectsBox box = new ObjectsBox();
         Map<String, Entity> bindings = new HashMap<>();
-        bindings.put("x", new Empty());
+        bindings.put("x", Empty.INSTANCE);
         box.put("a", bindings);
         bindings = new HashMap<>();
-        bindings.put("y", new Empty());
+        bindings.put("y", Empty.INSTANCE);
         box.put("b", bindings);
         bindings = new HashMap<>();
-        bindings.put("z", new Empty());
+        bindings.put("z", Empty.INSTANCE);
         box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
         final String result = box.toString();
         MatcherAssert.assertThat(
@@ -146,7 +153,7 @@ final class ObjectsBoxTest {
         final ObjectsBox box = new ObjectsBox();
         final Map<String, Entity> bindings = new HashMap<>();
         bindings.put("Δ", new Data(Integer.parseInt("000A", 16)));
-        bindings.put("x", new Empty());
+        bindings.put("x", Empty.INSTANCE);
         bindings.put("y", new FlatObject("bar", "𝜋"));
         bindings.put("a", new Lambda("Atom"));
         box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
@@ -162,7 +169,7 @@ final class ObjectsBoxTest {
         final ObjectsBox box = new ObjectsBox();
         final Map<String, Entity> bindings = new HashMap<>();
         bindings.put("λ", new Data(Integer.parseInt("000A", 16)));
-        bindings.put("a1", new Empty());
+        bindings.put("a1", Empty.INSTANCE);
         bindings.put("a2", new FlatObject("bar", "𝜋"));
         bindings.put("a3", new Lambda("Atom"));
         box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
@@ -178,7 +185,7 @@ final class ObjectsBoxTest {
         final ObjectsBox box = new ObjectsBox();
         final Map<String, Entity> bindings = new HashMap<>();
         bindings.put("𝜑", new Data(Integer.parseInt("000A", 16)));
-        bindings.put("a", new Empty());
+        bindings.put("a", Empty.INSTANCE);
         bindings.put("b", new FlatObject("d", "𝜋"));
         bindings.put("c", new Lambda("Atom"));
         box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
@@ -188,4 +195,226 @@ final class ObjectsBoxTest {
             Matchers.equalTo("𝜑")
         );
     }
+
+    @Test
+    void putAndGetByIdTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final Map<String, Entity> bindings = new HashMap<>();
+        bindings.put("x", Empty.INSTANCE);
+        final int id = box.symbols().intern("ν7");
+        box.put(id, bindings);
+        MatcherAssert.assertThat(box.get("ν7"), Matchers.sameInstance(bindings));
+        MatcherAssert.assertThat(box.get(id), Matchers.sameInstance(bindings));
+    }
+
+    @Test
+    void walksInIndexOrderTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final String[] names = {"ν100000", "foo", "ν3", "ν0", "ν2048", "ν1"};
+        for (final String name : names) {
+            final Map<String, Entity> bindings = new HashMap<>();
+            bindings.put("x", Empty.INSTANCE);
+            box.put(name, bindings);
+        }
+        MatcherAssert.assertThat(
+            box.content().keySet(),
+            Matchers.contains("ν0", "ν1", "ν3", "ν2048", "ν100000", "foo")
+        );
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(names.length));
+        MatcherAssert.assertThat(box.content().containsKey("ν2048"), Matchers.is(true));
+        MatcherAssert.assertThat(box.get("ν2047"), Matchers.nullValue());
+    }
+
+    @Test
+    void walksObjectsWithLargestIndexesTest() {
+        final ObjectsBox box = new Parser(
+            "ν0(𝜋) ↦ ⟦ x ↦ ν2147483647(ξ) ⟧\nν2147483647(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+        ).parse();
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            box.content().keySet(),
+            Matchers.contains("ν0", "ν2147483647")
+        );
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.containsString("ν2147483647(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧")
+        );
+        MatcherAssert.assertThat(box.bound(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            box.symbols().name(box.fresh()),
+            Matchers.equalTo("ν1")
+        );
+    }
+
+    @Test
+    void removesThroughContentTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ x ↦ ø ⟧",
+                "ν1(𝜋) ↦ ⟦ x ↦ ø ⟧",
+                "ν2(𝜋) ↦ ⟦ x ↦ ø ⟧",
+                "foo(𝜋) ↦ ⟦ x ↦ ø ⟧"
+            )
+        ).parse();
+        final Map<String, Map<String, Entity>> content = box.content();
+        MatcherAssert.assertThat(content.remove("ν1"), Matchers.notNullValue());
+        MatcherAssert.assertThat(content.remove("ν1"), Matchers.nullValue());
+        MatcherAssert.assertThat(content.remove("bar"), Matchers.nullValue());
+        MatcherAssert.assertThat(box.get("ν1"), Matchers.nullValue());
+        content.keySet().removeIf("foo"::equals);
+        MatcherAssert.assertThat(content.keySet(), Matchers.contains("ν0", "ν2"));
+        content.clear();
+        MatcherAssert.assertThat(content.size(), Matchers.equalTo(0));
+        MatcherAssert.assertThat(box.get("ν0"), Matchers.nullValue());
+    }
+
+    @Test
+    void keepsNonCanonicalNamesTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final Map<String, Entity> first = new HashMap<>();
+        first.put("x", Empty.INSTANCE);
+        final Map<String, Entity> second = new HashMap<>();
+        second.put("y", Empty.INSTANCE);
+        box.put("ν7", first);
+        box.put("ν07", second);
+        MatcherAssert.assertThat(box.get("ν7"), Matchers.sameInstance(first));
+        MatcherAssert.assertThat(box.get("ν07"), Matchers.sameInstance(second));
+        MatcherAssert.assertThat(box.get(box.symbols().intern("ν7")), Matchers.sameInstance(first));
+    }
+
+    @Test
+    void writesToWriterTest() throws IOException {
+        final ObjectsBox box = new ObjectsBox();
+        for (int index = 0; index < 1000; index += 1) {
+            final Map<String, Entity> bindings = new HashMap<>();
+            bindings.put("x", new FlatObject("ν1", "ξ"));
+            bindings.put("Δ", new Data(index));
+            box.put(Symbols.object(index), bindings);
+        }
+        final StringWriter writer = new StringWriter();
+        box.writeTo(writer);
+        MatcherAssert.assertThat(writer.toString(), Matchers.equalTo(box.toString()));
+    }
+
+    @Test
+    void writesLongAndNegativeDataTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final Map<String, Entity> bindings = new HashMap<>();
+        bindings.put("Δ", new Data(-1));
+        bindings.put("y", new Data(0x12345));
+        box.put(ObjectsBoxTest.INIT_OBJECT, bindings);
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo("ν0(𝜋) ↦ ⟦ Δ ↦ 0xFFFFFFFF, y ↦ 0x12345 ⟧")
+        );
+    }
+
+    @Test
+    void writesCanonicalTextTest() throws IOException {
+        final ObjectsBox first = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ y ↦ ν1( b ↦ ø, a ↦ ξ.x ), x ↦ ν2 ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                "z(𝜋) ↦ ⟦ q ↦ ø ⟧",
+                "w(𝜋) ↦ ⟦ q ↦ ø ⟧"
+            )
+        ).parse();
+        final ObjectsBox second = new Parser(
+            String.join(
+                "\n",
+                "w(𝜋) ↦ ⟦ q ↦ ø ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                "z(𝜋) ↦ ⟦ q ↦ ø ⟧",
+                "ν0(𝜋) ↦ ⟦ x ↦ ν2, y ↦ ν1( a ↦ ξ.x, b ↦ ø ) ⟧"
+            )
+        ).parse();
+        final StringBuilder text = new StringBuilder();
+        first.writeCanonical(text);
+        MatcherAssert.assertThat(
+            text.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ x ↦ ν2, y ↦ ν1( a ↦ ξ.x, b ↦ ø ) ⟧",
+                    "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                    "w(𝜋) ↦ ⟦ q ↦ ø ⟧",
+                    "z(𝜋) ↦ ⟦ q ↦ ø ⟧"
+                )
+            )
+        );
+        MatcherAssert.assertThat(first.fingerprint(), Matchers.equalTo(second.fingerprint()));
+        MatcherAssert.assertThat(
+            first.fingerprint(),
+            Matchers.equalTo(new Murmur().append(text).digest())
+        );
+    }
+
+    @Test
+    void fingerprintsDifferentContentTest() {
+        final ObjectsBox box = new Parser("ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧").parse();
+        final Fingerprint before = box.fingerprint();
+        MatcherAssert.assertThat(before.toString().length(), Matchers.equalTo(32));
+        box.put(
+            ObjectsBoxTest.INIT_OBJECT,
+            new Parser("ν0(𝜋) ↦ ⟦ Δ ↦ 0x0002 ⟧").parse().get(ObjectsBoxTest.INIT_OBJECT)
+        );
+        MatcherAssert.assertThat(box.fingerprint(), Matchers.not(Matchers.equalTo(before)));
+    }
+
+    @Test
+    void putsConcurrentlyWhileWalkingTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        final int shared = box.symbols().intern("shared");
+        IntStream.range(0, 20_000).parallel().forEach(
+            idx -> {
+                final int id = box.fresh();
+                ids.add(id);
+                final Map<String, Entity> bindings = new HashMap<>();
+                bindings.put("x", new Data(idx));
+                MatcherAssert.assertThat(box.putIfAbsent(id, bindings), Matchers.nullValue());
+                box.putIfAbsent(shared, bindings);
+                if (idx % 1000 == 0) {
+                    box.content().keySet().forEach(
+                        name -> MatcherAssert.assertThat(name, Matchers.notNullValue())
+                    );
+                }
+            }
+        );
+        MatcherAssert.assertThat(ids.size(), Matchers.equalTo(20_000));
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(20_001));
+        MatcherAssert.assertThat(box.bound(), Matchers.equalTo(20_000));
+    }
+
+    @Test
+    void replacesByCompareAndSetTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final int counter = box.symbols().intern("ν3");
+        IntStream.range(0, 10_000).parallel().forEach(
+            idx -> {
+                boolean done = false;
+                while (!done) {
+                    final Map<String, Entity> before = box.get(counter);
+                    final Map<String, Entity> after = new HashMap<>();
+                    final int value;
+                    if (before == null) {
+                        value = 0;
+                    } else {
+                        final Data data = (Data) before.get("Δ");
+                        value = data.getValue() + 1;
+                    }
+                    after.put("Δ", new Data(value));
+                    done = box.replace(counter, before, after);
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            ((Data) box.get(counter).get("Δ")).getValue(),
+            Matchers.equalTo(9_999)
+        );
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(box.bound(), Matchers.equalTo(4));
+    }
 }
@@ -25,7 +25,7 @@ package org.objectionary;
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
-import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.objectionary.parsing.LineParser;
 
@@ -39,27 +39,80 @@ final class ParseLineTest {
     /**
     * Simple parsing test.
     */
-    @Disabled
     @Test
     void simpleParsingTest() {
         final ObjectsBox box = new ObjectsBox();
         final String line = "ν0(𝜋) ↦ ⟦ λ ↦ int-neg, ρ ↦ 𝜋.𝛼0 ⟧";
         final LineParser parser = new LineParser(box);
         parser.parseLine(line);
-        MatcherAssert.assertThat(parser.toString(), Matchers.equalTo(line));
+        MatcherAssert.assertThat(box.toString(), Matchers.equalTo(line));
     }
 
     /**
      * Simple nested test.
      */
-    @Disabled
     @Test
     void simpleNestedTest() {
         final ObjectsBox box = new ObjectsBox();
         final String line = "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν2( a ↦ ξ.x ) ⟧";
         final LineParser parser = new LineParser(box);
         parser.parseLine(line);
-        MatcherAssert.assertThat(parser.toString(), Matchers.equalTo(line));
+        MatcherAssert.assertThat(box.toString(), Matchers.equalTo(line));
     }
 
+    /**
+     * Deeply nested test.
+     */
+    @Test
+    void deeplyNestedTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final String line = "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2( y ↦ 0x0007 ), z ↦ ø ), Δ ↦ 0x0001 ⟧";
+        new LineParser(box).parseLine(line);
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo("ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001, 𝜑 ↦ ν1( x ↦ ν2( y ↦ 0x0007 ), z ↦ ø ) ⟧")
+        );
+    }
+
+    /**
+     * Malformed line test.
+     */
+    @Test
+    void malformedLineTest() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new LineParser(new ObjectsBox()).parseLine("ν0(𝜋) ⟦ x ↦ ø ⟧")
+        );
+    }
+
+    /**
+     * Trailing tokens test.
+     */
+    @Test
+    void trailingTokensTest() {
+        for (final String line : new String[] {
+            "ν0(𝜋) ↦ ⟦ x ↦ ø ⟧ ν1(𝜋) ↦ ⟦ y ↦ ø ⟧",
+            "ν0(𝜋) ↦ ⟦ x ↦ ø ⟧ junk",
+        }) {
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new LineParser(new ObjectsBox()).parseLine(line)
+            );
+        }
+    }
+
+    /**
+     * Truncated line test.
+     */
+    @Test
+    void truncatedLineTest() {
+        final String line = "ν1(𝜋) ↦ ⟦ x ↦";
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new LineParser(new ObjectsBox()).parseLine(line)
+            ).getMessage(),
+            Matchers.endsWith(line)
+        );
+    }
 }
@@ -23,11 +23,16 @@
  */
 package org.objectionary;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.objectionary.entities.Empty;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.NestedObject;
 import org.objectionary.parsing.Parser;
+import org.objectionary.passes.Flattener;
 
 /**
  * Parser test.
@@ -39,7 +44,6 @@ final class ParserTest {
     /**
      * Simple parsing test.
      */
-    @Disabled
     @Test
     void simpleParsingTest() {
         final String line = "ν0(𝜋) ↦ ⟦ λ ↦ int-neg, ρ ↦ 𝜋.𝛼0 ⟧";
@@ -50,7 +54,6 @@ final class ParserTest {
     /**
      * Simple nested test.
      */
-    @Disabled
     @Test
     void simpleNestedTest() {
         final String line = "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν2( a ↦ ξ.x ) ⟧";
@@ -61,7 +64,6 @@ final class ParserTest {
     /**
      * Large test.
      */
-    @Disabled
     @Test
     void largeTest() {
         final String[] input = {
@@ -89,7 +91,6 @@ final class ParserTest {
      * Large test with nested objects.
      */
     @Test
-    @Disabled
     void largeWithNestingTest() {
         final String[] input = {
             "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2( y ↦ 0x0007 ) ) ⟧",
@@ -107,4 +108,88 @@ final class ParserTest {
             Matchers.equalToCompressingWhiteSpace(String.join("\n", correct))
         );
     }
+
+    /**
+     * Deep nesting test.
+     */
+    @Test
+    void deepNestingTest() {
+        final int depth = 20_000;
+        final StringBuilder input = new StringBuilder(1 << 18);
+        input.append("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ");
+        for (int idx = 0; idx < depth; idx += 1) {
+            input.append("ν1( x ↦ ");
+        }
+        input.append('ø');
+        for (int idx = 0; idx < depth; idx += 1) {
+            input.append(" )");
+        }
+        input.append(" ⟧\nν1(𝜋) ↦ ⟦ x ↦ ø ⟧");
+        final ObjectsBox box = new Parser(input).parse();
+        Entity entity = box.get("ν0").get("𝜑");
+        int levels = 0;
+        while (entity instanceof NestedObject) {
+            entity = ((NestedObject) entity).getApplication().get("x");
+            levels += 1;
+        }
+        MatcherAssert.assertThat(levels, Matchers.equalTo(depth));
+        MatcherAssert.assertThat(entity, Matchers.instanceOf(Empty.class));
+        new Flattener(box, 1).flatten();
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(depth + 2));
+    }
+
+    /**
+     * Parallel parsing test.
+     */
+    @Test
+    void parallelParsingTest() {
+        final StringBuilder input = new StringBuilder(1 << 22);
+        final int total = 50_000;
+        for (int idx = 0; idx < total; idx += 1) {
+            input.append('ν').append(idx)
+                .append("(𝜋) ↦ ⟦ λ ↦ int-add, ρ ↦ 𝜋.𝛼0, 𝛼0 ↦ ν")
+                .append(idx + 1).append("(ξ) ⟧\n");
+        }
+        final ObjectsBox box = new Parser(input, 4).parse();
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(total));
+        MatcherAssert.assertThat(
+            box.get("ν4242").get("𝛼0").toString(),
+            Matchers.equalTo("ν4243(ξ)")
+        );
+    }
+
+    /**
+     * Sequential parsing test.
+     */
+    @Test
+    void parsesInCallingThreadTest() {
+        final StringBuilder text = new StringBuilder(1 << 20);
+        final int total = 10_000;
+        for (int idx = 0; idx < total; idx += 1) {
+            text.append('ν').append(idx).append("(𝜋) ↦ ⟦ x ↦ 𝜋.y, z ↦ 0x0001 ⟧\n");
+        }
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final CharSequence input = new CharSequence() {
+            @Override
+            public int length() {
+                return text.length();
+            }
+
+            @Override
+            public char charAt(final int index) {
+                threads.add(Thread.currentThread());
+                return text.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(final int start, final int end) {
+                return text.subSequence(start, end);
+            }
+        };
+        MatcherAssert.assertThat(
+            new Parser(input, 1).parse().content().size(),
+            Matchers.equalTo(total)
+        );
+        MatcherAssert.assertThat(threads, Matchers.contains(Thread.currentThread()));
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.objectionary.parsing.Parser;
+
+/**
+ * PersistentBox test.
+ *
+ * @since 0.1.0
+ */
+final class PersistentBoxTest {
+
+    @Test
+    void keepsPreviousVersionsTest() {
+        final PersistentBox empty = new PersistentBox();
+        final PersistentBox first = empty.with("ν0", PersistentBoxTest.data(1));
+        final PersistentBox second = first.with("ν1", PersistentBoxTest.data(2));
+        final PersistentBox third = second.with("ν0", PersistentBoxTest.data(3)).without("ν1");
+        MatcherAssert.assertThat(empty.size(), Matchers.equalTo(0));
+        MatcherAssert.assertThat(first.toString(), Matchers.equalTo("ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"));
+        MatcherAssert.assertThat(second.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(second.get("ν1"), Matchers.equalTo(PersistentBoxTest.data(2)));
+        MatcherAssert.assertThat(third.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(third.get("ν1"), Matchers.nullValue());
+        MatcherAssert.assertThat(third.toString(), Matchers.equalTo("ν0(𝜋) ↦ ⟦ Δ ↦ 0x0003 ⟧"));
+        MatcherAssert.assertThat(third.without("ν7"), Matchers.sameInstance(third));
+    }
+
+    @Test
+    void copiesMutableBoxTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2 ) ⟧",
+            "ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ 𝜋.z ⟧",
+            "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+        );
+        final PersistentBox box = new PersistentBox(new Parser(program).parse());
+        MatcherAssert.assertThat(box.content().size(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(box.content().containsKey("ν2"), Matchers.is(true));
+        MatcherAssert.assertThat(box.toBox().toString(), Matchers.equalTo(program));
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> box.get("ν2").clear()
+        );
+    }
+
+    @Test
+    void diffsOnlyChangesTest() {
+        final int size = 100_000;
+        PersistentBox before = new PersistentBox();
+        for (int idx = 0; idx < size; idx += 1) {
+            before = before.with(Symbols.object(idx), PersistentBoxTest.data(idx));
+        }
+        final PersistentBox after = before
+            .with(Symbols.object(77), PersistentBoxTest.data(-1))
+            .with(Symbols.object(size), PersistentBoxTest.data(size))
+            .without(Symbols.object(12_345));
+        final List<String> changes = new ArrayList<>(3);
+        after.diff(
+            before,
+            (id, old, now) -> changes.add(
+                String.format("%s:%b:%b", after.symbols().name(id), old != null, now != null)
+            )
+        );
+        Collections.sort(changes);
+        MatcherAssert.assertThat(
+            changes,
+            Matchers.contains("ν100000:false:true", "ν12345:true:false", "ν77:true:true")
+        );
+        MatcherAssert.assertThat(before.size(), Matchers.equalTo(size));
+        MatcherAssert.assertThat(after.size(), Matchers.equalTo(size));
+        MatcherAssert.assertThat(
+            after.get(Symbols.object(12_346)),
+            Matchers.sameInstance(before.get(Symbols.object(12_346)))
+        );
+    }
+
+    /**
+     * Makes bindings with data.
+     * @param value The data.
+     * @return The bindings.
+     */
+    private static Map<String, Entity> data(final int value) {
+        return Collections.singletonMap("Δ", new Data(value));
+    }
+}
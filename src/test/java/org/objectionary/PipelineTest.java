@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.objectionary.parsing.Parser;
+import org.objectionary.passes.BindingVisitor;
+import org.objectionary.passes.Eliminator;
+import org.objectionary.passes.Flattener;
+import org.objectionary.passes.Measure;
+import org.objectionary.passes.Pipeline;
+
+/**
+ * Pipeline test.
+ *
+ * @since 0.1.0
+ */
+final class PipelineTest {
+
+    @Test
+    void fusesVisitorsBetweenBarriersTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ 0x0001 ⟧",
+                "ν1(𝜋) ↦ ⟦ a ↦ 0x0002 ⟧"
+            )
+        ).parse();
+        final Symbols symbols = box.symbols();
+        final List<String> trace = new ArrayList<>(8);
+        final List<Measure> measures = new Pipeline(box, 1)
+            .bindings(
+                "increment",
+                (object, attribute, entity) -> {
+                    trace.add(String.format("increment %s", symbols.name(object)));
+                    return new Data(((Data) entity).getValue() + 1);
+                }
+            )
+            .objects(
+                "read",
+                object -> trace.add(
+                    String.format("read %s", box.get(object).get("a").toString())
+                )
+            )
+            .whole("barrier", () -> trace.add("barrier"))
+            .bindings(
+                "double",
+                (object, attribute, entity) -> new Data(((Data) entity).getValue() * 2)
+            )
+            .run();
+        MatcherAssert.assertThat(
+            trace,
+            Matchers.contains(
+                "increment ν0", "read 0x0002", "increment ν1", "read 0x0003", "barrier"
+            )
+        );
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ a ↦ 0x0004 ⟧",
+                    "ν1(𝜋) ↦ ⟦ a ↦ 0x0006 ⟧"
+                )
+            )
+        );
+        MatcherAssert.assertThat(measures, Matchers.hasSize(4));
+        for (final Measure measure : measures) {
+            MatcherAssert.assertThat(measure.objects(), Matchers.equalTo(2L));
+            MatcherAssert.assertThat(measure.nanos(), Matchers.greaterThanOrEqualTo(0L));
+            MatcherAssert.assertThat(measure.bytes(), Matchers.greaterThanOrEqualTo(0L));
+        }
+        MatcherAssert.assertThat(measures.get(2).name(), Matchers.equalTo("barrier"));
+    }
+
+    @Test
+    void runsPassesLikeSeparateCallsTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2( y ↦ 0x0007 ) ) ⟧",
+            "ν1(𝜋) ↦ ⟦ x ↦ ø ⟧",
+            "ν2(𝜋) ↦ ⟦ y ↦ ø, z ↦ ξ.y ⟧",
+            "ν5(𝜋) ↦ ⟦ Δ ↦ 0x0002 ⟧"
+        );
+        final ObjectsBox expected = new Parser(program).parse();
+        new Flattener(expected).flatten();
+        new Eliminator(expected).eliminate();
+        final ObjectsBox box = new Parser(program).parse();
+        final List<Measure> measures = new Pipeline(box)
+            .objects("flatten", new Flattener(box).visitor())
+            .whole("eliminate", () -> new Eliminator(box).eliminate())
+            .run();
+        MatcherAssert.assertThat(box.toString(), Matchers.equalTo(expected.toString()));
+        MatcherAssert.assertThat(measures.get(0).name(), Matchers.equalTo("flatten"));
+        MatcherAssert.assertThat(measures.get(0).objects(), Matchers.equalTo(4L));
+        MatcherAssert.assertThat(measures.get(1).objects(), Matchers.equalTo(6L));
+    }
+
+    @Test
+    void fusesLikeSequentialPassesTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ 0x0007 ) ⟧",
+            "ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ 0x0001 ⟧"
+        );
+        final BindingVisitor increment = (object, attribute, entity) -> {
+            Entity result = entity;
+            if (entity instanceof Data) {
+                result = new Data(((Data) entity).getValue() + 1);
+            }
+            return result;
+        };
+        final ObjectsBox sequential = new Parser(program).parse();
+        new Pipeline(sequential, 1).bindings("before", increment).run();
+        new Pipeline(sequential, 1).objects("flatten", new Flattener(sequential).visitor()).run();
+        new Pipeline(sequential, 1).bindings("after", increment).run();
+        final ObjectsBox fused = new Parser(program).parse();
+        new Pipeline(fused, 1)
+            .bindings("before", increment)
+            .objects("flatten", new Flattener(fused).visitor())
+            .bindings("after", increment)
+            .run();
+        MatcherAssert.assertThat(fused.toString(), Matchers.equalTo(sequential.toString()));
+        MatcherAssert.assertThat(
+            fused.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν2(ξ) ⟧",
+                    "ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ 0x0003 ⟧",
+                    "ν2(𝜋) ↦ ⟦ x ↦ 0x0008, y ↦ 0x0003 ⟧"
+                )
+            )
+        );
+    }
+
+    @Test
+    void visitsInCallingThreadTest() {
+        final ObjectsBox box = new ObjectsBox();
+        for (int idx = 0; idx < 5000; idx += 1) {
+            final Map<String, Entity> bindings = new HashMap<>();
+            bindings.put("x", new Data(idx));
+            box.put(box.fresh(), bindings);
+        }
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        new Pipeline(box, 1).objects("thread", object -> threads.add(Thread.currentThread()))
+            .run();
+        MatcherAssert.assertThat(threads, Matchers.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void measuresFusedTraversalOnceTest() {
+        final ObjectsBox box = new ObjectsBox();
+        for (int idx = 0; idx < 5000; idx += 1) {
+            final Map<String, Entity> bindings = new HashMap<>();
+            bindings.put("x", new Data(idx));
+            box.put(box.fresh(), bindings);
+        }
+        final List<Measure> measures = new Pipeline(box, 2)
+            .objects("first", object -> box.get(object))
+            .bindings("second", (object, attribute, entity) -> entity)
+            .objects("third", object -> box.get(object))
+            .run();
+        MatcherAssert.assertThat(measures, Matchers.hasSize(3));
+        for (final Measure measure : measures) {
+            MatcherAssert.assertThat(measure.objects(), Matchers.equalTo(5000L));
+            MatcherAssert.assertThat(
+                measure.nanos(), Matchers.equalTo(measures.get(0).nanos())
+            );
+            MatcherAssert.assertThat(
+                measure.bytes(), Matchers.equalTo(measures.get(0).bytes())
+            );
+        }
+    }
+}
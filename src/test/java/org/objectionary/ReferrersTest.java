@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.parsing.Parser;
+
+/**
+ * Referrers test.
+ *
+ * @since 0.1.0
+ */
+final class ReferrersTest {
+
+    @Test
+    void findsReferencesAndApplicationsTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν2(ξ), 𝜑 ↦ ν1( x ↦ ν2 ) ⟧",
+                "ν1(𝜋) ↦ ⟦ y ↦ ν2(𝜋), z ↦ 𝜋.z ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+            )
+        ).parse();
+        final int root = box.symbols().find("ν0");
+        final int first = box.symbols().find("ν1");
+        MatcherAssert.assertThat(
+            box.referrers().find("ν2"),
+            Matchers.containsInAnyOrder(
+                new Reference(root, "a"), new Reference(root, "𝜑"), new Reference(first, "y")
+            )
+        );
+        MatcherAssert.assertThat(
+            box.referrers().find("ν1"),
+            Matchers.contains(new Reference(root, "𝜑"))
+        );
+        MatcherAssert.assertThat(box.referrers().find("ν0"), Matchers.empty());
+    }
+
+    @Test
+    void staysConsistentOnChangesTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ b ↦ ν2(ξ) ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+            )
+        ).parse();
+        final Referrers referrers = box.referrers();
+        final Map<String, Entity> bindings = new HashMap<>();
+        bindings.put("c", box.flyweights().flat(box.symbols().find("ν0"), "ξ"));
+        box.put("ν1", bindings);
+        box.remove(box.symbols().find("ν0"));
+        MatcherAssert.assertThat(referrers.find("ν2"), Matchers.empty());
+        MatcherAssert.assertThat(referrers.find("ν1"), Matchers.empty());
+        MatcherAssert.assertThat(
+            referrers.find("ν0"),
+            Matchers.contains(new Reference(box.symbols().find("ν1"), "c"))
+        );
+    }
+
+    @Test
+    void staysConsistentOnConcurrentReplacesTest() throws Exception {
+        final ObjectsBox box = new ObjectsBox();
+        final int targets = 8000;
+        final int root = box.symbols().intern("ν0");
+        box.listen(
+            (id, before, after) -> LockSupport.parkNanos(
+                ThreadLocalRandom.current().nextInt(10_000)
+            )
+        );
+        final Referrers referrers = box.referrers();
+        final ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<Boolean>> tasks = new ArrayList<>(8);
+            for (int thread = 0; thread < 8; thread += 1) {
+                final int first = thread * 1000 + 1;
+                tasks.add(
+                    () -> {
+                        for (int idx = first; idx < first + 1000; idx += 1) {
+                            ReferrersTest.point(box, root, idx);
+                        }
+                        return true;
+                    }
+                );
+            }
+            for (final Future<Boolean> task : threads.invokeAll(tasks)) {
+                MatcherAssert.assertThat(task.get(), Matchers.is(true));
+            }
+        } finally {
+            threads.shutdown();
+        }
+        final String current = ((FlatObject) box.get(root).get("a")).getName();
+        for (int idx = 1; idx <= targets; idx += 1) {
+            final String target = String.format("ν%d", idx);
+            if (target.equals(current)) {
+                MatcherAssert.assertThat(
+                    referrers.find(target),
+                    Matchers.contains(new Reference(root, "a"))
+                );
+            } else {
+                MatcherAssert.assertThat(referrers.find(target), Matchers.empty());
+            }
+        }
+    }
+
+    /**
+     * Points the attribute {@code a} of an object to another object.
+     * @param box The box.
+     * @param object The identifier of the name of the object.
+     * @param target The index {@code N} of the name {@code νN} of the other object.
+     */
+    private static void point(final ObjectsBox box, final int object, final int target) {
+        final Map<String, Entity> after = new HashMap<>();
+        after.put(
+            "a",
+            box.flyweights().flat(box.symbols().intern(String.format("ν%d", target)), "ξ")
+        );
+        boolean done = false;
+        while (!done) {
+            done = box.replace(object, box.get(object), after);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectionary.dataization.Dataizer;
+import org.objectionary.parsing.Parser;
+import org.objectionary.parsing.Reparser;
+
+/**
+ * Reparser test.
+ *
+ * @since 0.1.0
+ */
+final class ReparserTest {
+
+    @Test
+    void replacesObjectInPlaceTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+            )
+        ).parse();
+        new Reparser(box).reparse("ν1(𝜋) ↦ ⟦ Δ ↦ 0x0007 ⟧");
+        MatcherAssert.assertThat(
+            box.toString(),
+            Matchers.equalTo("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1(ξ) ⟧\nν1(𝜋) ↦ ⟦ Δ ↦ 0x0007 ⟧")
+        );
+        MatcherAssert.assertThat(new Dataizer(box).dataize(), Matchers.equalTo(7));
+    }
+
+    @Test
+    void invalidatesDependentObjectsTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ a ↦ ν1(ξ), b ↦ ν3(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ 𝜑 ↦ ν2( x ↦ ø ) ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                "ν3(𝜋) ↦ ⟦ Δ ↦ 0x0002 ⟧"
+            )
+        ).parse();
+        final Reparser reparser = new Reparser(box);
+        final List<String> invalidated = new ArrayList<>(3);
+        reparser.listen(id -> invalidated.add(box.symbols().name(id)));
+        reparser.reparse("ν2(𝜋) ↦ ⟦ Δ ↦ 0x0005 ⟧");
+        MatcherAssert.assertThat(invalidated, Matchers.contains("ν2", "ν1", "ν0"));
+    }
+
+    @Test
+    void followsChangedReferencesTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1(ξ) ⟧",
+                "ν1(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧",
+                "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0002 ⟧"
+            )
+        ).parse();
+        final Reparser reparser = new Reparser(box);
+        reparser.reparse("ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν2(ξ) ⟧");
+        final int[] first = reparser.reparse("ν1(𝜋) ↦ ⟦ Δ ↦ 0x0003 ⟧");
+        final int[] second = reparser.reparse("ν2(𝜋) ↦ ⟦ Δ ↦ 0x0004 ⟧");
+        MatcherAssert.assertThat(first.length, Matchers.equalTo(1));
+        MatcherAssert.assertThat(second.length, Matchers.equalTo(2));
+        MatcherAssert.assertThat(new Dataizer(box).dataize(), Matchers.equalTo(4));
+    }
+}
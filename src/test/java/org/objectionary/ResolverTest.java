@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Locator;
+import org.objectionary.parsing.Parser;
+
+/**
+ * Resolver test.
+ *
+ * @since 0.1.0
+ */
+final class ResolverTest {
+
+    /**
+     * The program to resolve locators in.
+     */
+    private static final String PROGRAM = String.join(
+        "\n",
+        "ν0(𝜋) ↦ ⟦ x ↦ ν1(ξ), y ↦ 0x0007 ⟧",
+        "ν1(𝜋) ↦ ⟦ z ↦ ν2(ξ), w ↦ 𝜋.y ⟧",
+        "ν2(𝜋) ↦ ⟦ Δ ↦ 0x002A ⟧"
+    );
+
+    @Test
+    void compilesLocatorTest() {
+        final Symbols symbols = new Symbols();
+        final Locator locator = new Locator(symbols, "ξ.𝜋.𝜋.a.b");
+        MatcherAssert.assertThat(locator.getParents(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(locator.getLength(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            locator.getName(1),
+            Matchers.sameInstance(symbols.name(symbols.find("b")))
+        );
+        MatcherAssert.assertThat(locator.getName(0), Matchers.equalTo("a"));
+    }
+
+    @Test
+    void resolvesThroughParentTest() {
+        final ObjectsBox box = new Parser(ResolverTest.PROGRAM).parse();
+        final Frames frames = new Frames();
+        final int root = frames.open(box.symbols().find("ν0"), Frames.ROOT);
+        final int child = frames.open(box.symbols().find("ν1"), root);
+        final Resolver resolver = new Resolver(box, frames);
+        final Locator locator = box.flyweights().locator("𝜋.y");
+        MatcherAssert.assertThat(
+            resolver.resolve(child, locator),
+            Matchers.equalTo(Resolver.DATA | 7)
+        );
+        MatcherAssert.assertThat(
+            resolver.resolve(child, locator),
+            Matchers.equalTo(resolver.resolve(child, locator))
+        );
+    }
+
+    @Test
+    void resolvesThroughObjectsTest() {
+        final ObjectsBox box = new Parser(ResolverTest.PROGRAM).parse();
+        final Frames frames = new Frames();
+        final int root = frames.open(box.symbols().find("ν0"), Frames.ROOT);
+        final Resolver resolver = new Resolver(box, frames);
+        MatcherAssert.assertThat(
+            resolver.resolve(root, box.flyweights().locator("ξ.x.z.Δ")),
+            Matchers.equalTo(Resolver.DATA | 42)
+        );
+        MatcherAssert.assertThat(
+            resolver.target(new Data(42), root),
+            Matchers.equalTo(Resolver.DATA | 42)
+        );
+    }
+
+    @Test
+    void rejectsMissingAttributeTest() {
+        final ObjectsBox box = new Parser(ResolverTest.PROGRAM).parse();
+        final Frames frames = new Frames();
+        final int root = frames.open(box.symbols().find("ν0"), Frames.ROOT);
+        final Resolver resolver = new Resolver(box, frames);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> resolver.resolve(root, box.flyweights().locator("ξ.q"))
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> resolver.resolve(root, box.flyweights().locator("𝜋.y"))
+        );
+    }
+
+    @Test
+    void memoizesManyFramesTest() {
+        final ObjectsBox box = new Parser(ResolverTest.PROGRAM).parse();
+        final Frames frames = new Frames();
+        final int root = frames.open(box.symbols().find("ν0"), Frames.ROOT);
+        final Resolver resolver = new Resolver(box, frames);
+        final Locator locator = box.flyweights().locator("𝜋.x.w");
+        for (int idx = 0; idx < 1000; idx += 1) {
+            final int frame = frames.open(box.symbols().find("ν1"), root);
+            MatcherAssert.assertThat(
+                resolver.resolve(frame, locator),
+                Matchers.equalTo(Resolver.DATA | 7)
+            );
+        }
+    }
+
+    @Test
+    void resolvesThroughDecorateesTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1(ξ), a ↦ ξ.b.Δ ⟧",
+                "ν1(𝜋) ↦ ⟦ 𝜑 ↦ ν2(ξ) ⟧",
+                "ν2(𝜋) ↦ ⟦ b ↦ 𝜋.c, c ↦ ν3 ⟧",
+                "ν3(𝜋) ↦ ⟦ Δ ↦ 0x0005 ⟧"
+            )
+        ).parse();
+        final Frames frames = new Frames();
+        final int root = frames.open(box.symbols().find("ν0"), Frames.ROOT);
+        MatcherAssert.assertThat(
+            new Resolver(box, frames).resolve(root, box.flyweights().locator("ξ.a")),
+            Matchers.equalTo(Resolver.DATA | 5)
+        );
+    }
+
+    @Test
+    void rejectsCyclesTest() {
+        final ObjectsBox box = new Parser(
+            String.join(
+                "\n",
+                "ν0(𝜋) ↦ ⟦ x ↦ ξ.y, y ↦ ξ.x, 𝜑 ↦ ν1 ⟧",
+                "ν1(𝜋) ↦ ⟦ 𝜑 ↦ ν0 ⟧"
+            )
+        ).parse();
+        final Frames frames = new Frames();
+        final int root = frames.open(box.symbols().find("ν0"), Frames.ROOT);
+        final Resolver resolver = new Resolver(box, frames);
+        for (final String path : new String[] {"ξ.x", "ξ.q", "ξ.x"}) {
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> resolver.resolve(root, box.flyweights().locator(path))
+            );
+        }
+    }
+}
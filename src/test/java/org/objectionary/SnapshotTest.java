@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.entities.Data;
+import org.objectionary.entities.Entity;
+import org.objectionary.entities.FlatObject;
+import org.objectionary.parsing.Parser;
+
+/**
+ * Snapshot test.
+ *
+ * @since 0.1.0
+ */
+final class SnapshotTest {
+
+    @Test
+    void roundTripsParsedBoxTest() throws IOException {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν3(𝜋), x ↦ ø ⟧",
+            "ν1(𝜋) ↦ ⟦ Δ ↦ 0x002A ⟧",
+            "ν2(𝜋) ↦ ⟦ λ ↦ int-add, ρ ↦ 𝜋.𝛼0, 𝛼0 ↦ 𝜋.𝛼1 ⟧",
+            "ν3(𝜋) ↦ ⟦ 𝜑 ↦ ν2(ξ), 𝛼1 ↦ ν1 ⟧",
+            "ν70000(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2( y ↦ 0x0007 ) ), z ↦ ν5(ξ) ⟧"
+        );
+        final ObjectsBox box = new Parser(program).parse();
+        MatcherAssert.assertThat(
+            SnapshotTest.roundTrip(box).toString(),
+            Matchers.equalTo(box.toString())
+        );
+    }
+
+    @Test
+    void roundTripsNamedObjectsAndNegativeDataTest() throws IOException {
+        final ObjectsBox box = new ObjectsBox();
+        final Map<String, Entity> zero = new HashMap<>();
+        zero.put("Δ", new Data(-5));
+        zero.put("y", new FlatObject("bar", "ξ"));
+        box.put("ν0", zero);
+        final Map<String, Entity> bar = new HashMap<>();
+        bar.put("Δ", new Data(Integer.MIN_VALUE));
+        box.put("bar", bar);
+        final ObjectsBox copy = SnapshotTest.roundTrip(box);
+        MatcherAssert.assertThat(copy.toString(), Matchers.equalTo(box.toString()));
+        MatcherAssert.assertThat(
+            ((FlatObject) copy.get("ν0").get("y")).getId(),
+            Matchers.equalTo(copy.symbols().find("bar"))
+        );
+    }
+
+    @Test
+    void rejectsForeignInputTest() {
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new Snapshot(new ByteArrayInputStream("ν0(𝜋) ↦ ⟦ ⟧".getBytes())).box()
+        );
+    }
+
+    @Test
+    void rejectsTruncatedInputTest() throws IOException {
+        final ObjectsBox box = new Parser("ν0(𝜋) ↦ ⟦ λ ↦ int-neg, ρ ↦ 𝜋.𝛼0 ⟧").parse();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        box.writeBinary(output);
+        final byte[] bytes = output.toByteArray();
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new Snapshot(
+                new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))
+            ).box()
+        );
+    }
+
+    @Test
+    void rejectsIndexesOutOfRangeTest() {
+        final byte[] bytes = {
+            'F', 'L', 'T', 'Y', Snapshot.VERSION, 0, 1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, 1,
+        };
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new Snapshot(new ByteArrayInputStream(bytes)).box()
+        );
+    }
+
+    @Test
+    void readsSparseObjectsTest() throws IOException {
+        final ObjectsBox box = new Parser("ν0(𝜋) ↦ ⟦ x ↦ ν2000000000(ξ) ⟧").parse();
+        box.put("ν2000000000", new Parser("ν0(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧").parse().get("ν0"));
+        MatcherAssert.assertThat(
+            SnapshotTest.roundTrip(box).toString(),
+            Matchers.equalTo(box.toString())
+        );
+    }
+
+    /**
+     * Writes the box and reads it back.
+     * @param box The box.
+     * @return The read box.
+     * @throws IOException If fails.
+     */
+    private static ObjectsBox roundTrip(final ObjectsBox box) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        box.writeBinary(output);
+        return new Snapshot(new ByteArrayInputStream(output.toByteArray())).box();
+    }
+}
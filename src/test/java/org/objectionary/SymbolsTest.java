@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Symbols test.
+ *
+ * @since 0.1.0
+ */
+final class SymbolsTest {
+
+    @Test
+    void givesDenseIdsTest() {
+        final Symbols symbols = new Symbols();
+        MatcherAssert.assertThat(symbols.intern("ρ"), Matchers.equalTo(0));
+        MatcherAssert.assertThat(symbols.intern("𝜑"), Matchers.equalTo(1));
+        MatcherAssert.assertThat(symbols.intern("ρ"), Matchers.equalTo(0));
+        MatcherAssert.assertThat(symbols.count(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void internsNamesTest() {
+        final Symbols symbols = new Symbols();
+        final String first = symbols.canonical(new StringBuilder("ν").append(42).toString());
+        final String second = symbols.canonical(new StringBuilder("ν").append(42).toString());
+        MatcherAssert.assertThat(second, Matchers.sameInstance(first));
+        MatcherAssert.assertThat(symbols.name(symbols.find("ν42")), Matchers.sameInstance(first));
+    }
+
+    @Test
+    void findsWithoutAddingTest() {
+        final Symbols symbols = new Symbols();
+        MatcherAssert.assertThat(symbols.find("Δ"), Matchers.equalTo(Symbols.ABSENT));
+        MatcherAssert.assertThat(symbols.count(), Matchers.equalTo(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> symbols.name(0));
+    }
+
+    @Test
+    void internsConcurrentlyTest() {
+        final Symbols symbols = new Symbols();
+        final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(
+            idx -> ids.add(symbols.intern(String.format("ν%d", idx % 10_000)))
+        );
+        MatcherAssert.assertThat(ids.size(), Matchers.equalTo(10_000));
+        MatcherAssert.assertThat(symbols.count(), Matchers.equalTo(10_000));
+        for (int idx = 0; idx < 10_000; idx += 1) {
+            MatcherAssert.assertThat(
+                symbols.name(symbols.find(String.format("ν%d", idx))),
+                Matchers.equalTo(String.format("ν%d", idx))
+            );
+        }
+    }
+}
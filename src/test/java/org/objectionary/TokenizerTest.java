@@ -23,6 +23,7 @@
  */
 package org.objectionary;
 
+import java.io.StringReader;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -71,4 +72,60 @@ final class TokenizerTest {
             tokenizer.next();
         }
     }
+
+    @Test
+    void sharesSymbolTokensTest() {
+        final Tokenizer tokenizer = new Tokenizer("ν0(𝜋) ↦ ⟦ x ↦ ø ⟧");
+        MatcherAssert.assertThat(
+            tokenizer.peek(1),
+            Matchers.sameInstance(ArrowToken.ARROW)
+        );
+        MatcherAssert.assertThat(
+            tokenizer.peek(2),
+            Matchers.sameInstance(BracketToken.OPEN)
+        );
+        MatcherAssert.assertThat(
+            tokenizer.peek(6),
+            Matchers.sameInstance(BracketToken.CLOSE)
+        );
+    }
+
+    @Test
+    void peeksWithoutMovingTest() {
+        final Tokenizer tokenizer = new Tokenizer("ν0(𝜋) ↦ ⟦ λ ↦ int-neg, ρ ↦ 𝜋.𝛼0 ⟧");
+        MatcherAssert.assertThat(
+            ((StringToken) tokenizer.peek(6)).getValue(),
+            Matchers.equalTo("ρ")
+        );
+        MatcherAssert.assertThat(
+            ((StringToken) tokenizer.peek(5)).getValue(),
+            Matchers.equalTo("int-neg")
+        );
+        MatcherAssert.assertThat(
+            ((StringToken) tokenizer.getToken()).getValue(),
+            Matchers.equalTo("ν0(𝜋)")
+        );
+    }
+
+    @Test
+    void readsLongInputFromReaderTest() {
+        final StringBuilder input = new StringBuilder(200_000);
+        for (int idx = 0; idx < 5000; idx += 1) {
+            input.append('ν').append(idx).append("(𝜋) ↦ ⟦ Δ ↦ 0x002A ⟧\n");
+        }
+        final Tokenizer expected = new Tokenizer(input);
+        final Tokenizer actual = new Tokenizer(new StringReader(input.toString()));
+        int count = 0;
+        while (expected.hasNext()) {
+            MatcherAssert.assertThat(
+                actual.getToken().toString(),
+                Matchers.equalTo(expected.getToken().toString())
+            );
+            expected.next();
+            actual.next();
+            count += 1;
+        }
+        MatcherAssert.assertThat(actual.hasNext(), Matchers.is(false));
+        MatcherAssert.assertThat(count, Matchers.equalTo(35_000));
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.objectionary;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectionary.parsing.Entities;
+import org.objectionary.parsing.LineParser;
+import org.objectionary.tokens.Kind;
+import org.objectionary.tokens.Tokens;
+
+/**
+ * Tokens test.
+ *
+ * @since 0.1.0
+ */
+final class TokensTest {
+
+    @Test
+    void scansTokensIntoColumnsTest() {
+        final Tokens tokens = new Tokens("ν1(𝜋) ↦ ⟦ x ↦ 0x002A, y ↦ 𝜋.z ⟧\n\n  ν2(𝜋) ↦ ⟦ ⟧\n");
+        MatcherAssert.assertThat(tokens.size(), Matchers.equalTo(14));
+        MatcherAssert.assertThat(tokens.lines(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(tokens.first(1), Matchers.equalTo(10));
+        MatcherAssert.assertThat(tokens.end(0), Matchers.equalTo(10));
+        MatcherAssert.assertThat(tokens.end(1), Matchers.equalTo(14));
+        MatcherAssert.assertThat(tokens.kind(0), Matchers.equalTo(Kind.OBJECT));
+        MatcherAssert.assertThat(tokens.tag(1), Matchers.equalTo(Tokens.ARROW));
+        MatcherAssert.assertThat(tokens.tag(2), Matchers.equalTo(Tokens.OPEN));
+        MatcherAssert.assertThat(tokens.kind(5), Matchers.equalTo(Kind.DATA));
+        MatcherAssert.assertThat(tokens.kind(8), Matchers.equalTo(Kind.LOCATOR));
+        MatcherAssert.assertThat(tokens.tag(9), Matchers.equalTo(Tokens.CLOSE));
+        MatcherAssert.assertThat(tokens.start(5), Matchers.equalTo(15));
+        MatcherAssert.assertThat(tokens.length(5), Matchers.equalTo(6));
+        MatcherAssert.assertThat(tokens.slice(8).toString(), Matchers.equalTo("𝜋.z"));
+        MatcherAssert.assertThat(tokens.value(10), Matchers.equalTo("ν2(𝜋)"));
+    }
+
+    @Test
+    void parsesSameTokensTwiceTest() {
+        final String program = String.join(
+            "\n",
+            "ν0(𝜋) ↦ ⟦ 𝜑 ↦ ν1( x ↦ ν2(ξ) ) ⟧",
+            "ν1(𝜋) ↦ ⟦ x ↦ ø, y ↦ int-add ⟧",
+            "ν2(𝜋) ↦ ⟦ Δ ↦ 0x0001 ⟧"
+        );
+        final Tokens tokens = new Tokens(program.toCharArray());
+        for (int pass = 0; pass < 2; pass += 1) {
+            final ObjectsBox box = new ObjectsBox();
+            final LineParser parser = new LineParser(box);
+            for (int line = 0; line < tokens.lines(); line += 1) {
+                parser.parseLine(tokens, line);
+            }
+            MatcherAssert.assertThat(box.toString(), Matchers.equalTo(program));
+        }
+    }
+
+    @Test
+    void readsEntityByIndexTest() {
+        final ObjectsBox box = new ObjectsBox();
+        final Tokens tokens = new Tokens("0x-10 ø");
+        MatcherAssert.assertThat(
+            new Entities(tokens, 0, 1, box.flyweights()).one(),
+            Matchers.sameInstance(box.flyweights().data(-16))
+        );
+        MatcherAssert.assertThat(
+            new Entities(tokens, 1, 2, box.flyweights()).one(),
+            Matchers.sameInstance(box.flyweights().empty())
+        );
+    }
+
+    @Test
+    void rejectsTokensOutOfRangeTest() {
+        final Tokens tokens = new Tokens("a ↦ b");
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tokens.tag(3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tokens.first(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> tokens.kind(1));
+    }
+}
@@ -23,10 +23,14 @@
  */
 package org.objectionary;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.objectionary.parsing.TypeChecker;
+import org.objectionary.tokens.Kind;
+import org.objectionary.tokens.StringToken;
 
 /**
  * TypeChecker test.
@@ -114,4 +118,21 @@ final class TypeCheckerTest {
             Matchers.is(false)
         );
     }
+
+    @Test
+    void classifiesTokensWhileScanningTest() {
+        final Tokenizer tokenizer = new Tokenizer("ø 𝜋.x ξ.y 0x0001 int-add ν1(ξ) 𝜑");
+        final List<Kind> kinds = new ArrayList<>(7);
+        while (tokenizer.hasNext()) {
+            kinds.add(((StringToken) tokenizer.getToken()).kind());
+            tokenizer.next();
+        }
+        MatcherAssert.assertThat(
+            kinds,
+            Matchers.contains(
+                Kind.EMPTY, Kind.LOCATOR, Kind.LOCATOR, Kind.DATA,
+                Kind.LAMBDA, Kind.OBJECT, Kind.OTHER
+            )
+        );
+    }
 }